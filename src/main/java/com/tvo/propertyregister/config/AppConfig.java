@@ -2,32 +2,272 @@ package com.tvo.propertyregister.config;
 
 import com.tvo.propertyregister.repository.OwnerRepository;
 import com.tvo.propertyregister.repository.PropertyRepository;
+import com.tvo.propertyregister.repository.ReactiveOwnerRepository;
+import com.tvo.propertyregister.repository.ReactivePropertyRepository;
+import com.tvo.propertyregister.repository.ReactiveTaxRateRepository;
 import com.tvo.propertyregister.repository.TaxRateRepository;
+import com.tvo.propertyregister.repository.durable.DurableOwnerRepository;
+import com.tvo.propertyregister.repository.durable.DurablePropertyRepository;
+import com.tvo.propertyregister.repository.durable.DurableStore;
+import com.tvo.propertyregister.repository.durable.DurableTaxRateRepository;
 import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
 import com.tvo.propertyregister.repository.inmemory.InMemoryPropertyRepository;
+import com.tvo.propertyregister.repository.inmemory.InMemorySnapshot;
 import com.tvo.propertyregister.repository.inmemory.InMemoryTaxRateRepository;
+import com.tvo.propertyregister.repository.mongodb.MongoDbChangeStreamListener;
+import com.tvo.propertyregister.repository.mongodb.MongoDbCommandMetrics;
+import com.tvo.propertyregister.repository.mongodb.MongoDbCommandsEndpoint;
+import com.tvo.propertyregister.repository.mongodb.MongoDbConverters;
+import com.tvo.propertyregister.repository.mongodb.MongoDbDecimalMigration;
+import com.tvo.propertyregister.repository.mongodb.MongoDbDocumentCache;
+import com.tvo.propertyregister.repository.mongodb.MongoDbIdAllocator;
+import com.tvo.propertyregister.repository.mongodb.MongoDbIndexes;
 import com.tvo.propertyregister.repository.mongodb.MongoDbOwnerRepository;
+import com.tvo.propertyregister.repository.mongodb.MongoDbPropertyLayoutMigration;
 import com.tvo.propertyregister.repository.mongodb.MongoDbPropertyRepository;
+import com.tvo.propertyregister.repository.mongodb.MongoDbQueryPlanVerifier;
+import com.tvo.propertyregister.repository.mongodb.MongoDbReferencedOwnerRepository;
+import com.tvo.propertyregister.repository.mongodb.MongoDbReferencedPropertyRepository;
 import com.tvo.propertyregister.repository.mongodb.MongoDbTaxRateRepository;
+import com.tvo.propertyregister.repository.mongodb.ReactiveMongoDbOwnerRepository;
+import com.tvo.propertyregister.repository.mongodb.ReactiveMongoDbPropertyRepository;
+import com.tvo.propertyregister.repository.mongodb.ReactiveMongoDbTaxRateRepository;
+import com.tvo.propertyregister.repository.offheap.OffHeapOwnerRepository;
+import com.tvo.propertyregister.repository.offheap.OffHeapPropertyRepository;
+import com.tvo.propertyregister.repository.offheap.OffHeapStore;
+import com.tvo.propertyregister.repository.offheap.OffHeapTaxRateRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.convert.MongoCustomConversions;
+
+import java.nio.file.Path;
 
 @Configuration
 public class AppConfig {
 
-    @Bean
-    public OwnerRepository ownerRealization(MongoTemplate mongoTemplate) {
-        return new MongoDbOwnerRepository(mongoTemplate);
+    public static final String STORAGE_PROPERTY = "property-register.storage";
+    public static final String PROPERTY_LAYOUT_PROPERTY = "property-register.mongodb.property-layout";
+
+    @Configuration
+    @ConditionalOnProperty(name = STORAGE_PROPERTY, havingValue = "mongodb", matchIfMissing = true)
+    @Import({MongoDbStorageConfig.EmbeddedPropertiesConfig.class, MongoDbStorageConfig.ReferencedPropertiesConfig.class})
+    static class MongoDbStorageConfig {
+
+        @Bean
+        public TaxRateRepository taxRateRepository(MongoTemplate mongoTemplate, MongoDbDocumentCache mongoDbDocumentCache) {
+            return new MongoDbTaxRateRepository(mongoTemplate, mongoDbDocumentCache);
+        }
+
+        @Bean
+        public MongoDbDocumentCache mongoDbDocumentCache(@Value("${property-register.mongodb.cache.enabled:false}") boolean enabled,
+                                                         @Value("${property-register.mongodb.cache.max-owners:100000}") int maxOwners) {
+            return enabled ? new MongoDbDocumentCache(maxOwners) : MongoDbDocumentCache.disabled();
+        }
+
+        @Bean(initMethod = "start", destroyMethod = "stop")
+        @ConditionalOnProperty(name = "property-register.mongodb.cache.enabled", havingValue = "true")
+        public MongoDbChangeStreamListener mongoDbChangeStreamListener(MongoTemplate mongoTemplate, MongoDbDocumentCache mongoDbDocumentCache,
+                                                                       @Value("${property-register.mongodb.cache.instance-id:${HOSTNAME:local}}") String instanceId,
+                                                                       @Value("${property-register.mongodb.cache.retry-delay-ms:1000}") long retryDelayMs,
+                                                                       @Value("${property-register.mongodb.cache.token-persist-interval-ms:1000}") long tokenPersistIntervalMs) {
+            return new MongoDbChangeStreamListener(mongoTemplate, mongoDbDocumentCache, instanceId, retryDelayMs, tokenPersistIntervalMs);
+        }
+
+        @Bean
+        public MongoDbCommandMetrics mongoDbCommandMetrics(MeterRegistry meterRegistry) {
+            return new MongoDbCommandMetrics(meterRegistry);
+        }
+
+        @Bean
+        public MongoClientSettingsBuilderCustomizer mongoDbCommandMetricsCustomizer(MongoDbCommandMetrics mongoDbCommandMetrics) {
+            return settings -> settings.addCommandListener(mongoDbCommandMetrics);
+        }
+
+        @Bean
+        public MongoDbCommandsEndpoint mongoDbCommandsEndpoint(MongoDbCommandMetrics mongoDbCommandMetrics) {
+            return new MongoDbCommandsEndpoint(mongoDbCommandMetrics);
+        }
+
+        @Bean
+        public MongoCustomConversions mongoCustomConversions() {
+            return MongoDbConverters.customConversions();
+        }
+
+        @Bean
+        public MongoDbDecimalMigration mongoDbDecimalMigration(MongoTemplate mongoTemplate,
+                                                               @Value("${property-register.mongodb.migration-batch-size:500}") int batchSize) {
+            return new MongoDbDecimalMigration(mongoTemplate, batchSize);
+        }
+
+        @Bean(initMethod = "ensureIndexes")
+        public MongoDbIndexes mongoDbIndexes(MongoTemplate mongoTemplate) {
+            return new MongoDbIndexes(mongoTemplate);
+        }
+
+        @Bean(initMethod = "verify")
+        @ConditionalOnProperty(name = "property-register.mongodb.verify-query-plans", havingValue = "true")
+        public MongoDbQueryPlanVerifier mongoDbQueryPlanVerifier(MongoTemplate mongoTemplate, MongoDbIndexes mongoDbIndexes) {
+            return new MongoDbQueryPlanVerifier(mongoTemplate);
+        }
+
+        @ConditionalOnProperty(name = PROPERTY_LAYOUT_PROPERTY, havingValue = "embedded", matchIfMissing = true)
+        @Import(EmbeddedPropertiesConfig.ReactiveConfig.class)
+        static class EmbeddedPropertiesConfig {
+
+            @Bean
+            public OwnerRepository ownerRealization(MongoTemplate mongoTemplate, MongoDbDocumentCache mongoDbDocumentCache,
+                                                    @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                return new MongoDbOwnerRepository(mongoTemplate,
+                        new MongoDbIdAllocator(mongoTemplate, "ownerId", idBlockSize),
+                        new MongoDbIdAllocator(mongoTemplate, "propertyId", idBlockSize),
+                        mongoDbDocumentCache);
+            }
+
+            @Bean
+            public PropertyRepository propertyRealization(MongoTemplate mongoTemplate, MongoDbDocumentCache mongoDbDocumentCache,
+                                                          @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                return new MongoDbPropertyRepository(mongoTemplate, new MongoDbIdAllocator(mongoTemplate, "propertyId", idBlockSize),
+                        mongoDbDocumentCache);
+            }
+
+            @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+            static class ReactiveConfig {
+
+                @Bean
+                public ReactiveOwnerRepository reactiveOwnerRealization(ReactiveMongoTemplate reactiveMongoTemplate, MongoTemplate mongoTemplate,
+                                                                        @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                    return new ReactiveMongoDbOwnerRepository(reactiveMongoTemplate, new MongoDbIdAllocator(mongoTemplate, "ownerId", idBlockSize));
+                }
+
+                @Bean
+                public ReactiveTaxRateRepository reactiveTaxRateRepository(ReactiveMongoTemplate reactiveMongoTemplate, MongoDbDocumentCache mongoDbDocumentCache) {
+                    return new ReactiveMongoDbTaxRateRepository(reactiveMongoTemplate, mongoDbDocumentCache);
+                }
+
+                @Bean
+                public ReactivePropertyRepository reactivePropertyRealization(ReactiveMongoTemplate reactiveMongoTemplate, MongoTemplate mongoTemplate,
+                                                                              @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                    return new ReactiveMongoDbPropertyRepository(reactiveMongoTemplate, new MongoDbIdAllocator(mongoTemplate, "propertyId", idBlockSize));
+                }
+            }
+        }
+
+        @ConditionalOnProperty(name = PROPERTY_LAYOUT_PROPERTY, havingValue = "referenced")
+        static class ReferencedPropertiesConfig {
+
+            @Bean
+            public MongoDbReferencedPropertyRepository propertyRealization(MongoTemplate mongoTemplate,
+                                                                           @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                return new MongoDbReferencedPropertyRepository(mongoTemplate, new MongoDbIdAllocator(mongoTemplate, "propertyId", idBlockSize));
+            }
+
+            @Bean
+            public OwnerRepository ownerRealization(MongoTemplate mongoTemplate, MongoDbDocumentCache mongoDbDocumentCache,
+                                                    MongoDbReferencedPropertyRepository propertyRealization,
+                                                    @Value("${property-register.mongodb.id-block-size:1000}") int idBlockSize) {
+                return new MongoDbReferencedOwnerRepository(mongoTemplate,
+                        new MongoDbIdAllocator(mongoTemplate, "ownerId", idBlockSize),
+                        new MongoDbIdAllocator(mongoTemplate, "propertyId", idBlockSize),
+                        mongoDbDocumentCache, propertyRealization);
+            }
+
+            @Bean(initMethod = "migrate")
+            public MongoDbPropertyLayoutMigration mongoDbPropertyLayoutMigration(MongoTemplate mongoTemplate, MongoDbIndexes mongoDbIndexes,
+                                                                                 @Value("${property-register.mongodb.migration-batch-size:500}") int batchSize) {
+                return new MongoDbPropertyLayoutMigration(mongoTemplate, batchSize);
+            }
+        }
     }
 
-    @Bean
-    public TaxRateRepository taxRateRepository(MongoTemplate mongoTemplate) {
-        return new MongoDbTaxRateRepository(mongoTemplate);
+    @Configuration
+    @ConditionalOnProperty(name = STORAGE_PROPERTY, havingValue = "in-memory")
+    static class InMemoryStorageConfig {
+
+        @Bean
+        public InMemoryOwnerRepository ownerRealization() {
+            return new InMemoryOwnerRepository();
+        }
+
+        @Bean
+        public InMemoryTaxRateRepository taxRateRepository() {
+            return new InMemoryTaxRateRepository();
+        }
+
+        @Bean
+        public PropertyRepository propertyRealization(InMemoryOwnerRepository ownerRealization) {
+            return new InMemoryPropertyRepository(ownerRealization);
+        }
+
+        @Bean
+        public InMemorySnapshot inMemorySnapshot(InMemoryOwnerRepository ownerRealization,
+                                                 InMemoryTaxRateRepository taxRateRepository,
+                                                 @Value("${property-register.in-memory.snapshot-chunk-size:4096}") int chunkSize) {
+            return new InMemorySnapshot(ownerRealization, taxRateRepository, chunkSize);
+        }
     }
 
-    @Bean
-    public PropertyRepository propertyRealization(MongoTemplate mongoTemplate) {
-        return new MongoDbPropertyRepository(mongoTemplate);
+    @Configuration
+    @ConditionalOnProperty(name = STORAGE_PROPERTY, havingValue = "off-heap")
+    static class OffHeapStorageConfig {
+
+        @Bean
+        public OffHeapStore offHeapStore(@Value("${property-register.off-heap.chunk-size-mb:64}") int chunkSizeMb) {
+            long chunkSize = chunkSizeMb * 1024L * 1024L;
+            if (chunkSize <= 0 || chunkSize > Integer.MAX_VALUE) {
+                throw new IllegalArgumentException("property-register.off-heap.chunk-size-mb must be between 1 and %d, was %d"
+                        .formatted(Integer.MAX_VALUE / (1024 * 1024), chunkSizeMb));
+            }
+
+            return new OffHeapStore((int) chunkSize);
+        }
+
+        @Bean
+        public OwnerRepository ownerRealization(OffHeapStore offHeapStore) {
+            return new OffHeapOwnerRepository(offHeapStore);
+        }
+
+        @Bean
+        public TaxRateRepository taxRateRepository(OffHeapStore offHeapStore) {
+            return new OffHeapTaxRateRepository(offHeapStore);
+        }
+
+        @Bean
+        public PropertyRepository propertyRealization(OffHeapStore offHeapStore) {
+            return new OffHeapPropertyRepository(offHeapStore);
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = STORAGE_PROPERTY, havingValue = "durable")
+    static class DurableStorageConfig {
+
+        @Bean
+        public DurableStore durableStore(@Value("${property-register.durable.directory:data}") Path directory,
+                                         @Value("${property-register.durable.snapshot-interval:10000}") int snapshotInterval) {
+            return new DurableStore(directory, snapshotInterval);
+        }
+
+        @Bean
+        public OwnerRepository ownerRealization(DurableStore durableStore) {
+            return new DurableOwnerRepository(durableStore);
+        }
+
+        @Bean
+        public TaxRateRepository taxRateRepository(DurableStore durableStore) {
+            return new DurableTaxRateRepository(durableStore);
+        }
+
+        @Bean
+        public PropertyRepository propertyRealization(DurableStore durableStore) {
+            return new DurablePropertyRepository(durableStore);
+        }
     }
 }
@@ -3,6 +3,7 @@ package com.tvo.propertyregister.controller;
 import com.tvo.propertyregister.model.dto.BooleanResponseDto;
 import com.tvo.propertyregister.service.DebtorNotificationService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
@@ -11,6 +12,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/v1/debtors/notify")
 public class DebtorNotificationController {
 
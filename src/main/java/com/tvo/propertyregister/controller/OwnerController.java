@@ -3,25 +3,35 @@ package com.tvo.propertyregister.controller;
 import com.tvo.propertyregister.model.dto.*;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.service.OwnerImportService;
 import com.tvo.propertyregister.service.OwnerService;
 import com.tvo.propertyregister.service.PropertyService;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.math.BigDecimal;
 import java.util.List;
 
 @RestController
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 @RequestMapping("/v1/owners")
 public class OwnerController {
 
     private final OwnerService ownerService;
     private final PropertyService propertyService;
+    private final OwnerImportService ownerImportService;
 
     @GetMapping
-    public ResponseEntity<List<Owner>> getAllOwners() {
-        return ResponseEntity.ok(this.ownerService.getAllOwners());
+    public ResponseEntity<List<Owner>> getAllOwners(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(this.ownerService.getOwnersPage(after, limit));
     }
 
     @GetMapping("/{id}")
@@ -30,8 +40,22 @@ public class OwnerController {
     }
 
     @GetMapping("/debtors")
-    public ResponseEntity<List<Owner>> getDebtors() {
-        return ResponseEntity.ok(this.ownerService.findDebtors());
+    public ResponseEntity<List<Owner>> getDebtors(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return ResponseEntity.ok(this.ownerService.findDebtorsPage(after, limit));
+    }
+
+    @GetMapping("/debtors/range")
+    public ResponseEntity<List<Owner>> getDebtorsWithDebtBetween(
+            @RequestParam BigDecimal from,
+            @RequestParam BigDecimal to) {
+        return ResponseEntity.ok(this.ownerService.findDebtorsWithDebtBetween(from, to));
+    }
+
+    @GetMapping("/debtors/top")
+    public ResponseEntity<List<Owner>> getTopDebtors(@RequestParam(defaultValue = "10") int limit) {
+        return ResponseEntity.ok(this.ownerService.findTopDebtors(limit));
     }
 
     @GetMapping("/{ownerId}/properties")
@@ -44,6 +68,11 @@ public class OwnerController {
         return ResponseEntity.ok(new BooleanResponseDto(this.ownerService.addNewOwner(new Owner(createOwnerDto))));
     }
 
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportResultDto> importOwners(HttpServletRequest request) throws IOException {
+        return ResponseEntity.ok(this.ownerImportService.importOwners(request.getInputStream()));
+    }
+
     @PostMapping("/{ownerId}/properties")
     public ResponseEntity<BooleanResponseDto> addNewProperty(
             @PathVariable int ownerId,
@@ -55,7 +84,7 @@ public class OwnerController {
     public ResponseEntity<BooleanResponseDto> updateOwnerInfo(
             @PathVariable int id,
             @RequestBody UpdateOwnerDto updateOwnerDto) {
-        return ResponseEntity.ok(new BooleanResponseDto(this.ownerService.updateInfo(id, new Owner(updateOwnerDto))));
+        return ResponseEntity.ok(new BooleanResponseDto(this.ownerService.updateInfo(id, new Owner(updateOwnerDto), updateOwnerDto.version())));
     }
 
     @PutMapping("/{ownerId}/properties/{propertyId}")
@@ -78,6 +107,19 @@ public class OwnerController {
         return ResponseEntity.ok(new BooleanResponseDto(this.propertyService.remove(ownerId, propertyId)));
     }
 
+    @GetMapping("/tax-obligations")
+    public ResponseEntity<List<OwnerTaxObligationDto>> countTaxObligationsPage(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean debtorsOnly) {
+        return ResponseEntity.ok(this.ownerService.countTaxObligationsPage(after, limit, debtorsOnly));
+    }
+
+    @PostMapping("/tax-obligations")
+    public ResponseEntity<TaxObligationBatchDto> countTaxObligations(@RequestBody TaxObligationBatchRequest request) {
+        return ResponseEntity.ok(this.ownerService.countTaxObligations(request.ownerIds()));
+    }
+
     @GetMapping("/{ownerId}/tax-obligations")
     public ResponseEntity<TaxObligationResponseDto> countTaxObligation(@PathVariable int ownerId) {
         return ResponseEntity.ok(new TaxObligationResponseDto(this.ownerService.countTaxObligation(ownerId)));
@@ -0,0 +1,30 @@
+package com.tvo.propertyregister.controller;
+
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.service.PropertyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/v1/properties")
+public class PropertyController {
+
+    private final PropertyService propertyService;
+
+    @GetMapping
+    public ResponseEntity<List<Property>> findProperties(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType) {
+        return ResponseEntity.ok(this.propertyService.find(city, propertyType));
+    }
+}
@@ -0,0 +1,117 @@
+package com.tvo.propertyregister.controller;
+
+import com.tvo.propertyregister.model.dto.*;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.service.ReactiveOwnerService;
+import com.tvo.propertyregister.service.ReactivePropertyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/v1/owners")
+public class ReactiveOwnerController {
+
+    private final ReactiveOwnerService ownerService;
+    private final ReactivePropertyService propertyService;
+
+    @GetMapping
+    public Flux<Owner> getAllOwners(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return this.ownerService.getOwnersPage(after, limit);
+    }
+
+    @GetMapping("/{id}")
+    public Mono<Owner> getOwnerById(@PathVariable int id) {
+        return this.ownerService.getOwnerById(id);
+    }
+
+    @GetMapping("/debtors")
+    public Flux<Owner> getDebtors(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit) {
+        return this.ownerService.findDebtorsPage(after, limit);
+    }
+
+    @GetMapping("/debtors/range")
+    public Flux<Owner> getDebtorsWithDebtBetween(
+            @RequestParam BigDecimal from,
+            @RequestParam BigDecimal to) {
+        return this.ownerService.findDebtorsWithDebtBetween(from, to);
+    }
+
+    @GetMapping("/debtors/top")
+    public Flux<Owner> getTopDebtors(@RequestParam(defaultValue = "10") int limit) {
+        return this.ownerService.findTopDebtors(limit);
+    }
+
+    @GetMapping("/{ownerId}/properties")
+    public Flux<Property> getAllPropertiesByOwnerId(@PathVariable int ownerId) {
+        return this.propertyService.getAll(ownerId);
+    }
+
+    @PostMapping
+    public Mono<BooleanResponseDto> addNewOwner(@RequestBody CreateOwnerDto createOwnerDto) {
+        return this.ownerService.addNewOwner(new Owner(createOwnerDto)).map(BooleanResponseDto::new);
+    }
+
+    @PostMapping("/{ownerId}/properties")
+    public Mono<BooleanResponseDto> addNewProperty(
+            @PathVariable int ownerId,
+            @RequestBody CreatePropertyDto createPropertyDto) {
+        return this.propertyService.add(ownerId, new Property(createPropertyDto)).map(BooleanResponseDto::new);
+    }
+
+    @PutMapping("/{id}")
+    public Mono<BooleanResponseDto> updateOwnerInfo(
+            @PathVariable int id,
+            @RequestBody UpdateOwnerDto updateOwnerDto) {
+        return this.ownerService.updateInfo(id, new Owner(updateOwnerDto), updateOwnerDto.version()).map(BooleanResponseDto::new);
+    }
+
+    @PutMapping("/{ownerId}/properties/{propertyId}")
+    public Mono<BooleanResponseDto> updatePropertyInfo(
+            @PathVariable int ownerId,
+            @PathVariable int propertyId,
+            @RequestBody UpdatePropertyDto updatePropertyDto) {
+        return this.propertyService.update(ownerId, propertyId, new Property(updatePropertyDto)).map(BooleanResponseDto::new);
+    }
+
+    @DeleteMapping("/{id}")
+    public Mono<BooleanResponseDto> removeOwner(@PathVariable int id) {
+        return this.ownerService.removeOwner(id).map(BooleanResponseDto::new);
+    }
+
+    @DeleteMapping("/{ownerId}/properties/{propertyId}")
+    public Mono<BooleanResponseDto> removeProperty(
+            @PathVariable int ownerId,
+            @PathVariable int propertyId) {
+        return this.propertyService.remove(ownerId, propertyId).map(BooleanResponseDto::new);
+    }
+
+    @GetMapping("/tax-obligations")
+    public Flux<OwnerTaxObligationDto> countTaxObligationsPage(
+            @RequestParam(defaultValue = "0") int after,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(defaultValue = "false") boolean debtorsOnly) {
+        return this.ownerService.countTaxObligationsPage(after, limit, debtorsOnly);
+    }
+
+    @PostMapping("/tax-obligations")
+    public Mono<TaxObligationBatchDto> countTaxObligations(@RequestBody TaxObligationBatchRequest request) {
+        return this.ownerService.countTaxObligations(request.ownerIds());
+    }
+
+    @GetMapping("/{ownerId}/tax-obligations")
+    public Mono<TaxObligationResponseDto> countTaxObligation(@PathVariable int ownerId) {
+        return this.ownerService.countTaxObligation(ownerId).map(TaxObligationResponseDto::new);
+    }
+}
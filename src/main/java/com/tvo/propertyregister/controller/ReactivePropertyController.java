@@ -0,0 +1,28 @@
+package com.tvo.propertyregister.controller;
+
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.service.ReactivePropertyService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/v1/properties")
+public class ReactivePropertyController {
+
+    private final ReactivePropertyService propertyService;
+
+    @GetMapping
+    public Flux<Property> findProperties(
+            @RequestParam(required = false) String city,
+            @RequestParam(required = false) PropertyType propertyType) {
+        return this.propertyService.find(city, propertyType);
+    }
+}
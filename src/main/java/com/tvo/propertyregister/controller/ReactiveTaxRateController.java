@@ -0,0 +1,32 @@
+package com.tvo.propertyregister.controller;
+
+import com.tvo.propertyregister.model.dto.BooleanResponseDto;
+import com.tvo.propertyregister.model.dto.ChangeTaxRateRequest;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.service.ReactiveTaxRateService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@RequestMapping("/v1/tax-rate")
+public class ReactiveTaxRateController {
+
+    private final ReactiveTaxRateService taxRateService;
+
+    @GetMapping
+    public Flux<TaxRate> getAll() {
+        return this.taxRateService.getAll();
+    }
+
+    @PatchMapping("/{propertyType}")
+    public Mono<BooleanResponseDto> changeTax(@PathVariable String propertyType, @RequestBody ChangeTaxRateRequest request) {
+        return this.taxRateService.changeTax(PropertyType.valueOf(propertyType.toUpperCase()), request.rate()).map(BooleanResponseDto::new);
+    }
+
+}
@@ -0,0 +1,41 @@
+package com.tvo.propertyregister.controller;
+
+import com.tvo.propertyregister.config.AppConfig;
+import com.tvo.propertyregister.model.dto.BooleanResponseDto;
+import com.tvo.propertyregister.service.SnapshotService;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@RequestMapping("/v1/admin/snapshot")
+@ConditionalOnProperty(name = AppConfig.STORAGE_PROPERTY, havingValue = "in-memory")
+public class SnapshotController {
+
+    private final SnapshotService snapshotService;
+
+    @GetMapping(produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<StreamingResponseBody> dump() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(this.snapshotService::dump);
+    }
+
+    @PostMapping(consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    public ResponseEntity<BooleanResponseDto> load(HttpServletRequest request) throws IOException {
+        this.snapshotService.load(request.getInputStream());
+        return ResponseEntity.ok(new BooleanResponseDto(true));
+    }
+}
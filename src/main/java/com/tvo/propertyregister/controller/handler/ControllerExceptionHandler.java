@@ -2,6 +2,7 @@ package com.tvo.propertyregister.controller.handler;
 
 import com.tvo.propertyregister.exception.*;
 import com.tvo.propertyregister.model.dto.ErrorDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.converter.HttpMessageNotReadableException;
@@ -13,6 +14,7 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 import static org.springframework.http.HttpStatus.*;
 
 @ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
     @ExceptionHandler(value = Exception.class)
@@ -70,4 +72,46 @@ public class ControllerExceptionHandler extends ResponseEntityExceptionHandler {
 
         return super.handleExceptionInternal(exception, error, new HttpHeaders(), INTERNAL_SERVER_ERROR, request);
     }
+
+    @ExceptionHandler(value = MissingPropertyFilterException.class)
+    public ResponseEntity<Object> handleMissingPropertyFilterException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(value = InvalidPageRequestException.class)
+    public ResponseEntity<Object> handleInvalidPageRequestException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(value = OwnerVersionConflictException.class)
+    public ResponseEntity<Object> handleOwnerVersionConflictException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(CONFLICT.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), CONFLICT, request);
+    }
+
+    @ExceptionHandler(value = InvalidAmountException.class)
+    public ResponseEntity<Object> handleInvalidAmountException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(value = InvalidAgeException.class)
+    public ResponseEntity<Object> handleInvalidAgeException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, request);
+    }
+
+    @ExceptionHandler(value = InvalidFieldLengthException.class)
+    public ResponseEntity<Object> handleInvalidFieldLengthException(Exception exception, WebRequest request) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, request);
+    }
 }
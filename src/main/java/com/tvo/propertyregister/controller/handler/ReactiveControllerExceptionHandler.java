@@ -0,0 +1,58 @@
+package com.tvo.propertyregister.controller.handler;
+
+import com.tvo.propertyregister.exception.*;
+import com.tvo.propertyregister.model.dto.ErrorDto;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.reactive.result.method.annotation.ResponseEntityExceptionHandler;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import static org.springframework.http.HttpStatus.*;
+
+@ControllerAdvice
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveControllerExceptionHandler extends ResponseEntityExceptionHandler {
+
+    @ExceptionHandler(value = Exception.class)
+    public Mono<ResponseEntity<Object>> handleGenericException(Exception exception, ServerWebExchange exchange) {
+        ErrorDto error = new ErrorDto(INTERNAL_SERVER_ERROR.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), INTERNAL_SERVER_ERROR, exchange);
+    }
+
+    @ExceptionHandler(value = {
+            DontHaveTaxDebtsException.class,
+            UpdateOwnerFailedException.class,
+            NoDebtorsInDebtorListException.class,
+            MissingPropertyFilterException.class,
+            InvalidPageRequestException.class,
+            InvalidAmountException.class,
+            InvalidAgeException.class,
+            InvalidFieldLengthException.class})
+    public Mono<ResponseEntity<Object>> handleBadRequestException(Exception exception, ServerWebExchange exchange) {
+        ErrorDto error = new ErrorDto(BAD_REQUEST.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), BAD_REQUEST, exchange);
+    }
+
+    @ExceptionHandler(value = {
+            NoSuchOwnerException.class,
+            PropertyTypeDoesNotExistException.class,
+            PropertyNotFoundException.class})
+    public Mono<ResponseEntity<Object>> handleNotFoundException(Exception exception, ServerWebExchange exchange) {
+        ErrorDto error = new ErrorDto(NOT_FOUND.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), NOT_FOUND, exchange);
+    }
+
+    @ExceptionHandler(value = OwnerVersionConflictException.class)
+    public Mono<ResponseEntity<Object>> handleConflictException(Exception exception, ServerWebExchange exchange) {
+        ErrorDto error = new ErrorDto(CONFLICT.getReasonPhrase(), exception.getMessage());
+
+        return super.handleExceptionInternal(exception, error, new HttpHeaders(), CONFLICT, exchange);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class CollectionScanException extends RuntimeException {
+    public CollectionScanException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class InvalidAgeException extends RuntimeException {
+    public InvalidAgeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class InvalidAmountException extends RuntimeException {
+    public InvalidAmountException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class InvalidFieldLengthException extends RuntimeException {
+    public InvalidFieldLengthException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class MissingPropertyFilterException extends RuntimeException {
+    public MissingPropertyFilterException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,7 @@
+package com.tvo.propertyregister.exception;
+
+public class OwnerVersionConflictException extends RuntimeException {
+    public OwnerVersionConflictException(String message) {
+        super(message);
+    }
+}
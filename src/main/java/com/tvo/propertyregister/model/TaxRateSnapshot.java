@@ -0,0 +1,48 @@
+package com.tvo.propertyregister.model;
+
+import com.tvo.propertyregister.exception.InvalidTaxRateNumberException;
+import com.tvo.propertyregister.exception.PropertyTypeDoesNotExistException;
+import com.tvo.propertyregister.model.property.PropertyType;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+public record TaxRateSnapshot(long version, Map<PropertyType, BigDecimal> rates) {
+
+    private static final int PROPERTY_TYPES = PropertyType.values().length;
+
+    public static TaxRateSnapshot of(long version, List<TaxRate> taxRates) {
+        Map<PropertyType, BigDecimal> rates = new EnumMap<>(PropertyType.class);
+        for (TaxRate taxRate : taxRates) {
+            rates.put(taxRate.getPropertyType(), taxRate.getTax());
+        }
+
+        if (taxRates.size() != PROPERTY_TYPES || rates.size() != PROPERTY_TYPES) {
+            throw new InvalidTaxRateNumberException("Invalid number of tax rates. Current size is " + taxRates.size());
+        }
+
+        return new TaxRateSnapshot(version, Collections.unmodifiableMap(rates));
+    }
+
+    public static TaxRateSnapshot next(TaxRateSnapshot current, List<TaxRate> taxRates) {
+        if (Objects.isNull(current)) {
+            return of(1, taxRates);
+        }
+
+        TaxRateSnapshot loaded = of(current.version() + 1, taxRates);
+        return current.rates().equals(loaded.rates()) ? current : loaded;
+    }
+
+    public BigDecimal rateOf(PropertyType propertyType) {
+        BigDecimal rate = Objects.isNull(propertyType) ? null : this.rates.get(propertyType);
+        if (Objects.isNull(rate)) {
+            throw new PropertyTypeDoesNotExistException("There is no tax rate for property type " + propertyType);
+        }
+
+        return rate;
+    }
+}
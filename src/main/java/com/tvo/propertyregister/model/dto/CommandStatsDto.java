@@ -0,0 +1,15 @@
+package com.tvo.propertyregister.model.dto;
+
+public record CommandStatsDto(
+        String collection,
+        String command,
+        long count,
+        long failures,
+        double totalTimeMs,
+        double meanTimeMs,
+        double maxTimeMs,
+        double p95TimeMs,
+        double documentsReturned,
+        double bytesReceived
+) {
+}
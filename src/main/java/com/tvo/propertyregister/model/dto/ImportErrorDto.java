@@ -0,0 +1,6 @@
+package com.tvo.propertyregister.model.dto;
+
+public record ImportErrorDto(
+        int line,
+        String detail) {
+}
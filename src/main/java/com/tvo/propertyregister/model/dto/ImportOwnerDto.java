@@ -0,0 +1,22 @@
+package com.tvo.propertyregister.model.dto;
+
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+public record ImportOwnerDto
+        (
+                String firstName,
+                String lastName,
+                int age,
+                FamilyStatus familyStatus,
+                boolean hasChildren,
+                String email,
+                String phoneNumber,
+                LocalDate birthday,
+                BigDecimal taxesDebt,
+                List<CreatePropertyDto> properties
+        ) {
+}
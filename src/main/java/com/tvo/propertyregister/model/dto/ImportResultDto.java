@@ -0,0 +1,8 @@
+package com.tvo.propertyregister.model.dto;
+
+import java.util.List;
+
+public record ImportResultDto(
+        int imported,
+        List<ImportErrorDto> errors) {
+}
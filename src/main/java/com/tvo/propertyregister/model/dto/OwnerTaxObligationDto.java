@@ -0,0 +1,8 @@
+package com.tvo.propertyregister.model.dto;
+
+import java.math.BigDecimal;
+
+public record OwnerTaxObligationDto(
+        int ownerId,
+        BigDecimal taxObligation) {
+}
@@ -0,0 +1,8 @@
+package com.tvo.propertyregister.model.dto;
+
+import java.util.List;
+
+public record TaxObligationBatchDto(
+        List<OwnerTaxObligationDto> obligations,
+        List<Integer> missingOwnerIds) {
+}
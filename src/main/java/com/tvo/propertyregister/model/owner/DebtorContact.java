@@ -0,0 +1,10 @@
+package com.tvo.propertyregister.model.owner;
+
+import java.math.BigDecimal;
+
+public record DebtorContact(int id, String email, String firstName, String lastName, BigDecimal taxesDebt) {
+
+    public static DebtorContact of(Owner owner) {
+        return new DebtorContact(owner.getId(), owner.getEmail(), owner.getFirstName(), owner.getLastName(), owner.getTaxesDebt());
+    }
+}
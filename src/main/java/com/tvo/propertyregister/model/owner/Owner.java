@@ -1,16 +1,21 @@
 package com.tvo.propertyregister.model.owner;
 
 import com.tvo.propertyregister.model.dto.CreateOwnerDto;
+import com.tvo.propertyregister.model.dto.ImportOwnerDto;
 import com.tvo.propertyregister.model.dto.UpdateOwnerDto;
 import com.tvo.propertyregister.model.property.Property;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.With;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Data
 @With
@@ -28,6 +33,13 @@ public class Owner {
     private LocalDate birthday;
     private BigDecimal taxesDebt;
     private List<Property> properties;
+    @EqualsAndHashCode.Exclude
+    private long version;
+
+    public Owner(int id, String firstName, String lastName, int age, FamilyStatus familyStatus, boolean hasChildren,
+                 String email, String phoneNumber, LocalDate birthday, BigDecimal taxesDebt, List<Property> properties) {
+        this(id, firstName, lastName, age, familyStatus, hasChildren, email, phoneNumber, birthday, taxesDebt, properties, 0);
+    }
 
     public Owner(int id, String email, String firstName, String lastName, BigDecimal taxesDebt, boolean hasChildren, FamilyStatus familyStatus) {
         this.id = id;
@@ -51,6 +63,21 @@ public class Owner {
         this.taxesDebt = ownerDto.taxesDebt();
     }
 
+    public Owner(ImportOwnerDto ownerDto) {
+        this.firstName = ownerDto.firstName();
+        this.lastName = ownerDto.lastName();
+        this.age = ownerDto.age();
+        this.familyStatus = ownerDto.familyStatus();
+        this.hasChildren = ownerDto.hasChildren();
+        this.email = ownerDto.email();
+        this.phoneNumber = ownerDto.phoneNumber();
+        this.birthday = ownerDto.birthday();
+        this.taxesDebt = ownerDto.taxesDebt();
+        this.properties = Objects.isNull(ownerDto.properties())
+                ? new ArrayList<>()
+                : ownerDto.properties().stream().map(Property::new).collect(Collectors.toCollection(ArrayList::new));
+    }
+
     public Owner(UpdateOwnerDto ownerDto) {
         this.firstName = ownerDto.firstName();
         this.lastName = ownerDto.lastName();
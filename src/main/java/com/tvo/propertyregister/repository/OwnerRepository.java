@@ -1,21 +1,44 @@
 package com.tvo.propertyregister.repository;
 
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.Owner;
 
+import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public interface OwnerRepository {
 
     List<Owner> findAll();
 
+    Stream<Owner> streamAll(int afterId, int limit);
+
     Owner findById(int id);
 
+    List<Owner> findAllById(Collection<Integer> ids);
+
     List<Owner> findDebtors();
 
+    Stream<Owner> streamDebtors(int afterId, int limit);
+
+    List<DebtorContact> findDebtorContacts();
+
+    List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to);
+
+    List<Owner> findTopDebtors(int limit);
+
     boolean save(Owner owner);
 
+    Map<Integer, String> saveAll(List<Owner> owners);
+
     boolean update(int id, Owner owner);
 
+    boolean update(int id, Owner owner, long expectedVersion);
+
     boolean remove(int id);
 
+    int recountDebts(BigDecimal factor, int scale);
+
 }
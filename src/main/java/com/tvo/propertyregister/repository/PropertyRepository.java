@@ -1,8 +1,8 @@
 package com.tvo.propertyregister.repository;
 
 import com.fasterxml.jackson.databind.annotation.JsonAppend;
-import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
 
 import java.util.List;
 
@@ -10,8 +10,18 @@ public interface PropertyRepository {
 
     List<Property> findAll(int ownerId);
 
-    boolean save(Owner owner, Property property);
+    List<Property> findByCity(String city);
+
+    List<Property> findByPropertyType(PropertyType propertyType);
+
+    List<Property> findByCityAndPropertyType(String city, PropertyType propertyType);
+
+    boolean save(int ownerId, Property property);
 
     boolean update(int ownerId, List<Property> updatedProperties);
 
+    boolean update(int ownerId, int propertyId, Property property);
+
+    boolean remove(int ownerId, int propertyId);
+
 }
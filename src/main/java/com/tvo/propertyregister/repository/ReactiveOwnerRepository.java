@@ -0,0 +1,31 @@
+package com.tvo.propertyregister.repository;
+
+import com.tvo.propertyregister.model.owner.Owner;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+public interface ReactiveOwnerRepository {
+
+    Flux<Owner> findAll(int afterId, int limit);
+
+    Mono<Owner> findById(int id);
+
+    Flux<Owner> findAllById(Collection<Integer> ids);
+
+    Flux<Owner> findDebtors(int afterId, int limit);
+
+    Flux<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to);
+
+    Flux<Owner> findTopDebtors(int limit);
+
+    Mono<Boolean> save(Owner owner);
+
+    Mono<Boolean> update(int id, Owner owner);
+
+    Mono<Boolean> update(int id, Owner owner, long expectedVersion);
+
+    Mono<Boolean> remove(int id);
+}
@@ -0,0 +1,23 @@
+package com.tvo.propertyregister.repository;
+
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactivePropertyRepository {
+
+    Flux<Property> findAll(int ownerId);
+
+    Flux<Property> findByCity(String city);
+
+    Flux<Property> findByPropertyType(PropertyType propertyType);
+
+    Flux<Property> findByCityAndPropertyType(String city, PropertyType propertyType);
+
+    Mono<Boolean> save(int ownerId, Property property);
+
+    Mono<Boolean> update(int ownerId, int propertyId, Property property);
+
+    Mono<Boolean> remove(int ownerId, int propertyId);
+}
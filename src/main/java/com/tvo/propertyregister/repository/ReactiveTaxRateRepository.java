@@ -0,0 +1,18 @@
+package com.tvo.propertyregister.repository;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.property.PropertyType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+public interface ReactiveTaxRateRepository {
+
+    Flux<TaxRate> findAll();
+
+    Mono<Boolean> changeTax(PropertyType propertyType, BigDecimal rate);
+
+    default void onExternalChange(Runnable listener) {
+    }
+}
@@ -10,4 +10,7 @@ public interface TaxRateRepository {
     List<TaxRate> findAll();
 
     boolean changeTax(PropertyType propertyType, BigDecimal rate);
+
+    default void onExternalChange(Runnable listener) {
+    }
 }
@@ -0,0 +1,112 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.tvo.propertyregister.model.owner.DebtorContact;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class DurableOwnerRepository implements OwnerRepository {
+
+    private final DurableStore store;
+
+    @Override
+    public List<Owner> findAll() {
+        return this.store.owners().findAll();
+    }
+
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        return this.store.owners().streamAll(afterId, limit);
+    }
+
+    @Override
+    public Owner findById(int id) {
+        return this.store.owners().findById(id);
+    }
+
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        return this.store.owners().findAllById(ids);
+    }
+
+    @Override
+    public List<Owner> findDebtors() {
+        return this.store.owners().findDebtors();
+    }
+
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        return this.store.owners().streamDebtors(afterId, limit);
+    }
+
+    @Override
+    public List<DebtorContact> findDebtorContacts() {
+        return this.store.owners().findDebtorContacts();
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        return this.store.owners().findByTaxesDebtBetween(from, to);
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        return this.store.owners().findTopDebtors(limit);
+    }
+
+    @Override
+    public boolean save(Owner owner) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareSave(owner)));
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < owners.size(); i++) {
+            try {
+                save(owners.get(i));
+            } catch (RuntimeException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+
+        return failures;
+    }
+
+    @Override
+    public boolean update(int id, Owner owner) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareUpdate(id, owner)));
+    }
+
+    @Override
+    public boolean update(int id, Owner owner, long expectedVersion) {
+        return this.store.write(() -> this.store.owners().findVersion(id) == expectedVersion
+                ? LogEntry.putOwner(this.store.owners().prepareUpdate(id, owner))
+                : null);
+    }
+
+    @Override
+    public int recountDebts(BigDecimal factor, int scale) {
+        int[] recounted = new int[1];
+        this.store.write(() -> {
+            Map<Integer, BigDecimal> debts = this.store.owners().prepareRecountDebts(factor, scale);
+            recounted[0] = debts.size();
+            return debts.isEmpty() ? null : LogEntry.setDebts(debts);
+        });
+
+        return recounted[0];
+    }
+
+    @Override
+    public boolean remove(int id) {
+        return this.store.write(() -> this.store.owners().findAllById(List.of(id)).isEmpty() ? null : LogEntry.removeOwner(id));
+    }
+}
@@ -0,0 +1,54 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DurablePropertyRepository implements PropertyRepository {
+
+    private final DurableStore store;
+
+    @Override
+    public List<Property> findAll(int ownerId) {
+        return this.store.owners().findProperties(ownerId);
+    }
+
+    @Override
+    public List<Property> findByCity(String city) {
+        return this.store.owners().findPropertiesByCity(city);
+    }
+
+    @Override
+    public List<Property> findByPropertyType(PropertyType propertyType) {
+        return this.store.owners().findPropertiesByPropertyType(propertyType);
+    }
+
+    @Override
+    public List<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return this.store.owners().findPropertiesByCityAndPropertyType(city, propertyType);
+    }
+
+    @Override
+    public boolean save(int ownerId, Property property) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareAddProperty(ownerId, property)));
+    }
+
+    @Override
+    public boolean update(int ownerId, List<Property> updatedProperties) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareReplaceProperties(ownerId, updatedProperties)));
+    }
+
+    @Override
+    public boolean update(int ownerId, int propertyId, Property property) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareUpdateProperty(ownerId, propertyId, property)));
+    }
+
+    @Override
+    public boolean remove(int ownerId, int propertyId) {
+        return this.store.write(() -> LogEntry.putOwner(this.store.owners().prepareRemoveProperty(ownerId, propertyId)));
+    }
+}
@@ -0,0 +1,9 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.Owner;
+
+import java.util.List;
+
+public record DurableSnapshot(int nextOwnerId, int nextPropertyId, List<Owner> owners, List<TaxRate> taxRates) {
+}
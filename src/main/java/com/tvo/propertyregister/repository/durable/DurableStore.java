@@ -0,0 +1,270 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
+import com.tvo.propertyregister.repository.inmemory.InMemoryTaxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+@Slf4j
+public class DurableStore implements Closeable {
+
+    private static final String LOG_FILE = "owners.wal";
+    private static final String SNAPSHOT_FILE = "owners.snapshot";
+
+    private final ObjectMapper objectMapper = JsonMapper.builder()
+            .addModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+
+    private final InMemoryOwnerRepository owners = new InMemoryOwnerRepository();
+    private final InMemoryTaxRateRepository taxRates = new InMemoryTaxRateRepository();
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+    private final AtomicBoolean snapshotScheduled = new AtomicBoolean();
+    private final ExecutorService snapshotExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "durable-store-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final int snapshotInterval;
+    private final WriteAheadLog writeAheadLog;
+
+    private int entriesSinceSnapshot;
+    private volatile RuntimeException logFailure;
+
+    public DurableStore(Path directory, int snapshotInterval) {
+        this.directory = directory;
+        this.snapshotInterval = snapshotInterval;
+
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed creating storage directory " + directory, e);
+        }
+
+        loadSnapshot();
+        this.writeAheadLog = new WriteAheadLog(directory.resolve(LOG_FILE));
+        replayLog();
+    }
+
+    InMemoryOwnerRepository owners() {
+        return this.owners;
+    }
+
+    InMemoryTaxRateRepository taxRates() {
+        return this.taxRates;
+    }
+
+    boolean write(Supplier<LogEntry> plan) {
+        this.writeLock.lock();
+        try {
+            checkLog();
+            LogEntry entry = plan.get();
+            if (Objects.isNull(entry)) {
+                return false;
+            }
+
+            byte[] line = serialize(entry);
+            try {
+                this.writeAheadLog.sync(this.writeAheadLog.append(line));
+            } catch (RuntimeException e) {
+                this.logFailure = e;
+                throw e;
+            }
+
+            apply(entry);
+            if (++this.entriesSinceSnapshot >= this.snapshotInterval && this.snapshotScheduled.compareAndSet(false, true)) {
+                this.snapshotExecutor.execute(this::scheduledSnapshot);
+            }
+            return true;
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    public void snapshot() {
+        this.snapshotLock.lock();
+        try {
+            DurableSnapshot snapshot;
+            long coveredLogSize;
+            int coveredEntries;
+
+            this.writeLock.lock();
+            try {
+                checkLog();
+                if (this.entriesSinceSnapshot == 0) {
+                    return;
+                }
+
+                snapshot = new DurableSnapshot(
+                        this.owners.nextOwnerId(),
+                        this.owners.nextPropertyId(),
+                        this.owners.findAll(),
+                        this.taxRates.findAll().stream()
+                                .map(taxRate -> new TaxRate(taxRate.getId(), taxRate.getPropertyType(), taxRate.getTax()))
+                                .toList());
+                coveredLogSize = this.writeAheadLog.size();
+                coveredEntries = this.entriesSinceSnapshot;
+                this.entriesSinceSnapshot = 0;
+            } finally {
+                this.writeLock.unlock();
+            }
+
+            try {
+                writeSnapshot(snapshot);
+            } catch (RuntimeException e) {
+                this.writeLock.lock();
+                try {
+                    this.entriesSinceSnapshot += coveredEntries;
+                } finally {
+                    this.writeLock.unlock();
+                }
+                throw e;
+            }
+
+            this.writeLock.lock();
+            try {
+                this.writeAheadLog.discardBefore(coveredLogSize);
+            } catch (RuntimeException e) {
+                this.logFailure = e;
+                throw e;
+            } finally {
+                this.writeLock.unlock();
+            }
+        } finally {
+            this.snapshotLock.unlock();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.snapshotExecutor.shutdown();
+        try {
+            this.snapshotExecutor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        this.writeLock.lock();
+        try {
+            this.writeAheadLog.close();
+        } finally {
+            this.writeLock.unlock();
+        }
+    }
+
+    private void loadSnapshot() {
+        Path snapshotFile = this.directory.resolve(SNAPSHOT_FILE);
+        if (Files.notExists(snapshotFile)) {
+            return;
+        }
+
+        try {
+            DurableSnapshot snapshot = this.objectMapper.readValue(snapshotFile.toFile(), DurableSnapshot.class);
+            snapshot.owners().forEach(this.owners::restore);
+            this.owners.restoreCounters(snapshot.nextOwnerId(), snapshot.nextPropertyId());
+            for (TaxRate taxRate : snapshot.taxRates()) {
+                this.taxRates.changeTax(taxRate.getPropertyType(), taxRate.getTax());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading snapshot " + snapshotFile, e);
+        }
+    }
+
+    private void replayLog() {
+        for (byte[] line : this.writeAheadLog.readLines()) {
+            LogEntry entry;
+            try {
+                entry = this.objectMapper.readValue(line, LogEntry.class);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed replaying write-ahead log", e);
+            }
+
+            apply(entry);
+            this.entriesSinceSnapshot++;
+        }
+    }
+
+    private void apply(LogEntry entry) {
+        switch (entry.type()) {
+            case PUT_OWNER -> this.owners.restore(entry.owner());
+            case REMOVE_OWNER -> this.owners.remove(entry.ownerId());
+            case CHANGE_TAX -> this.taxRates.changeTax(entry.propertyType(), entry.rate());
+            case RECOUNT_DEBTS -> this.owners.recountDebts(entry.rate(), entry.scale());
+            case SET_DEBTS -> entry.debts().forEach(this::restoreDebt);
+        }
+    }
+
+    private void scheduledSnapshot() {
+        this.snapshotScheduled.set(false);
+        try {
+            snapshot();
+        } catch (RuntimeException e) {
+            log.warn("Snapshot failed, keeping the write-ahead log until the next one", e);
+        }
+    }
+
+    private void writeSnapshot(DurableSnapshot snapshot) {
+        Path snapshotFile = this.directory.resolve(SNAPSHOT_FILE);
+        Path temporaryFile = this.directory.resolve(SNAPSHOT_FILE + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.wrap(serialize(snapshot));
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(true);
+            Files.move(temporaryFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed writing snapshot", e);
+        }
+    }
+
+    private void checkLog() {
+        if (Objects.nonNull(this.logFailure)) {
+            throw new IllegalStateException("Write-ahead log failed, the store accepts no writes until it is reopened", this.logFailure);
+        }
+    }
+
+    private void restoreDebt(int ownerId, BigDecimal debt) {
+        for (Owner owner : this.owners.findAllById(List.of(ownerId))) {
+            this.owners.restore(owner.withTaxesDebt(debt));
+        }
+    }
+
+    private byte[] serialize(Object value) {
+        try {
+            return this.objectMapper.writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed serializing " + value.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.TaxRateRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class DurableTaxRateRepository implements TaxRateRepository {
+
+    private final DurableStore store;
+
+    @Override
+    public List<TaxRate> findAll() {
+        return this.store.taxRates().findAll();
+    }
+
+    @Override
+    public boolean changeTax(PropertyType propertyType, BigDecimal rate) {
+        return this.store.write(() -> {
+            this.store.taxRates().findByPropertyType(propertyType);
+            return LogEntry.changeTax(propertyType, rate);
+        });
+    }
+}
@@ -0,0 +1,29 @@
+package com.tvo.propertyregister.repository.durable;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.PropertyType;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record LogEntry(LogEntryType type, Owner owner, Integer ownerId, PropertyType propertyType, BigDecimal rate, Integer scale,
+                       Map<Integer, BigDecimal> debts) {
+
+    public static LogEntry putOwner(Owner owner) {
+        return new LogEntry(LogEntryType.PUT_OWNER, owner, null, null, null, null, null);
+    }
+
+    public static LogEntry removeOwner(int ownerId) {
+        return new LogEntry(LogEntryType.REMOVE_OWNER, null, ownerId, null, null, null, null);
+    }
+
+    public static LogEntry changeTax(PropertyType propertyType, BigDecimal rate) {
+        return new LogEntry(LogEntryType.CHANGE_TAX, null, null, propertyType, rate, null, null);
+    }
+
+    public static LogEntry setDebts(Map<Integer, BigDecimal> debts) {
+        return new LogEntry(LogEntryType.SET_DEBTS, null, null, null, null, null, debts);
+    }
+}
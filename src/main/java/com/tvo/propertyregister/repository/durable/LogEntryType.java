@@ -0,0 +1,9 @@
+package com.tvo.propertyregister.repository.durable;
+
+public enum LogEntryType {
+    PUT_OWNER,
+    REMOVE_OWNER,
+    CHANGE_TAX,
+    RECOUNT_DEBTS,
+    SET_DEBTS
+}
@@ -0,0 +1,137 @@
+package com.tvo.propertyregister.repository.durable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+class WriteAheadLog implements Closeable {
+
+    private static final byte LINE_SEPARATOR = '\n';
+
+    private final Path file;
+    private FileChannel channel;
+    private final Object syncMonitor = new Object();
+
+    private volatile long appendedSequence;
+    private long syncedSequence;
+
+    WriteAheadLog(Path file) {
+        this.file = file;
+        try {
+            this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed opening write-ahead log " + file, e);
+        }
+    }
+
+    List<byte[]> readLines() {
+        try {
+            byte[] bytes = Files.readAllBytes(this.file);
+            List<byte[]> lines = new ArrayList<>();
+            int lineStart = 0;
+            for (int i = 0; i < bytes.length; i++) {
+                if (bytes[i] == LINE_SEPARATOR) {
+                    byte[] line = new byte[i - lineStart];
+                    System.arraycopy(bytes, lineStart, line, 0, line.length);
+                    lines.add(line);
+                    lineStart = i + 1;
+                }
+            }
+
+            this.channel.truncate(lineStart);
+            this.channel.position(lineStart);
+            return lines;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading write-ahead log", e);
+        }
+    }
+
+    long append(byte[] line) {
+        try {
+            ByteBuffer buffer = ByteBuffer.allocate(line.length + 1).put(line).put(LINE_SEPARATOR).flip();
+            while (buffer.hasRemaining()) {
+                this.channel.write(buffer);
+            }
+
+            return ++this.appendedSequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed appending to write-ahead log", e);
+        }
+    }
+
+    void sync(long sequence) {
+        synchronized (this.syncMonitor) {
+            if (this.syncedSequence >= sequence) {
+                return;
+            }
+
+            long appended = this.appendedSequence;
+            force();
+            this.syncedSequence = appended;
+        }
+    }
+
+    long size() {
+        try {
+            return this.channel.size();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading write-ahead log size", e);
+        }
+    }
+
+    void discardBefore(long offset) {
+        synchronized (this.syncMonitor) {
+            try {
+                long size = this.channel.size();
+                if (offset >= size) {
+                    this.channel.truncate(0);
+                    this.channel.position(0);
+                    force();
+                    return;
+                }
+
+                Path temporaryFile = this.file.resolveSibling(this.file.getFileName() + ".tmp");
+                try (FileChannel tail = FileChannel.open(temporaryFile,
+                        StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+                    long copied = 0;
+                    while (copied < size - offset) {
+                        copied += this.channel.transferTo(offset + copied, size - offset - copied, tail);
+                    }
+                    tail.force(true);
+                }
+
+                Files.move(temporaryFile, this.file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                FileChannel discarded = this.channel;
+                this.channel = FileChannel.open(this.file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+                this.channel.position(this.channel.size());
+                discarded.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed discarding snapshotted write-ahead log entries", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this.syncMonitor) {
+            force();
+            this.channel.close();
+        }
+    }
+
+    private void force() {
+        try {
+            this.channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed syncing write-ahead log", e);
+        }
+    }
+}
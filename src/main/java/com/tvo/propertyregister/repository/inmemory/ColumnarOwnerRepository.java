@@ -0,0 +1,583 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+import com.tvo.propertyregister.exception.InvalidAgeException;
+import com.tvo.propertyregister.exception.InvalidAmountException;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.DebtorContact;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.OwnerRepository;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+public class ColumnarOwnerRepository implements OwnerRepository {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int NO_ROW = -1;
+    private static final int NO_DATE = 0;
+    private static final byte NO_CODE = 0;
+    private static final long NO_AMOUNT = Long.MIN_VALUE;
+    private static final int MONEY_SCALE = 2;
+    private static final int MAX_AGE = 255;
+
+    private static final FamilyStatus[] FAMILY_STATUSES = FamilyStatus.values();
+    private static final PropertyType[] PROPERTY_TYPES = PropertyType.values();
+    private static final PropertyCondition[] PROPERTY_CONDITIONS = PropertyCondition.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private int ownerRows;
+    private final BitSet liveOwners = new BitSet();
+    private final BitSet hasChildren = new BitSet();
+    private String[] firstNames = new String[INITIAL_CAPACITY];
+    private String[] lastNames = new String[INITIAL_CAPACITY];
+    private String[] emails = new String[INITIAL_CAPACITY];
+    private String[] phoneNumbers = new String[INITIAL_CAPACITY];
+    private byte[] ages = new byte[INITIAL_CAPACITY];
+    private byte[] familyStatuses = new byte[INITIAL_CAPACITY];
+    private int[] birthdays = new int[INITIAL_CAPACITY];
+    private long[] taxesDebts = new long[INITIAL_CAPACITY];
+    private int[] firstPropertyRows = new int[INITIAL_CAPACITY];
+    private long[] versions = new long[INITIAL_CAPACITY];
+
+    private int propertyRows;
+    private int freePropertyRow = NO_ROW;
+    private int propertyCounter = 1;
+    private int[] propertyIds = new int[INITIAL_CAPACITY];
+    private int[] nextPropertyRows = new int[INITIAL_CAPACITY];
+    private byte[] propertyTypes = new byte[INITIAL_CAPACITY];
+    private String[] cities = new String[INITIAL_CAPACITY];
+    private String[] addresses = new String[INITIAL_CAPACITY];
+    private int[] squares = new int[INITIAL_CAPACITY];
+    private int[] numberOfRooms = new int[INITIAL_CAPACITY];
+    private long[] costs = new long[INITIAL_CAPACITY];
+    private int[] becomingOwnerDates = new int[INITIAL_CAPACITY];
+    private int[] buildingDates = new int[INITIAL_CAPACITY];
+    private byte[] propertyConditions = new byte[INITIAL_CAPACITY];
+
+    @Override
+    public List<Owner> findAll() {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> owners = new ArrayList<>();
+            for (int row = this.liveOwners.nextSetBit(0); row >= 0; row = this.liveOwners.nextSetBit(row + 1)) {
+                owners.add(materialize(row));
+            }
+
+            return owners;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        return streamAfter(afterId, limit, false);
+    }
+
+    @Override
+    public Owner findById(int id) {
+        this.lock.readLock().lock();
+        try {
+            int row = id - 1;
+            if (!isLive(row)) {
+                throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(id));
+            }
+
+            return materialize(row);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> found = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                if (isLive(id - 1)) {
+                    found.add(materialize(id - 1));
+                }
+            }
+
+            return found;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Owner> findDebtors() {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> debtors = new ArrayList<>();
+            for (int row = this.liveOwners.nextSetBit(0); row >= 0; row = this.liveOwners.nextSetBit(row + 1)) {
+                if (this.taxesDebts[row] > 0) {
+                    debtors.add(materialize(row));
+                }
+            }
+
+            return debtors;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        return streamAfter(afterId, limit, true);
+    }
+
+    @Override
+    public List<DebtorContact> findDebtorContacts() {
+        return findDebtors().stream().map(DebtorContact::of).toList();
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        long fromAmount = toMinorUnitsBound(from, RoundingMode.CEILING);
+        long toAmount = toMinorUnitsBound(to, RoundingMode.FLOOR);
+
+        this.lock.readLock().lock();
+        try {
+            List<Integer> rows = new ArrayList<>();
+            for (int row = this.liveOwners.nextSetBit(0); row >= 0; row = this.liveOwners.nextSetBit(row + 1)) {
+                long debt = this.taxesDebts[row];
+                if (debt != NO_AMOUNT && debt >= fromAmount && debt <= toAmount) {
+                    rows.add(row);
+                }
+            }
+
+            rows.sort(Comparator.comparingLong((Integer row) -> this.taxesDebts[row]).thenComparingInt(row -> row));
+            return materializeAll(rows);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            Comparator<Integer> byDebt = Comparator.comparingLong((Integer row) -> this.taxesDebts[row]).thenComparingInt(row -> row);
+            PriorityQueue<Integer> topRows = new PriorityQueue<>(byDebt);
+
+            for (int row = this.liveOwners.nextSetBit(0); row >= 0; row = this.liveOwners.nextSetBit(row + 1)) {
+                if (this.taxesDebts[row] <= 0) {
+                    continue;
+                }
+
+                topRows.add(row);
+                if (topRows.size() > limit) {
+                    topRows.poll();
+                }
+            }
+
+            List<Integer> rows = new ArrayList<>(topRows);
+            rows.sort(byDebt.reversed());
+            return materializeAll(rows);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean save(Owner owner) {
+        checkColumns(owner);
+        this.lock.writeLock().lock();
+        try {
+            int row = this.ownerRows++;
+            ensureOwnerCapacity(this.ownerRows);
+
+            owner.setId(row + 1);
+            if (Objects.isNull(owner.getProperties())) {
+                owner.setProperties(new ArrayList<>());
+            }
+
+            for (Property property : owner.getProperties()) {
+                property.setId(this.propertyCounter++);
+            }
+
+            this.liveOwners.set(row);
+            this.firstPropertyRows[row] = NO_ROW;
+            writeOwner(row, owner);
+            writeProperties(row, owner.getProperties());
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < owners.size(); i++) {
+            try {
+                save(owners.get(i));
+            } catch (RuntimeException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+
+        return failures;
+    }
+
+    @Override
+    public boolean update(int id, Owner owner) {
+        this.lock.writeLock().lock();
+        try {
+            int row = id - 1;
+            if (!isLive(row)) {
+                throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+            }
+
+            return updateRow(row, owner);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean update(int id, Owner owner, long expectedVersion) {
+        this.lock.writeLock().lock();
+        try {
+            int row = id - 1;
+            if (!isLive(row)) {
+                throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+            }
+
+            return this.versions[row] == expectedVersion && updateRow(row, owner);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public int recountDebts(BigDecimal factor, int scale) {
+        if (scale > MONEY_SCALE) {
+            throw new InvalidAmountException("Debts can be recounted to at most " + MONEY_SCALE + " decimal places");
+        }
+
+        this.lock.writeLock().lock();
+        try {
+            int recounted = 0;
+            for (int row = this.liveOwners.nextSetBit(0); row >= 0; row = this.liveOwners.nextSetBit(row + 1)) {
+                if (this.taxesDebts[row] > 0) {
+                    BigDecimal recountedDebt = fromMinorUnits(this.taxesDebts[row]).multiply(factor).setScale(scale, RoundingMode.HALF_UP);
+                    this.taxesDebts[row] = toMinorUnits(recountedDebt);
+                    this.versions[row]++;
+                    recounted++;
+                }
+            }
+
+            return recounted;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public boolean remove(int id) {
+        this.lock.writeLock().lock();
+        try {
+            int row = id - 1;
+            if (!isLive(row)) {
+                return false;
+            }
+
+            releaseProperties(row);
+            this.liveOwners.clear(row);
+            this.hasChildren.clear(row);
+            this.firstNames[row] = null;
+            this.lastNames[row] = null;
+            this.emails[row] = null;
+            this.phoneNumbers[row] = null;
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private boolean updateRow(int row, Owner owner) {
+        checkColumns(owner);
+        writeOwner(row, owner);
+
+        if (Objects.nonNull(owner.getProperties())) {
+            for (Property property : owner.getProperties()) {
+                if (property.getId() == 0) {
+                    property.setId(this.propertyCounter++);
+                }
+            }
+
+            releaseProperties(row);
+            writeProperties(row, owner.getProperties());
+        }
+
+        return true;
+    }
+
+    private boolean isLive(int row) {
+        return row >= 0 && row < this.ownerRows && this.liveOwners.get(row);
+    }
+
+    private void writeOwner(int row, Owner owner) {
+        this.firstNames[row] = owner.getFirstName();
+        this.lastNames[row] = owner.getLastName();
+        this.emails[row] = owner.getEmail();
+        this.phoneNumbers[row] = owner.getPhoneNumber();
+        this.ages[row] = (byte) owner.getAge();
+        this.familyStatuses[row] = encode(owner.getFamilyStatus());
+        this.hasChildren.set(row, owner.isHasChildren());
+        this.birthdays[row] = pack(owner.getBirthday());
+        this.taxesDebts[row] = toMinorUnits(owner.getTaxesDebt());
+        this.versions[row]++;
+    }
+
+    private void writeProperties(int ownerRow, List<Property> properties) {
+        int previousRow = NO_ROW;
+
+        for (Property property : properties) {
+            int row = allocatePropertyRow();
+            this.propertyIds[row] = property.getId();
+            this.propertyTypes[row] = encode(property.getPropertyType());
+            this.cities[row] = property.getCity();
+            this.addresses[row] = property.getAddress();
+            this.squares[row] = property.getSquare();
+            this.numberOfRooms[row] = property.getNumberOfRooms();
+            this.costs[row] = toMinorUnits(property.getCost());
+            this.becomingOwnerDates[row] = pack(property.getDateOfBecomingOwner());
+            this.buildingDates[row] = pack(property.getDateOfBuilding());
+            this.propertyConditions[row] = encode(property.getPropertyCondition());
+            this.nextPropertyRows[row] = NO_ROW;
+
+            if (previousRow == NO_ROW) {
+                this.firstPropertyRows[ownerRow] = row;
+            } else {
+                this.nextPropertyRows[previousRow] = row;
+            }
+            previousRow = row;
+        }
+    }
+
+    private void releaseProperties(int ownerRow) {
+        int row = this.firstPropertyRows[ownerRow];
+
+        while (row != NO_ROW) {
+            int nextRow = this.nextPropertyRows[row];
+            this.cities[row] = null;
+            this.addresses[row] = null;
+            this.nextPropertyRows[row] = this.freePropertyRow;
+            this.freePropertyRow = row;
+            row = nextRow;
+        }
+
+        this.firstPropertyRows[ownerRow] = NO_ROW;
+    }
+
+    private int allocatePropertyRow() {
+        if (this.freePropertyRow != NO_ROW) {
+            int row = this.freePropertyRow;
+            this.freePropertyRow = this.nextPropertyRows[row];
+            return row;
+        }
+
+        int row = this.propertyRows++;
+        ensurePropertyCapacity(this.propertyRows);
+        return row;
+    }
+
+    private List<Owner> materializeAll(List<Integer> rows) {
+        List<Owner> owners = new ArrayList<>(rows.size());
+        for (int row : rows) {
+            owners.add(materialize(row));
+        }
+
+        return owners;
+    }
+
+    private Owner materialize(int row) {
+        return new Owner(
+                row + 1,
+                this.firstNames[row],
+                this.lastNames[row],
+                Byte.toUnsignedInt(this.ages[row]),
+                decode(FAMILY_STATUSES, this.familyStatuses[row]),
+                this.hasChildren.get(row),
+                this.emails[row],
+                this.phoneNumbers[row],
+                unpack(this.birthdays[row]),
+                fromMinorUnits(this.taxesDebts[row]),
+                materializeProperties(row),
+                this.versions[row]);
+    }
+
+    private List<Property> materializeProperties(int ownerRow) {
+        List<Property> properties = new ArrayList<>();
+
+        for (int row = this.firstPropertyRows[ownerRow]; row != NO_ROW; row = this.nextPropertyRows[row]) {
+            properties.add(new Property(
+                    this.propertyIds[row],
+                    decode(PROPERTY_TYPES, this.propertyTypes[row]),
+                    this.cities[row],
+                    this.addresses[row],
+                    this.squares[row],
+                    this.numberOfRooms[row],
+                    fromMinorUnits(this.costs[row]),
+                    unpack(this.becomingOwnerDates[row]),
+                    unpack(this.buildingDates[row]),
+                    decode(PROPERTY_CONDITIONS, this.propertyConditions[row])));
+        }
+
+        return properties;
+    }
+
+    private Stream<Owner> streamAfter(int afterId, int limit, boolean debtorsOnly) {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> owners = new ArrayList<>();
+            for (int row = this.liveOwners.nextSetBit(Math.max(afterId, 0)); row >= 0 && owners.size() < limit; row = this.liveOwners.nextSetBit(row + 1)) {
+                if (!debtorsOnly || this.taxesDebts[row] > 0) {
+                    owners.add(materialize(row));
+                }
+            }
+
+            return owners.stream();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    private void ensureOwnerCapacity(int rows) {
+        if (rows <= this.firstNames.length) {
+            return;
+        }
+
+        int capacity = Math.max(rows, this.firstNames.length * 2);
+        this.firstNames = Arrays.copyOf(this.firstNames, capacity);
+        this.lastNames = Arrays.copyOf(this.lastNames, capacity);
+        this.emails = Arrays.copyOf(this.emails, capacity);
+        this.phoneNumbers = Arrays.copyOf(this.phoneNumbers, capacity);
+        this.ages = Arrays.copyOf(this.ages, capacity);
+        this.familyStatuses = Arrays.copyOf(this.familyStatuses, capacity);
+        this.birthdays = Arrays.copyOf(this.birthdays, capacity);
+        this.taxesDebts = Arrays.copyOf(this.taxesDebts, capacity);
+        this.firstPropertyRows = Arrays.copyOf(this.firstPropertyRows, capacity);
+        this.versions = Arrays.copyOf(this.versions, capacity);
+    }
+
+    private void ensurePropertyCapacity(int rows) {
+        if (rows <= this.propertyIds.length) {
+            return;
+        }
+
+        int capacity = Math.max(rows, this.propertyIds.length * 2);
+        this.propertyIds = Arrays.copyOf(this.propertyIds, capacity);
+        this.nextPropertyRows = Arrays.copyOf(this.nextPropertyRows, capacity);
+        this.propertyTypes = Arrays.copyOf(this.propertyTypes, capacity);
+        this.cities = Arrays.copyOf(this.cities, capacity);
+        this.addresses = Arrays.copyOf(this.addresses, capacity);
+        this.squares = Arrays.copyOf(this.squares, capacity);
+        this.numberOfRooms = Arrays.copyOf(this.numberOfRooms, capacity);
+        this.costs = Arrays.copyOf(this.costs, capacity);
+        this.becomingOwnerDates = Arrays.copyOf(this.becomingOwnerDates, capacity);
+        this.buildingDates = Arrays.copyOf(this.buildingDates, capacity);
+        this.propertyConditions = Arrays.copyOf(this.propertyConditions, capacity);
+    }
+
+    private static void checkColumns(Owner owner) {
+        if (owner.getAge() < 0 || owner.getAge() > MAX_AGE) {
+            throw new InvalidAgeException("Age %d must be between 0 and %d".formatted(owner.getAge(), MAX_AGE));
+        }
+        toMinorUnits(owner.getTaxesDebt());
+        if (Objects.nonNull(owner.getProperties())) {
+            for (Property property : owner.getProperties()) {
+                toMinorUnits(property.getCost());
+            }
+        }
+    }
+
+    private static long toMinorUnits(BigDecimal amount) {
+        if (Objects.isNull(amount)) {
+            return NO_AMOUNT;
+        }
+
+        long minorUnits;
+        try {
+            minorUnits = amount.setScale(MONEY_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            minorUnits = NO_AMOUNT;
+        }
+        if (minorUnits == NO_AMOUNT) {
+            throw new InvalidAmountException("Amount %s must fit into a long with at most %d decimal places".formatted(amount.toPlainString(), MONEY_SCALE));
+        }
+
+        return minorUnits;
+    }
+
+    private static long toMinorUnitsBound(BigDecimal bound, RoundingMode roundingMode) {
+        BigInteger minorUnits = bound.setScale(MONEY_SCALE, roundingMode).unscaledValue();
+        if (minorUnits.bitLength() < Long.SIZE) {
+            return minorUnits.longValue();
+        }
+
+        return minorUnits.signum() > 0 ? Long.MAX_VALUE : Long.MIN_VALUE;
+    }
+
+    private static BigDecimal fromMinorUnits(long amount) {
+        if (amount == NO_AMOUNT) {
+            return null;
+        }
+
+        BigDecimal value = BigDecimal.valueOf(amount, MONEY_SCALE).stripTrailingZeros();
+        return value.scale() < 0 ? value.setScale(0) : value;
+    }
+
+    private static int pack(LocalDate date) {
+        if (Objects.isNull(date)) {
+            return NO_DATE;
+        }
+
+        return date.getYear() << 9 | date.getMonthValue() << 5 | date.getDayOfMonth();
+    }
+
+    private static LocalDate unpack(int date) {
+        if (date == NO_DATE) {
+            return null;
+        }
+
+        return LocalDate.of(date >> 9, (date >> 5) & 0xF, date & 0x1F);
+    }
+
+    private static byte encode(Enum<?> value) {
+        return Objects.isNull(value) ? NO_CODE : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E decode(E[] values, byte code) {
+        return code == NO_CODE ? null : values[code - 1];
+    }
+}
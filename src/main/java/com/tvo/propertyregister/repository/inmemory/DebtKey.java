@@ -0,0 +1,31 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+import com.tvo.propertyregister.model.owner.Owner;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+record DebtKey(BigDecimal debt, int ownerId) implements Comparable<DebtKey> {
+
+    static DebtKey of(Owner owner) {
+        return new DebtKey(Objects.requireNonNullElse(owner.getTaxesDebt(), BigDecimal.ZERO), owner.getId());
+    }
+
+    static DebtKey lowerBound(BigDecimal debt) {
+        return new DebtKey(debt, Integer.MIN_VALUE);
+    }
+
+    static DebtKey upperBound(BigDecimal debt) {
+        return new DebtKey(debt, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public int compareTo(DebtKey other) {
+        int result = this.debt.compareTo(other.debt);
+        if (result != 0) {
+            return result;
+        }
+
+        return Integer.compare(this.ownerId, other.ownerId);
+    }
+}
@@ -1,87 +1,705 @@
 package com.tvo.propertyregister.repository.inmemory;
 
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
 import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.OwnerRepository;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
 
 public class InMemoryOwnerRepository implements OwnerRepository {
 
-    private static int ownerCounter = 1;
-    private static int propertyCounter = 1;
-    private final List<Owner> allOwners = new ArrayList<>();
+    private static final int STRIPE_BITS = 6;
+    private static final int LOCK_STRIPES = 1 << STRIPE_BITS;
+
+    private final AtomicInteger ownerCounter = new AtomicInteger(1);
+    private final AtomicInteger propertyCounter = new AtomicInteger(1);
+    private final ReentrantLock[] writeLocks = new ReentrantLock[LOCK_STRIPES];
+    private final AtomicReferenceArray<PersistentIntMap<OwnerRecord>> ownerShards = new AtomicReferenceArray<>(LOCK_STRIPES);
+    private final NavigableSet<DebtKey> debtIndex = new ConcurrentSkipListSet<>();
+    private final Map<Integer, PropertySlot> propertyIndex = new ConcurrentHashMap<>();
+    private final Map<String, Set<Integer>> cityIndex = new ConcurrentHashMap<>();
+    private final Map<PropertyType, Set<Integer>> propertyTypeIndex = new ConcurrentHashMap<>();
+
+    public InMemoryOwnerRepository() {
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            this.writeLocks[i] = new ReentrantLock();
+            this.ownerShards.set(i, PersistentIntMap.empty());
+        }
+    }
 
     @Override
     public List<Owner> findAll() {
-        return this.allOwners;
+        List<OwnerRecord> records = new ArrayList<>();
+        for (int shard = 0; shard < LOCK_STRIPES; shard++) {
+            records.addAll(this.ownerShards.get(shard).values());
+        }
+        records.sort(Comparator.comparingInt(record -> record.owner().getId()));
+
+        List<Owner> owners = new ArrayList<>(records.size());
+        for (OwnerRecord record : records) {
+            owners.add(copyOf(record.owner()));
+        }
+
+        return owners;
+    }
+
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        return streamAfter(afterId, limit, record -> true);
     }
 
     @Override
     public Owner findById(int id) {
-        for (Owner owner : this.allOwners) {
-            if (owner.getId() == id) {
-                return owner;
+        OwnerRecord record = currentRecord(id);
+        if (Objects.isNull(record)) {
+            throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(id));
+        }
+
+        return copyOf(record.owner());
+    }
+
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        List<Owner> found = new ArrayList<>(ids.size());
+        for (int id : ids) {
+            OwnerRecord record = currentRecord(id);
+            if (Objects.nonNull(record)) {
+                found.add(copyOf(record.owner()));
             }
         }
 
-        throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(id));
+        return found;
+    }
+
+    public long findVersion(int id) {
+        OwnerRecord record = currentRecord(id);
+        if (Objects.isNull(record)) {
+            throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(id));
+        }
+
+        return record.version();
     }
 
     @Override
     public List<Owner> findDebtors() {
-        List<Owner> debtors = new ArrayList<>();
+        return resolveDebtors(this.debtIndex.tailSet(DebtKey.upperBound(BigDecimal.ZERO), false), Integer.MAX_VALUE);
+    }
 
-        for (Owner owner : this.allOwners) {
-            if (owner.getTaxesDebt().compareTo(BigDecimal.ZERO) > 0) {
-                debtors.add(owner);
-            }
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        return streamAfter(afterId, limit, record -> record.owner().getTaxesDebt().signum() > 0);
+    }
+
+    @Override
+    public List<DebtorContact> findDebtorContacts() {
+        return findDebtors().stream().map(DebtorContact::of).toList();
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        if (from.compareTo(to) > 0) {
+            return new ArrayList<>();
         }
 
-        return debtors;
+        return resolveDebtors(this.debtIndex.subSet(DebtKey.lowerBound(from), true, DebtKey.upperBound(to), true), Integer.MAX_VALUE);
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        return resolveDebtors(this.debtIndex.descendingSet().headSet(DebtKey.upperBound(BigDecimal.ZERO), false), limit);
     }
 
     @Override
     public boolean save(Owner owner) {
-        owner.setId(ownerCounter++);
+        Owner record = prepareSave(owner);
+        write(record.getId(), () -> {
+            publish(null, record);
+            return true;
+        });
+        return true;
+    }
 
-        for (Property property : owner.getProperties()) {
-            property.setId(propertyCounter++);
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < owners.size(); i++) {
+            try {
+                save(owners.get(i));
+            } catch (RuntimeException e) {
+                failures.put(i, e.getMessage());
+            }
         }
 
-        return this.allOwners.add(owner);
+        return failures;
     }
 
     @Override
     public boolean update(int id, Owner owner) {
+        return write(id, () -> updateRecord(id, owner));
+    }
+
+    @Override
+    public boolean update(int id, Owner owner, long expectedVersion) {
+        return write(id, () -> findVersion(id) == expectedVersion && updateRecord(id, owner));
+    }
+
+    @Override
+    public boolean remove(int id) {
+        return write(id, () -> {
+            Owner removedOwner = currentOwner(id);
+            if (Objects.isNull(removedOwner)) {
+                return false;
+            }
+
+            this.ownerShards.set(shardOf(id), this.ownerShards.get(shardOf(id)).remove(keyOf(id)));
+            this.debtIndex.remove(DebtKey.of(removedOwner));
+            unindexProperties(removedOwner);
+            return true;
+        });
+    }
+
+    @Override
+    public int recountDebts(BigDecimal factor, int scale) {
+        List<List<Integer>> debtorsByStripe = new ArrayList<>(LOCK_STRIPES);
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            debtorsByStripe.add(new ArrayList<>());
+        }
+        for (DebtKey debtKey : this.debtIndex.tailSet(DebtKey.upperBound(BigDecimal.ZERO), false)) {
+            debtorsByStripe.get(shardOf(debtKey.ownerId())).add(debtKey.ownerId());
+        }
+
+        int recounted = 0;
+        for (int stripe = 0; stripe < LOCK_STRIPES; stripe++) {
+            List<Integer> debtorIds = debtorsByStripe.get(stripe);
+            recounted += write(stripe, () -> {
+                int recountedInStripe = 0;
+                for (int id : debtorIds) {
+                    Owner currentOwner = currentOwner(id);
+                    if (Objects.nonNull(currentOwner) && currentOwner.getTaxesDebt().signum() > 0) {
+                        publish(currentOwner, currentOwner.withTaxesDebt(recount(currentOwner.getTaxesDebt(), factor, scale)));
+                        recountedInStripe++;
+                    }
+                }
+                return recountedInStripe;
+            });
+        }
+
+        return recounted;
+    }
+
+    public Owner prepareSave(Owner owner) {
+        owner.setId(this.ownerCounter.getAndIncrement());
+
+        if (Objects.isNull(owner.getProperties())) {
+            owner.setProperties(new ArrayList<>());
+        }
 
         for (Property property : owner.getProperties()) {
-            property.setId(propertyCounter++);
+            property.setId(this.propertyCounter.getAndIncrement());
+        }
+
+        return copyOf(owner, owner.getProperties());
+    }
+
+    public Owner prepareUpdate(int id, Owner owner) {
+        Owner currentOwner = currentOwner(id);
+        if (Objects.isNull(currentOwner)) {
+            throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+        }
+
+        List<Property> properties = Objects.isNull(owner.getProperties()) || owner.getProperties() == currentOwner.getProperties()
+                ? currentOwner.getProperties()
+                : withPropertyIds(owner.getProperties());
+
+        Owner updatedOwner = new Owner(id, owner.getFirstName(), owner.getLastName(),
+                currentOwner.getAge(), owner.getFamilyStatus(),
+                owner.isHasChildren(), owner.getEmail(),
+                owner.getPhoneNumber(),
+                currentOwner.getBirthday(),
+                owner.getTaxesDebt(), properties);
+
+        return properties == currentOwner.getProperties() ? updatedOwner : copyOf(updatedOwner, properties);
+    }
+
+    public Map<Integer, BigDecimal> prepareRecountDebts(BigDecimal factor, int scale) {
+        Map<Integer, BigDecimal> debts = new HashMap<>();
+        for (Owner debtor : findDebtors()) {
+            debts.put(debtor.getId(), recount(debtor.getTaxesDebt(), factor, scale));
+        }
+
+        return debts;
+    }
+
+    public List<Property> findProperties(int ownerId) {
+        return new ArrayList<>(findById(ownerId).getProperties());
+    }
+
+    public List<Property> findPropertiesByCity(String city) {
+        return resolveProperties(this.cityIndex.getOrDefault(city, Set.of()), property -> city.equals(property.getCity()));
+    }
+
+    public List<Property> findPropertiesByPropertyType(PropertyType propertyType) {
+        return resolveProperties(this.propertyTypeIndex.getOrDefault(propertyType, Set.of()), property -> propertyType == property.getPropertyType());
+    }
+
+    public List<Property> findPropertiesByCityAndPropertyType(String city, PropertyType propertyType) {
+        Set<Integer> cityIds = this.cityIndex.getOrDefault(city, Set.of());
+        Set<Integer> propertyTypeIds = this.propertyTypeIndex.getOrDefault(propertyType, Set.of());
+
+        Set<Integer> smallerIds = cityIds.size() <= propertyTypeIds.size() ? cityIds : propertyTypeIds;
+        Set<Integer> largerIds = smallerIds == cityIds ? propertyTypeIds : cityIds;
+
+        return resolveProperties(smallerIds.stream().filter(largerIds::contains).toList(),
+                property -> city.equals(property.getCity()) && propertyType == property.getPropertyType());
+    }
+
+    public boolean addProperty(int ownerId, Property property) {
+        return write(ownerId, () -> {
+            Owner updatedOwner = prepareAddProperty(ownerId, property);
+            List<Property> properties = updatedOwner.getProperties();
+
+            indexProperty(ownerId, properties.size() - 1, properties.get(properties.size() - 1));
+            store(updatedOwner);
+            return true;
+        });
+    }
+
+    public boolean replaceProperties(int ownerId, List<Property> properties) {
+        return write(ownerId, () -> {
+            Owner updatedOwner = prepareReplaceProperties(ownerId, properties);
+
+            publish(currentOwner(ownerId), updatedOwner);
+            return true;
+        });
+    }
+
+    public boolean updateProperty(int ownerId, int propertyId, Property property) {
+        return write(ownerId, () -> {
+            Owner currentOwner = requireOwner(ownerId);
+            int slot = slotOf(ownerId, propertyId);
+            Property currentProperty = currentOwner.getProperties().get(slot);
+            Owner updatedOwner = prepareUpdateProperty(ownerId, propertyId, property);
+            Property updatedProperty = updatedOwner.getProperties().get(slot);
+
+            indexAttributes(updatedProperty);
+            store(updatedOwner);
+            unindexChangedAttributes(currentProperty, updatedProperty);
+            return true;
+        });
+    }
+
+    public boolean removeProperty(int ownerId, int propertyId) {
+        return write(ownerId, () -> {
+            Owner currentOwner = requireOwner(ownerId);
+            int slot = slotOf(ownerId, propertyId);
+            Property removedProperty = currentOwner.getProperties().get(slot);
+            Owner updatedOwner = prepareRemoveProperty(ownerId, propertyId);
+            List<Property> properties = updatedOwner.getProperties();
+
+            store(updatedOwner);
+            this.propertyIndex.remove(propertyId);
+            for (int followingSlot = slot; followingSlot < properties.size(); followingSlot++) {
+                this.propertyIndex.put(properties.get(followingSlot).getId(), new PropertySlot(ownerId, followingSlot));
+            }
+            unindexAttributes(removedProperty);
+            return true;
+        });
+    }
+
+    public Owner prepareAddProperty(int ownerId, Property property) {
+        Owner currentOwner = requireOwner(ownerId);
+        property.setId(this.propertyCounter.getAndIncrement());
+
+        List<Property> properties = new ArrayList<>(currentOwner.getProperties());
+        properties.add(copyOf(property));
+        return currentOwner.withProperties(Collections.unmodifiableList(properties));
+    }
+
+    public Owner prepareReplaceProperties(int ownerId, List<Property> properties) {
+        return copyOf(requireOwner(ownerId), withPropertyIds(properties));
+    }
+
+    public Owner prepareUpdateProperty(int ownerId, int propertyId, Property property) {
+        Owner currentOwner = requireOwner(ownerId);
+        int slot = slotOf(ownerId, propertyId);
+
+        Property updatedProperty = copyOf(currentOwner.getProperties().get(slot));
+        updatedProperty.setCity(property.getCity());
+        updatedProperty.setAddress(property.getAddress());
+        updatedProperty.setNumberOfRooms(property.getNumberOfRooms());
+        updatedProperty.setPropertyCondition(property.getPropertyCondition());
+
+        List<Property> properties = new ArrayList<>(currentOwner.getProperties());
+        properties.set(slot, updatedProperty);
+        return currentOwner.withProperties(Collections.unmodifiableList(properties));
+    }
+
+    public Owner prepareRemoveProperty(int ownerId, int propertyId) {
+        Owner currentOwner = requireOwner(ownerId);
+        int slot = slotOf(ownerId, propertyId);
+
+        List<Property> properties = new ArrayList<>(currentOwner.getProperties());
+        properties.remove(slot);
+        return currentOwner.withProperties(Collections.unmodifiableList(properties));
+    }
+
+    public void restore(Owner owner) {
+        this.ownerCounter.accumulateAndGet(owner.getId() + 1, Math::max);
+
+        List<Property> properties = Objects.isNull(owner.getProperties()) ? List.of() : owner.getProperties();
+        for (Property property : properties) {
+            this.propertyCounter.accumulateAndGet(property.getId() + 1, Math::max);
         }
 
-        for (Owner currentOwner : this.allOwners) {
-            if (currentOwner.getId() == id) {
-                currentOwner.setFirstName(owner.getFirstName());
-                currentOwner.setLastName(owner.getLastName());
-                currentOwner.setFamilyStatus(owner.getFamilyStatus());
-                currentOwner.setHasChildren(owner.isHasChildren());
-                currentOwner.setEmail(owner.getEmail());
-                currentOwner.setPhoneNumber(owner.getPhoneNumber());
-                currentOwner.setTaxesDebt(owner.getTaxesDebt());
-                currentOwner.setProperties(owner.getProperties());
-                return true;
+        Owner record = copyOf(owner, properties);
+        write(record.getId(), () -> {
+            publish(currentOwner(record.getId()), record);
+            return true;
+        });
+    }
+
+    public void replaceWith(InMemoryOwnerRepository source) {
+        for (ReentrantLock writeLock : this.writeLocks) {
+            writeLock.lock();
+        }
+        try {
+            for (int shard = 0; shard < LOCK_STRIPES; shard++) {
+                this.ownerShards.set(shard, source.ownerShards.get(shard));
+            }
+            this.debtIndex.clear();
+            this.debtIndex.addAll(source.debtIndex);
+            replaceContent(this.propertyIndex, source.propertyIndex);
+            replaceContent(this.cityIndex, source.cityIndex);
+            replaceContent(this.propertyTypeIndex, source.propertyTypeIndex);
+            this.ownerCounter.set(source.ownerCounter.get());
+            this.propertyCounter.set(source.propertyCounter.get());
+        } finally {
+            for (ReentrantLock writeLock : this.writeLocks) {
+                writeLock.unlock();
             }
         }
+    }
 
-        throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+    public void restoreCounters(int nextOwnerId, int nextPropertyId) {
+        this.ownerCounter.accumulateAndGet(nextOwnerId, Math::max);
+        this.propertyCounter.accumulateAndGet(nextPropertyId, Math::max);
     }
 
-    @Override
-    public boolean remove(int id) {
-        return this.allOwners.removeIf(owner -> owner.getId() == id);
+    public int nextOwnerId() {
+        return this.ownerCounter.get();
+    }
+
+    public int nextPropertyId() {
+        return this.propertyCounter.get();
+    }
+
+    private Stream<Owner> streamAfter(int afterId, int limit, Predicate<OwnerRecord> filter) {
+        if (afterId == Integer.MAX_VALUE) {
+            return Stream.empty();
+        }
+
+        List<OwnerRecord> records = new ArrayList<>(limit);
+        long fromId = afterId + 1L;
+        int batch = limit / LOCK_STRIPES + 1;
+        while (records.size() < limit && fromId <= Integer.MAX_VALUE) {
+            List<OwnerRecord> candidates = new ArrayList<>();
+            long completeUpToId = Integer.MAX_VALUE;
+            for (int shard = 0; shard < LOCK_STRIPES; shard++) {
+                List<OwnerRecord> shardRecords = this.ownerShards.get(shard).valuesFrom(firstKeyFrom(fromId, shard), batch, filter);
+                candidates.addAll(shardRecords);
+                if (shardRecords.size() == batch) {
+                    completeUpToId = Math.min(completeUpToId, shardRecords.get(batch - 1).owner().getId());
+                }
+            }
+            candidates.sort(Comparator.comparingInt(record -> record.owner().getId()));
+
+            for (OwnerRecord candidate : candidates) {
+                if (records.size() >= limit || candidate.owner().getId() > completeUpToId) {
+                    break;
+                }
+                records.add(candidate);
+            }
+
+            fromId = completeUpToId + 1L;
+            batch = (int) Math.min(2L * batch, limit);
+        }
+
+        return records.stream().map(record -> copyOf(record.owner()));
+    }
+
+    private <T> T write(int ownerId, Supplier<T> mutation) {
+        ReentrantLock writeLock = this.writeLocks[shardOf(ownerId)];
+        writeLock.lock();
+        try {
+            return mutation.get();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private boolean updateRecord(int id, Owner owner) {
+        Owner updatedOwner = prepareUpdate(id, owner);
+
+        publish(currentOwner(id), updatedOwner);
+        return true;
+    }
+
+    private Owner currentOwner(int id) {
+        OwnerRecord record = currentRecord(id);
+        return Objects.isNull(record) ? null : record.owner();
+    }
+
+    private OwnerRecord currentRecord(int id) {
+        return this.ownerShards.get(shardOf(id)).get(keyOf(id));
+    }
+
+    private void store(Owner owner) {
+        int shard = shardOf(owner.getId());
+        PersistentIntMap<OwnerRecord> owners = this.ownerShards.get(shard);
+        OwnerRecord currentRecord = owners.get(keyOf(owner.getId()));
+        long version = Objects.isNull(currentRecord) ? 1 : currentRecord.version() + 1;
+        owner.setVersion(version);
+        this.ownerShards.set(shard, owners.put(keyOf(owner.getId()), new OwnerRecord(owner, version)));
+    }
+
+    private void publish(Owner currentOwner, Owner newOwner) {
+        boolean propertiesChanged = Objects.isNull(currentOwner) || currentOwner.getProperties() != newOwner.getProperties();
+
+        DebtKey newDebtKey = DebtKey.of(newOwner);
+        this.debtIndex.add(newDebtKey);
+        if (propertiesChanged) {
+            indexProperties(newOwner);
+        }
+
+        store(newOwner);
+
+        if (Objects.nonNull(currentOwner)) {
+            DebtKey currentDebtKey = DebtKey.of(currentOwner);
+            if (currentDebtKey.compareTo(newDebtKey) != 0) {
+                this.debtIndex.remove(currentDebtKey);
+            }
+            if (propertiesChanged) {
+                unindexReplacedProperties(currentOwner, newOwner);
+            }
+        }
+    }
+
+    private Owner requireOwner(int ownerId) {
+        Owner owner = currentOwner(ownerId);
+        if (Objects.isNull(owner)) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        return owner;
+    }
+
+    private List<Property> withPropertyIds(List<Property> properties) {
+        for (Property property : properties) {
+            if (property.getId() == 0) {
+                property.setId(this.propertyCounter.getAndIncrement());
+            }
+        }
+
+        return properties;
+    }
+
+    private void indexProperties(Owner owner) {
+        List<Property> properties = owner.getProperties();
+        for (int slot = 0; slot < properties.size(); slot++) {
+            indexProperty(owner.getId(), slot, properties.get(slot));
+        }
+    }
+
+    private void unindexProperties(Owner owner) {
+        List<Property> properties = owner.getProperties();
+        for (int slot = 0; slot < properties.size(); slot++) {
+            if (this.propertyIndex.remove(properties.get(slot).getId(), new PropertySlot(owner.getId(), slot))) {
+                unindexAttributes(properties.get(slot));
+            }
+        }
+    }
+
+    private void unindexReplacedProperties(Owner currentOwner, Owner newOwner) {
+        Map<Integer, Property> newProperties = new HashMap<>();
+        for (Property property : newOwner.getProperties()) {
+            newProperties.put(property.getId(), property);
+        }
+
+        List<Property> properties = currentOwner.getProperties();
+        for (int slot = 0; slot < properties.size(); slot++) {
+            Property property = properties.get(slot);
+            Property replacement = newProperties.get(property.getId());
+            if (Objects.nonNull(replacement)) {
+                unindexChangedAttributes(property, replacement);
+            } else if (this.propertyIndex.remove(property.getId(), new PropertySlot(currentOwner.getId(), slot))) {
+                unindexAttributes(property);
+            }
+        }
+    }
+
+    private void indexProperty(int ownerId, int slot, Property property) {
+        this.propertyIndex.put(property.getId(), new PropertySlot(ownerId, slot));
+        indexAttributes(property);
+    }
+
+    private void indexAttributes(Property property) {
+        if (Objects.nonNull(property.getCity())) {
+            addToIndex(this.cityIndex, property.getCity(), property.getId());
+        }
+        if (Objects.nonNull(property.getPropertyType())) {
+            addToIndex(this.propertyTypeIndex, property.getPropertyType(), property.getId());
+        }
+    }
+
+    private void unindexAttributes(Property property) {
+        if (Objects.nonNull(property.getCity())) {
+            removeFromIndex(this.cityIndex, property.getCity(), property.getId());
+        }
+        if (Objects.nonNull(property.getPropertyType())) {
+            removeFromIndex(this.propertyTypeIndex, property.getPropertyType(), property.getId());
+        }
+    }
+
+    private void unindexChangedAttributes(Property property, Property replacement) {
+        if (Objects.nonNull(property.getCity()) && !property.getCity().equals(replacement.getCity())) {
+            removeFromIndex(this.cityIndex, property.getCity(), property.getId());
+        }
+        if (Objects.nonNull(property.getPropertyType()) && property.getPropertyType() != replacement.getPropertyType()) {
+            removeFromIndex(this.propertyTypeIndex, property.getPropertyType(), property.getId());
+        }
+    }
+
+    private int slotOf(int ownerId, int propertyId) {
+        PropertySlot propertySlot = this.propertyIndex.get(propertyId);
+        if (Objects.isNull(propertySlot) || propertySlot.ownerId() != ownerId) {
+            throw new PropertyNotFoundException("Property with id " + propertyId + " not found");
+        }
+
+        return propertySlot.slot();
+    }
+
+    private List<Owner> resolveDebtors(Iterable<DebtKey> debtKeys, int limit) {
+        List<Owner> debtors = new ArrayList<>();
+        for (DebtKey debtKey : debtKeys) {
+            if (debtors.size() >= limit) {
+                break;
+            }
+
+            Owner owner = currentOwner(debtKey.ownerId());
+            if (Objects.nonNull(owner) && debtKey.compareTo(DebtKey.of(owner)) == 0) {
+                debtors.add(copyOf(owner));
+            }
+        }
+
+        return debtors;
+    }
+
+    private List<Property> resolveProperties(Iterable<Integer> propertyIds, Predicate<Property> filter) {
+        List<Property> result = new ArrayList<>();
+        for (int propertyId : propertyIds) {
+            PropertySlot propertySlot = this.propertyIndex.get(propertyId);
+            Owner owner = Objects.isNull(propertySlot) ? null : currentOwner(propertySlot.ownerId());
+            Property property = Objects.isNull(owner) ? null : propertyAt(owner, propertySlot.slot(), propertyId);
+            if (Objects.nonNull(property) && filter.test(property)) {
+                result.add(copyOf(property));
+            }
+        }
+
+        result.sort(Comparator.comparingInt(Property::getId));
+        return result;
+    }
+
+    private static Property propertyAt(Owner owner, int slot, int propertyId) {
+        List<Property> properties = owner.getProperties();
+        if (slot < properties.size() && properties.get(slot).getId() == propertyId) {
+            return properties.get(slot);
+        }
+
+        for (Property property : properties) {
+            if (property.getId() == propertyId) {
+                return property;
+            }
+        }
+
+        return null;
+    }
+
+    private static int shardOf(int ownerId) {
+        return ownerId & (LOCK_STRIPES - 1);
+    }
+
+    private static int keyOf(int ownerId) {
+        return ownerId >>> STRIPE_BITS;
+    }
+
+    private static int firstKeyFrom(long fromId, int shard) {
+        return fromId <= shard ? 0 : (int) ((fromId - shard - 1) >>> STRIPE_BITS) + 1;
+    }
+
+    private static BigDecimal recount(BigDecimal debt, BigDecimal factor, int scale) {
+        return debt.multiply(factor).setScale(scale, RoundingMode.HALF_UP);
+    }
+
+    private static Owner copyOf(Owner owner) {
+        return copyOf(owner, owner.getProperties());
+    }
+
+    private static Owner copyOf(Owner owner, List<Property> properties) {
+        List<Property> storedProperties = new ArrayList<>(properties.size());
+        for (Property property : properties) {
+            storedProperties.add(copyOf(property));
+        }
+
+        return owner.withProperties(Collections.unmodifiableList(storedProperties));
+    }
+
+    private static Property copyOf(Property property) {
+        return new Property(property.getId(), property.getPropertyType(), property.getCity(), property.getAddress(),
+                property.getSquare(), property.getNumberOfRooms(), property.getCost(),
+                property.getDateOfBecomingOwner(), property.getDateOfBuilding(), property.getPropertyCondition());
+    }
+
+    private static <K, V> void replaceContent(Map<K, V> target, Map<K, V> source) {
+        target.clear();
+        target.putAll(source);
+    }
+
+    private static <K> void addToIndex(Map<K, Set<Integer>> index, K key, int propertyId) {
+        index.compute(key, (indexKey, propertyIds) -> {
+            Set<Integer> ids = Objects.isNull(propertyIds) ? ConcurrentHashMap.newKeySet() : propertyIds;
+            ids.add(propertyId);
+            return ids;
+        });
+    }
+
+    private static <K> void removeFromIndex(Map<K, Set<Integer>> index, K key, int propertyId) {
+        index.computeIfPresent(key, (indexKey, propertyIds) -> {
+            propertyIds.remove(propertyId);
+            return propertyIds.isEmpty() ? null : propertyIds;
+        });
     }
 }
@@ -1,79 +1,54 @@
 package com.tvo.propertyregister.repository.inmemory;
 
-import com.tvo.propertyregister.exception.NoSuchOwnerException;
-import com.tvo.propertyregister.exception.PropertyNotFoundException;
-import com.tvo.propertyregister.model.owner.FamilyStatus;
-import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
-import com.tvo.propertyregister.model.property.PropertyCondition;
 import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
 
-import java.math.BigDecimal;
-import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
+@RequiredArgsConstructor
 public class InMemoryPropertyRepository implements PropertyRepository {
 
-    private final Property propertyFirst = new Property(
-            1, PropertyType.FLAT, "Prague", "Heroev Street 24",
-            70, 3, new BigDecimal("500000"),
-            LocalDate.of(2020, 4, 10),
-            LocalDate.of(2012, 1, 9),
-            PropertyCondition.GOOD);
-    private final Property propertySecond = new Property(2, PropertyType.HOUSE, "Prague", "Boris Niemcov Street 220",
-            150, 5, new BigDecimal("750000"),
-            LocalDate.of(2020, 4, 10),
-            LocalDate.of(2012, 1, 9),
-            PropertyCondition.GOOD);
-    private final Property propertyThird = new Property(3, PropertyType.OFFICE, "Prague", "Evropska 6",
-            300, 10, new BigDecimal("1000000"),
-            LocalDate.of(2023, 4, 10),
-            LocalDate.of(2023, 1, 9),
-            PropertyCondition.GOOD);
+    private final InMemoryOwnerRepository ownerRepository;
 
-    private final Owner ownerFirst = new Owner(1, "John", "Smith",
-            30, FamilyStatus.SINGLE,
-            false, "johnsmith@gmail.com",
-            "+456987123",
-            LocalDate.of(1994, 8, 9),
-            new BigDecimal("0"), new ArrayList<>(List.of(propertyFirst)));
-    private final Owner ownerSecond = new Owner(2, "Linda", "Johnson",
-            31, FamilyStatus.MARRIED,
-            true, "lindajohnson@gmail.com",
-            "+789456147",
-            LocalDate.of(1993, 7, 17),
-            new BigDecimal("0"), new ArrayList<>(List.of(propertySecond)));
-    private final Owner ownerThird = new Owner(3, "Dan", "Kravets",
-            30, FamilyStatus.SINGLE,
-            false, "DDD_JDK@gmail.com",
-            "+784578457",
-            LocalDate.of(1994, 1, 31),
-            new BigDecimal("0"), new ArrayList<>(List.of(propertyThird)));
-
-    private final List<Owner> owners = List.of(ownerFirst, ownerSecond, ownerThird);
+    @Override
+    public List<Property> findAll(int ownerId) {
+        return this.ownerRepository.findProperties(ownerId);
+    }
 
-    private static int counter = 3;
+    @Override
+    public List<Property> findByCity(String city) {
+        return this.ownerRepository.findPropertiesByCity(city);
+    }
 
     @Override
-    public List<Property> findAll(int ownerId) {
-        for (Owner currentOwner : this.owners) {
-            if (currentOwner.getId() == ownerId) {
-                return currentOwner.getProperties();
-            }
-        }
+    public List<Property> findByPropertyType(PropertyType propertyType) {
+        return this.ownerRepository.findPropertiesByPropertyType(propertyType);
+    }
 
-        throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(ownerId));
+    @Override
+    public List<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return this.ownerRepository.findPropertiesByCityAndPropertyType(city, propertyType);
     }
 
     @Override
-    public boolean save(Owner owner, Property property) {
-        return false;
+    public boolean save(int ownerId, Property property) {
+        return this.ownerRepository.addProperty(ownerId, property);
     }
 
     @Override
     public boolean update(int ownerId, List<Property> updatedProperties) {
-        return false;
+        return this.ownerRepository.replaceProperties(ownerId, updatedProperties);
+    }
+
+    @Override
+    public boolean update(int ownerId, int propertyId, Property property) {
+        return this.ownerRepository.updateProperty(ownerId, propertyId, property);
+    }
+
+    @Override
+    public boolean remove(int ownerId, int propertyId) {
+        return this.ownerRepository.removeProperty(ownerId, propertyId);
     }
 }
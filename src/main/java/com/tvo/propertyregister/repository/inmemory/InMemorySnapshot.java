@@ -0,0 +1,285 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+public class InMemorySnapshot {
+
+    private static final int MAGIC = 0x50525331;
+    private static final byte VERSION = 2;
+    private static final int END_OF_CHUNKS = 0;
+    private static final int MAX_CHUNK_BYTES = 64 * 1024 * 1024;
+    private static final int MAX_DECIMAL_BYTES = 1024;
+
+    private static final FamilyStatus[] FAMILY_STATUSES = FamilyStatus.values();
+    private static final PropertyType[] PROPERTY_TYPES = PropertyType.values();
+    private static final PropertyCondition[] PROPERTY_CONDITIONS = PropertyCondition.values();
+
+    private final InMemoryOwnerRepository ownerRepository;
+    private final InMemoryTaxRateRepository taxRateRepository;
+    private final int chunkSize;
+    private final Semaphore chunksInFlight = new Semaphore(Runtime.getRuntime().availableProcessors() * 2);
+
+    public InMemorySnapshot(InMemoryOwnerRepository ownerRepository, InMemoryTaxRateRepository taxRateRepository, int chunkSize) {
+        this.ownerRepository = ownerRepository;
+        this.taxRateRepository = taxRateRepository;
+        this.chunkSize = chunkSize;
+    }
+
+    public int dump(OutputStream outputStream) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(outputStream));
+        output.writeInt(MAGIC);
+        output.writeByte(VERSION);
+        output.writeInt(this.ownerRepository.nextOwnerId());
+        output.writeInt(this.ownerRepository.nextPropertyId());
+
+        List<TaxRate> taxRates = this.taxRateRepository.findAll();
+        output.writeInt(taxRates.size());
+        for (TaxRate taxRate : taxRates) {
+            output.writeInt(taxRate.getId());
+            writeEnum(output, taxRate.getPropertyType());
+            writeDecimal(output, taxRate.getTax());
+        }
+
+        List<Owner> owners = this.ownerRepository.findAll();
+        ByteArrayOutputStream chunk = new ByteArrayOutputStream();
+        for (int from = 0; from < owners.size(); from += this.chunkSize) {
+            List<Owner> chunkOwners = owners.subList(from, Math.min(from + this.chunkSize, owners.size()));
+
+            chunk.reset();
+            DataOutputStream chunkOutput = new DataOutputStream(chunk);
+            for (Owner owner : chunkOwners) {
+                writeOwner(chunkOutput, owner);
+            }
+
+            output.writeInt(chunkOwners.size());
+            output.writeInt(chunk.size());
+            chunk.writeTo(output);
+        }
+        output.writeInt(END_OF_CHUNKS);
+        output.flush();
+
+        return owners.size();
+    }
+
+    public int load(InputStream inputStream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != MAGIC || input.readByte() != VERSION) {
+            throw new IOException("Unsupported snapshot format");
+        }
+
+        int nextOwnerId = input.readInt();
+        int nextPropertyId = input.readInt();
+
+        int taxRateCount = readLength(input, PROPERTY_TYPES.length);
+        Map<PropertyType, BigDecimal> taxRates = new EnumMap<>(PropertyType.class);
+        for (int i = 0; i < taxRateCount; i++) {
+            input.readInt();
+            PropertyType propertyType = readEnum(input, PROPERTY_TYPES);
+            if (Objects.isNull(propertyType)) {
+                throw new IOException("Snapshot tax rate has no property type");
+            }
+            taxRates.put(propertyType, readDecimal(input));
+        }
+
+        InMemoryOwnerRepository restoredOwners = new InMemoryOwnerRepository();
+        List<CompletableFuture<Void>> restoredChunks = new ArrayList<>();
+        int ownerCount = 0;
+        try {
+            for (int chunkOwners = input.readInt(); chunkOwners != END_OF_CHUNKS; chunkOwners = input.readInt()) {
+                if (chunkOwners < 0) {
+                    throw new IOException("Invalid snapshot chunk of %s owners".formatted(chunkOwners));
+                }
+
+                byte[] chunk = new byte[readLength(input, MAX_CHUNK_BYTES)];
+                input.readFully(chunk);
+                ownerCount += chunkOwners;
+
+                this.chunksInFlight.acquireUninterruptibly();
+                int owners = chunkOwners;
+                restoredChunks.add(CompletableFuture
+                        .runAsync(() -> restoreChunk(restoredOwners, chunk, owners))
+                        .whenComplete((result, error) -> this.chunksInFlight.release()));
+            }
+
+            CompletableFuture.allOf(restoredChunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof UncheckedIOException ioException) {
+                throw ioException.getCause();
+            }
+            throw new IOException("Failed restoring snapshot chunk", e.getCause());
+        }
+
+        restoredOwners.restoreCounters(nextOwnerId, nextPropertyId);
+        taxRates.forEach(this.taxRateRepository::changeTax);
+        this.ownerRepository.replaceWith(restoredOwners);
+
+        return ownerCount;
+    }
+
+    private static void restoreChunk(InMemoryOwnerRepository owners, byte[] chunk, int ownerCount) {
+        DataInputStream input = new DataInputStream(new ByteArrayInputStream(chunk));
+        try {
+            for (int i = 0; i < ownerCount; i++) {
+                owners.restore(readOwner(input));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed reading snapshot chunk", e);
+        }
+    }
+
+    private static void writeOwner(DataOutput output, Owner owner) throws IOException {
+        output.writeInt(owner.getId());
+        writeString(output, owner.getFirstName());
+        writeString(output, owner.getLastName());
+        output.writeInt(owner.getAge());
+        writeEnum(output, owner.getFamilyStatus());
+        output.writeBoolean(owner.isHasChildren());
+        writeString(output, owner.getEmail());
+        writeString(output, owner.getPhoneNumber());
+        writeDate(output, owner.getBirthday());
+        writeDecimal(output, owner.getTaxesDebt());
+
+        List<Property> properties = Objects.isNull(owner.getProperties()) ? List.of() : owner.getProperties();
+        output.writeInt(properties.size());
+        for (Property property : properties) {
+            output.writeInt(property.getId());
+            writeEnum(output, property.getPropertyType());
+            writeString(output, property.getCity());
+            writeString(output, property.getAddress());
+            output.writeInt(property.getSquare());
+            output.writeInt(property.getNumberOfRooms());
+            writeDecimal(output, property.getCost());
+            writeDate(output, property.getDateOfBecomingOwner());
+            writeDate(output, property.getDateOfBuilding());
+            writeEnum(output, property.getPropertyCondition());
+        }
+    }
+
+    private static Owner readOwner(DataInputStream input) throws IOException {
+        Owner owner = new Owner();
+        owner.setId(input.readInt());
+        owner.setFirstName(readString(input));
+        owner.setLastName(readString(input));
+        owner.setAge(input.readInt());
+        owner.setFamilyStatus(readEnum(input, FAMILY_STATUSES));
+        owner.setHasChildren(input.readBoolean());
+        owner.setEmail(readString(input));
+        owner.setPhoneNumber(readString(input));
+        owner.setBirthday(readDate(input));
+        owner.setTaxesDebt(readDecimal(input));
+
+        int propertyCount = readLength(input, input.available());
+        List<Property> properties = new ArrayList<>(propertyCount);
+        for (int i = 0; i < propertyCount; i++) {
+            properties.add(new Property(
+                    input.readInt(),
+                    readEnum(input, PROPERTY_TYPES),
+                    readString(input),
+                    readString(input),
+                    input.readInt(),
+                    input.readInt(),
+                    readDecimal(input),
+                    readDate(input),
+                    readDate(input),
+                    readEnum(input, PROPERTY_CONDITIONS)));
+        }
+        owner.setProperties(properties);
+
+        return owner;
+    }
+
+    private static void writeString(DataOutput output, String value) throws IOException {
+        output.writeBoolean(Objects.nonNull(value));
+        if (Objects.nonNull(value)) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readString(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static void writeEnum(DataOutput output, Enum<?> value) throws IOException {
+        output.writeByte(Objects.isNull(value) ? 0 : value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E readEnum(DataInput input, E[] values) throws IOException {
+        int code = checkLength(input.readByte(), values.length);
+        return code == 0 ? null : values[code - 1];
+    }
+
+    private static void writeDate(DataOutput output, LocalDate value) throws IOException {
+        output.writeBoolean(Objects.nonNull(value));
+        if (Objects.nonNull(value)) {
+            output.writeInt((int) value.toEpochDay());
+        }
+    }
+
+    private static LocalDate readDate(DataInput input) throws IOException {
+        return input.readBoolean() ? LocalDate.ofEpochDay(input.readInt()) : null;
+    }
+
+    private static int readLength(DataInput input, int maxLength) throws IOException {
+        return checkLength(input.readInt(), maxLength);
+    }
+
+    private static int checkLength(int length, int maxLength) throws IOException {
+        if (length < 0 || length > maxLength) {
+            throw new IOException("Invalid snapshot length %s, expected at most %s".formatted(length, maxLength));
+        }
+
+        return length;
+    }
+
+    private static void writeDecimal(DataOutput output, BigDecimal value) throws IOException {
+        if (Objects.isNull(value)) {
+            output.writeInt(-1);
+            return;
+        }
+
+        byte[] unscaled = value.unscaledValue().toByteArray();
+        output.writeInt(unscaled.length);
+        output.write(unscaled);
+        output.writeInt(value.scale());
+    }
+
+    private static BigDecimal readDecimal(DataInput input) throws IOException {
+        int length = input.readInt();
+        if (length < 0) {
+            return null;
+        }
+
+        byte[] unscaled = new byte[checkLength(length, MAX_DECIMAL_BYTES)];
+        input.readFully(unscaled);
+        return new BigDecimal(new BigInteger(unscaled), input.readInt());
+    }
+}
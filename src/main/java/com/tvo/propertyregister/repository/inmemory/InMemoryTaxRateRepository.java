@@ -22,10 +22,14 @@ public class InMemoryTaxRateRepository implements TaxRateRepository {
 
     @Override
     public boolean changeTax(PropertyType propertyType, BigDecimal rate) {
-        for (TaxRate currentTaxRate : this.taxRates) {
-            if (propertyType == currentTaxRate.getPropertyType()) {
-                currentTaxRate.setTax(rate);
-                return true;
+        findByPropertyType(propertyType).setTax(rate);
+        return true;
+    }
+
+    public TaxRate findByPropertyType(PropertyType propertyType) {
+        for (TaxRate taxRate : this.taxRates) {
+            if (propertyType == taxRate.getPropertyType()) {
+                return taxRate;
             }
         }
 
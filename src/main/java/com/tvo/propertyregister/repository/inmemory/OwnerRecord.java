@@ -0,0 +1,6 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+import com.tvo.propertyregister.model.owner.Owner;
+
+record OwnerRecord(Owner owner, long version) {
+}
@@ -0,0 +1,141 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+final class PersistentIntMap<V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int LEVELS = (Integer.SIZE + BITS - 1) / BITS;
+
+    private static final PersistentIntMap<?> EMPTY = new PersistentIntMap<>(null, 0);
+
+    private final Object[] root;
+    private final int size;
+
+    private PersistentIntMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentIntMap<V> empty() {
+        return (PersistentIntMap<V>) EMPTY;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(int key) {
+        Object[] node = this.root;
+        for (int level = LEVELS - 1; level > 0 && Objects.nonNull(node); level--) {
+            node = (Object[]) node[index(key, level)];
+        }
+
+        return Objects.isNull(node) ? null : (V) node[index(key, 0)];
+    }
+
+    PersistentIntMap<V> put(int key, V value) {
+        Objects.requireNonNull(value);
+        int newSize = Objects.isNull(get(key)) ? this.size + 1 : this.size;
+
+        return new PersistentIntMap<>(put(this.root, LEVELS - 1, key, value), newSize);
+    }
+
+    PersistentIntMap<V> remove(int key) {
+        if (Objects.isNull(get(key))) {
+            return this;
+        }
+
+        return new PersistentIntMap<>(remove(this.root, LEVELS - 1, key), this.size - 1);
+    }
+
+    List<V> values() {
+        List<V> values = new ArrayList<>(this.size);
+        collect(this.root, LEVELS - 1, values);
+
+        return values;
+    }
+
+    List<V> valuesFrom(int fromKey, int limit, Predicate<V> filter) {
+        List<V> values = new ArrayList<>(Math.min(limit, this.size));
+        collectFrom(this.root, LEVELS - 1, fromKey, true, limit, filter, values);
+
+        return values;
+    }
+
+    private static Object[] put(Object[] node, int level, int key, Object value) {
+        Object[] copy = Objects.isNull(node) ? new Object[WIDTH] : node.clone();
+        int index = index(key, level);
+        copy[index] = level == 0 ? value : put((Object[]) copy[index], level - 1, key, value);
+
+        return copy;
+    }
+
+    private static Object[] remove(Object[] node, int level, int key) {
+        Object[] copy = node.clone();
+        int index = index(key, level);
+        copy[index] = level == 0 ? null : remove((Object[]) copy[index], level - 1, key);
+
+        for (Object child : copy) {
+            if (Objects.nonNull(child)) {
+                return copy;
+            }
+        }
+
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void collect(Object[] node, int level, List<V> values) {
+        if (Objects.isNull(node)) {
+            return;
+        }
+
+        for (Object child : node) {
+            if (Objects.isNull(child)) {
+                continue;
+            }
+
+            if (level == 0) {
+                values.add((V) child);
+            } else {
+                collect((Object[]) child, level - 1, values);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void collectFrom(Object[] node, int level, int fromKey, boolean bounded,
+                                        int limit, Predicate<V> filter, List<V> values) {
+        if (Objects.isNull(node)) {
+            return;
+        }
+
+        int fromIndex = bounded ? index(fromKey, level) : 0;
+        for (int index = fromIndex; index < WIDTH && values.size() < limit; index++) {
+            Object child = node[index];
+            if (Objects.isNull(child)) {
+                continue;
+            }
+
+            if (level == 0) {
+                if (filter.test((V) child)) {
+                    values.add((V) child);
+                }
+            } else {
+                collectFrom((Object[]) child, level - 1, fromKey, bounded && index == fromIndex, limit, filter, values);
+            }
+        }
+    }
+
+    private static int index(int key, int level) {
+        return (key >>> (level * BITS)) & MASK;
+    }
+}
@@ -0,0 +1,4 @@
+package com.tvo.propertyregister.repository.inmemory;
+
+record PropertySlot(int ownerId, int slot) {
+}
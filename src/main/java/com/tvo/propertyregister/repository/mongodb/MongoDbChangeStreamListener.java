@@ -0,0 +1,158 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.MongoCommandException;
+import com.mongodb.client.ChangeStreamIterable;
+import com.mongodb.client.MongoChangeStreamCursor;
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Aggregates;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.changestream.ChangeStreamDocument;
+import com.mongodb.client.model.changestream.OperationType;
+import lombok.extern.log4j.Log4j2;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.BsonValue;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+@Log4j2
+public class MongoDbChangeStreamListener {
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final String TAX_RATE_COLLECTION = "taxRates";
+    private static final String RESUME_TOKENS_COLLECTION = "changeStreamResumeTokens";
+    private static final String TOKEN_FIELD = "token";
+    private static final int CHANGE_STREAM_HISTORY_LOST = 286;
+    private static final long MAX_AWAIT_MS = 500;
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoDbDocumentCache cache;
+    private final String instanceId;
+    private final long retryDelayMs;
+    private final long tokenPersistIntervalMs;
+
+    private volatile boolean running;
+    private Thread worker;
+    private BsonDocument resumeToken;
+    private long tokenPersistedAt;
+
+    public MongoDbChangeStreamListener(MongoTemplate mongoTemplate, MongoDbDocumentCache cache, String instanceId,
+                                       long retryDelayMs, long tokenPersistIntervalMs) {
+        this.mongoTemplate = mongoTemplate;
+        this.cache = cache;
+        this.instanceId = instanceId;
+        this.retryDelayMs = retryDelayMs;
+        this.tokenPersistIntervalMs = tokenPersistIntervalMs;
+    }
+
+    public void start() {
+        BsonDocument stored = resumeTokens().find(Filters.eq("_id", instanceId)).first();
+        resumeToken = Objects.isNull(stored) ? null : stored.getDocument(TOKEN_FIELD);
+
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("mongodb-change-stream").start(this::run);
+    }
+
+    public void stop() throws InterruptedException {
+        running = false;
+        worker.interrupt();
+        worker.join(retryDelayMs + MAX_AWAIT_MS);
+        persistResumeToken();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                listen();
+            } catch (RuntimeException e) {
+                if (e instanceof MongoCommandException command && command.getErrorCode() == CHANGE_STREAM_HISTORY_LOST) {
+                    log.warn("Change stream history lost, clearing cached documents");
+                    resumeToken = null;
+                    cache.clear();
+                } else if (running) {
+                    log.warn("Change stream failed, serving reads from MongoDB until it resumes", e);
+                }
+            } finally {
+                cache.suspend();
+            }
+
+            sleep(retryDelayMs);
+        }
+    }
+
+    private void listen() {
+        ChangeStreamIterable<Document> changeStream = mongoTemplate.getDb()
+                .watch(List.of(Aggregates.match(Filters.in("ns.coll", OWNERS_COLLECTION, TAX_RATE_COLLECTION))))
+                .maxAwaitTime(MAX_AWAIT_MS, TimeUnit.MILLISECONDS);
+        if (Objects.nonNull(resumeToken)) {
+            changeStream = changeStream.resumeAfter(resumeToken);
+        }
+
+        try (MongoChangeStreamCursor<ChangeStreamDocument<Document>> cursor = changeStream.cursor()) {
+            cache.resume();
+            while (running) {
+                ChangeStreamDocument<Document> change = cursor.tryNext();
+                if (Objects.nonNull(change)) {
+                    apply(change);
+                }
+
+                BsonDocument token = cursor.getResumeToken();
+                if (Objects.nonNull(token)) {
+                    resumeToken = token;
+                }
+                if (System.currentTimeMillis() - tokenPersistedAt >= tokenPersistIntervalMs) {
+                    persistResumeToken();
+                }
+            }
+        }
+    }
+
+    void apply(ChangeStreamDocument<Document> change) {
+        OperationType operation = change.getOperationType();
+        if (operation == OperationType.INVALIDATE || operation == OperationType.DROP_DATABASE) {
+            resumeToken = null;
+            cache.clear();
+            return;
+        }
+
+        String collection = Objects.isNull(change.getNamespace()) ? null : change.getNamespace().getCollectionName();
+        if (TAX_RATE_COLLECTION.equals(collection)) {
+            cache.evictTaxRates();
+            return;
+        }
+
+        BsonValue id = Objects.isNull(change.getDocumentKey()) ? null : change.getDocumentKey().get("_id");
+        if (Objects.nonNull(id) && id.isInt32()) {
+            cache.evictOwner(id.asInt32().getValue());
+        } else {
+            cache.evictOwners();
+        }
+    }
+
+    private void persistResumeToken() {
+        tokenPersistedAt = System.currentTimeMillis();
+        if (Objects.isNull(resumeToken)) {
+            return;
+        }
+
+        BsonDocument stored = new BsonDocument("_id", new BsonString(instanceId)).append(TOKEN_FIELD, resumeToken);
+        resumeTokens().replaceOne(Filters.eq("_id", instanceId), stored, new ReplaceOptions().upsert(true));
+    }
+
+    private MongoCollection<BsonDocument> resumeTokens() {
+        return mongoTemplate.getDb().getCollection(RESUME_TOKENS_COLLECTION, BsonDocument.class);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
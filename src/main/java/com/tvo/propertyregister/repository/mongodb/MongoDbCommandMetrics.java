@@ -0,0 +1,177 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.tvo.propertyregister.model.dto.CommandStatsDto;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.RequiredArgsConstructor;
+import org.bson.BsonArray;
+import org.bson.BsonBinaryWriter;
+import org.bson.BsonDocument;
+import org.bson.BsonValue;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.bson.codecs.EncoderContext;
+import org.bson.io.BasicOutputBuffer;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@RequiredArgsConstructor
+public class MongoDbCommandMetrics implements CommandListener {
+
+    static final String COMMAND_TIMER = "mongodb.commands";
+    static final String DOCUMENTS_SUMMARY = "mongodb.commands.documents";
+    static final String BYTES_SUMMARY = "mongodb.commands.bytes";
+
+    private static final String NO_COLLECTION = "none";
+    private static final double P95 = 0.95;
+    private static final BsonDocumentCodec DOCUMENT_CODEC = new BsonDocumentCodec();
+
+    private final MeterRegistry meterRegistry;
+    private final Map<Integer, CommandMeters> inFlight = new ConcurrentHashMap<>();
+    private final Map<CommandKey, CommandMeters> meters = new ConcurrentHashMap<>();
+
+    @Override
+    public void commandStarted(CommandStartedEvent event) {
+        CommandKey key = new CommandKey(collectionOf(event.getCommandName(), event.getCommand()), event.getCommandName());
+        this.inFlight.put(event.getRequestId(), this.meters.computeIfAbsent(key, this::register));
+    }
+
+    @Override
+    public void commandSucceeded(CommandSucceededEvent event) {
+        CommandMeters commandMeters = this.inFlight.remove(event.getRequestId());
+        if (Objects.isNull(commandMeters)) {
+            return;
+        }
+
+        commandMeters.succeeded().record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+
+        BsonDocument response = event.getResponse();
+        int documents = documentsReturned(response);
+        if (documents >= 0) {
+            commandMeters.documents().record(documents);
+        }
+        commandMeters.bytes().record(sizeOf(response));
+    }
+
+    @Override
+    public void commandFailed(CommandFailedEvent event) {
+        CommandMeters commandMeters = this.inFlight.remove(event.getRequestId());
+        if (Objects.nonNull(commandMeters)) {
+            commandMeters.failed().record(event.getElapsedTime(TimeUnit.NANOSECONDS), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public List<CommandStatsDto> stats() {
+        return this.meters.entrySet().stream()
+                .map(entry -> stats(entry.getKey(), entry.getValue()))
+                .sorted(Comparator.comparingDouble(CommandStatsDto::totalTimeMs).reversed())
+                .toList();
+    }
+
+    static String collectionOf(String commandName, BsonDocument command) {
+        BsonValue target = "getMore".equals(commandName) ? command.get("collection") : command.get(commandName);
+
+        return Objects.nonNull(target) && target.isString() ? target.asString().getValue() : NO_COLLECTION;
+    }
+
+    static int documentsReturned(BsonDocument response) {
+        BsonValue cursor = response.get("cursor");
+        if (Objects.nonNull(cursor) && cursor.isDocument()) {
+            BsonValue batch = cursor.asDocument().containsKey("firstBatch")
+                    ? cursor.asDocument().get("firstBatch")
+                    : cursor.asDocument().get("nextBatch");
+            return Objects.nonNull(batch) && batch.isArray() ? ((BsonArray) batch).size() : 0;
+        }
+
+        BsonValue value = response.get("value");
+        if (Objects.nonNull(value)) {
+            return value.isDocument() ? 1 : 0;
+        }
+
+        return -1;
+    }
+
+    static int sizeOf(BsonDocument response) {
+        if (response instanceof RawBsonDocument raw) {
+            return raw.getByteBuffer().remaining();
+        }
+
+        try (BasicOutputBuffer buffer = new BasicOutputBuffer()) {
+            DOCUMENT_CODEC.encode(new BsonBinaryWriter(buffer), response, EncoderContext.builder().build());
+            return buffer.getPosition();
+        }
+    }
+
+    private CommandMeters register(CommandKey key) {
+        return new CommandMeters(
+                timer(key, "success"),
+                timer(key, "failure"),
+                DistributionSummary.builder(DOCUMENTS_SUMMARY)
+                        .tag("collection", key.collection())
+                        .tag("command", key.command())
+                        .publishPercentileHistogram()
+                        .register(this.meterRegistry),
+                DistributionSummary.builder(BYTES_SUMMARY)
+                        .baseUnit("bytes")
+                        .tag("collection", key.collection())
+                        .tag("command", key.command())
+                        .publishPercentileHistogram()
+                        .register(this.meterRegistry));
+    }
+
+    private Timer timer(CommandKey key, String status) {
+        return Timer.builder(COMMAND_TIMER)
+                .tag("collection", key.collection())
+                .tag("command", key.command())
+                .tag("status", status)
+                .publishPercentiles(P95)
+                .publishPercentileHistogram()
+                .register(this.meterRegistry);
+    }
+
+    private static CommandStatsDto stats(CommandKey key, CommandMeters commandMeters) {
+        Timer succeeded = commandMeters.succeeded();
+        Timer failed = commandMeters.failed();
+        long count = succeeded.count() + failed.count();
+        double totalTimeMs = succeeded.totalTime(TimeUnit.MILLISECONDS) + failed.totalTime(TimeUnit.MILLISECONDS);
+
+        return new CommandStatsDto(
+                key.collection(),
+                key.command(),
+                count,
+                failed.count(),
+                totalTimeMs,
+                count == 0 ? 0 : totalTimeMs / count,
+                Math.max(succeeded.max(TimeUnit.MILLISECONDS), failed.max(TimeUnit.MILLISECONDS)),
+                p95(succeeded),
+                commandMeters.documents().totalAmount(),
+                commandMeters.bytes().totalAmount());
+    }
+
+    private static double p95(Timer timer) {
+        for (ValueAtPercentile percentile : timer.takeSnapshot().percentileValues()) {
+            if (percentile.percentile() == P95) {
+                return percentile.value(TimeUnit.MILLISECONDS);
+            }
+        }
+
+        return 0;
+    }
+
+    private record CommandKey(String collection, String command) {
+    }
+
+    private record CommandMeters(Timer succeeded, Timer failed, DistributionSummary documents, DistributionSummary bytes) {
+    }
+}
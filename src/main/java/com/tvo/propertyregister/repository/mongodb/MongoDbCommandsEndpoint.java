@@ -0,0 +1,20 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.tvo.propertyregister.model.dto.CommandStatsDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.List;
+
+@Endpoint(id = "mongocommands")
+@RequiredArgsConstructor
+public class MongoDbCommandsEndpoint {
+
+    private final MongoDbCommandMetrics mongoDbCommandMetrics;
+
+    @ReadOperation
+    public List<CommandStatsDto> commands() {
+        return this.mongoDbCommandMetrics.stats();
+    }
+}
@@ -0,0 +1,96 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Log4j2
+@RequiredArgsConstructor
+public class MongoDbDecimalMigration {
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final String PROPERTIES_COLLECTION = "properties";
+    private static final String TAX_RATE_COLLECTION = "taxRates";
+    private static final String STRING_TYPE = "string";
+
+    private static final Bson OWNERS_TO_MIGRATE = Filters.or(
+            Filters.type("taxesDebt", STRING_TYPE),
+            Filters.type("properties.cost", STRING_TYPE));
+    private static final List<Bson> OWNERS_MIGRATION = List.of(new Document("$set", new Document()
+            .append("taxesDebt", toDecimal("$taxesDebt"))
+            .append("properties", new Document("$cond", List.of(
+                    new Document("$isArray", "$properties"),
+                    new Document("$map", new Document()
+                            .append("input", "$properties")
+                            .append("in", new Document("$mergeObjects", List.of(
+                                    "$$this",
+                                    new Document("cost", toDecimal("$$this.cost")))))),
+                    "$properties")))));
+
+    private static final Bson PROPERTIES_TO_MIGRATE = Filters.type("cost", STRING_TYPE);
+    private static final List<Bson> PROPERTIES_MIGRATION = List.of(new Document("$set", new Document("cost", toDecimal("$cost"))));
+
+    private static final Bson TAX_RATES_TO_MIGRATE = Filters.type("tax", STRING_TYPE);
+    private static final List<Bson> TAX_RATES_MIGRATION = List.of(new Document("$set", new Document("tax", toDecimal("$tax"))));
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    private volatile boolean completed;
+
+    @Scheduled(fixedDelayString = "${property-register.mongodb.migration-delay-ms:1000}")
+    public void migrate() {
+        if (completed) {
+            return;
+        }
+
+        int migrated = migrateBatch();
+        if (migrated == 0) {
+            completed = true;
+            log.info("Monetary fields are stored as Decimal128");
+        } else {
+            log.info("Migrated {} documents to Decimal128", migrated);
+        }
+    }
+
+    public int migrateBatch() {
+        return migrateBatch(TAX_RATE_COLLECTION, TAX_RATES_TO_MIGRATE, TAX_RATES_MIGRATION)
+                + migrateBatch(OWNERS_COLLECTION, OWNERS_TO_MIGRATE, OWNERS_MIGRATION)
+                + migrateBatch(PROPERTIES_COLLECTION, PROPERTIES_TO_MIGRATE, PROPERTIES_MIGRATION);
+    }
+
+    public boolean isCompleted() {
+        return completed;
+    }
+
+    private int migrateBatch(String collectionName, Bson filter, List<Bson> migration) {
+        MongoCollection<Document> collection = mongoTemplate.getCollection(collectionName);
+
+        List<Object> ids = collection.find(filter)
+                .projection(Projections.include("_id"))
+                .limit(batchSize)
+                .map(document -> document.get("_id"))
+                .into(new ArrayList<>());
+        if (ids.isEmpty()) {
+            return 0;
+        }
+
+        return (int) collection.updateMany(Filters.and(Filters.in("_id", ids), filter), migration).getModifiedCount();
+    }
+
+    private static Document toDecimal(String field) {
+        return new Document("$cond", List.of(
+                new Document("$eq", List.of(new Document("$type", field), STRING_TYPE)),
+                new Document("$toDecimal", field),
+                field));
+    }
+}
@@ -0,0 +1,116 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import org.bson.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+public class MongoDbDocumentCache {
+
+    private final boolean enabled;
+    private final int maxOwners;
+
+    private final Map<Integer, Document> owners = new ConcurrentHashMap<>();
+    private final AtomicReference<List<Document>> taxRates = new AtomicReference<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final List<Runnable> taxRateListeners = new CopyOnWriteArrayList<>();
+
+    private volatile boolean live;
+
+    public MongoDbDocumentCache(int maxOwners) {
+        this(true, maxOwners);
+    }
+
+    private MongoDbDocumentCache(boolean enabled, int maxOwners) {
+        this.enabled = enabled;
+        this.maxOwners = maxOwners;
+    }
+
+    public static MongoDbDocumentCache disabled() {
+        return new MongoDbDocumentCache(false, 0);
+    }
+
+    public boolean isLive() {
+        return live;
+    }
+
+    public Document owner(int id, Supplier<Document> loader) {
+        if (!live) {
+            return loader.get();
+        }
+
+        Document cached = owners.get(id);
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        long seen = generation.get();
+        Document loaded = loader.get();
+        if (Objects.nonNull(loaded) && owners.size() < maxOwners && generation.get() == seen) {
+            owners.put(id, loaded);
+            if (generation.get() != seen) {
+                owners.remove(id, loaded);
+            }
+        }
+
+        return loaded;
+    }
+
+    public List<Document> taxRates(Supplier<List<Document>> loader) {
+        if (!live) {
+            return loader.get();
+        }
+
+        List<Document> cached = taxRates.get();
+        if (Objects.nonNull(cached)) {
+            return cached;
+        }
+
+        long seen = generation.get();
+        List<Document> loaded = List.copyOf(loader.get());
+        if (generation.get() == seen && taxRates.compareAndSet(null, loaded) && generation.get() != seen) {
+            taxRates.compareAndSet(loaded, null);
+        }
+
+        return loaded;
+    }
+
+    public void evictOwner(int id) {
+        generation.incrementAndGet();
+        owners.remove(id);
+    }
+
+    public void evictOwners() {
+        generation.incrementAndGet();
+        owners.clear();
+    }
+
+    public void evictTaxRates() {
+        generation.incrementAndGet();
+        taxRates.set(null);
+        taxRateListeners.forEach(Runnable::run);
+    }
+
+    public void onTaxRatesEvicted(Runnable listener) {
+        taxRateListeners.add(listener);
+    }
+
+    public void resume() {
+        live = enabled;
+    }
+
+    public void suspend() {
+        live = false;
+    }
+
+    void clear() {
+        evictOwners();
+        evictTaxRates();
+    }
+}
@@ -0,0 +1,73 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static java.util.Objects.requireNonNull;
+
+public class MongoDbIdAllocator {
+
+    private static final String COUNTERS_COLLECTION = "counters";
+    private static final String SEQUENCE_FIELD = "sequence_value";
+
+    private final MongoTemplate mongoTemplate;
+    private final String counter;
+    private final int blockSize;
+
+    private volatile Block block = new Block(1, 0);
+
+    public MongoDbIdAllocator(MongoTemplate mongoTemplate, String counter, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be positive: " + blockSize);
+        }
+
+        this.mongoTemplate = mongoTemplate;
+        this.counter = counter;
+        this.blockSize = blockSize;
+    }
+
+    public int nextId() {
+        while (true) {
+            Block current = this.block;
+            int id = current.next.getAndIncrement();
+            if (id <= current.last) {
+                return id;
+            }
+
+            synchronized (this) {
+                if (this.block == current) {
+                    this.block = reserve();
+                }
+            }
+        }
+    }
+
+    private Block reserve() {
+        Query query = new Query(Criteria.where("_id").is(counter));
+        Update update = new Update().inc(SEQUENCE_FIELD, blockSize);
+
+        FindAndModifyOptions options = new FindAndModifyOptions();
+        options.returnNew(true).upsert(true);
+
+        Document sequence = mongoTemplate.findAndModify(query, update, options, Document.class, COUNTERS_COLLECTION);
+        int last = requireNonNull(sequence).getInteger(SEQUENCE_FIELD);
+
+        return new Block(last - blockSize + 1, last);
+    }
+
+    private static final class Block {
+        private final AtomicInteger next;
+        private final int last;
+
+        private Block(int first, int last) {
+            this.next = new AtomicInteger(first);
+            this.last = last;
+        }
+    }
+}
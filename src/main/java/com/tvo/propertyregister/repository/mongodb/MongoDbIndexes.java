@@ -0,0 +1,33 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+
+@RequiredArgsConstructor
+public class MongoDbIndexes {
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final String TAX_RATE_COLLECTION = "taxRates";
+
+    private final MongoTemplate mongoTemplate;
+
+    public void ensureIndexes() {
+        IndexOperations owners = mongoTemplate.indexOps(OWNERS_COLLECTION);
+        owners.ensureIndex(new Index().on("taxesDebt", Sort.Direction.ASC).named("owners_taxesDebt"));
+        owners.ensureIndex(new Index().on("email", Sort.Direction.ASC).named("owners_email"));
+        owners.ensureIndex(new Index().on("properties._id", Sort.Direction.ASC).named("owners_properties_id"));
+        owners.ensureIndex(new Index().on("properties.city", Sort.Direction.ASC).named("owners_properties_city"));
+        owners.ensureIndex(new Index().on("properties.propertyType", Sort.Direction.ASC).named("owners_properties_propertyType"));
+
+        IndexOperations properties = mongoTemplate.indexOps(MongoDbReferencedPropertyRepository.PROPERTIES_COLLECTION);
+        properties.ensureIndex(new Index().on("ownerId", Sort.Direction.ASC).on("_id", Sort.Direction.ASC).named("properties_ownerId"));
+        properties.ensureIndex(new Index().on("city", Sort.Direction.ASC).named("properties_city"));
+        properties.ensureIndex(new Index().on("propertyType", Sort.Direction.ASC).named("properties_propertyType"));
+
+        IndexOperations taxRates = mongoTemplate.indexOps(TAX_RATE_COLLECTION);
+        taxRates.ensureIndex(new Index().on("propertyType", Sort.Direction.ASC).named("taxRates_propertyType"));
+    }
+}
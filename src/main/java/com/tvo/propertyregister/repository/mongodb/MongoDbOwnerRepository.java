@@ -1,67 +1,168 @@
 package com.tvo.propertyregister.repository.mongodb;
 
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.Filters;
 import com.mongodb.client.result.DeleteResult;
 import com.mongodb.client.result.UpdateResult;
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
 import com.tvo.propertyregister.repository.OwnerRepository;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
-import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.bson.types.Decimal128;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @RequiredArgsConstructor
 public class MongoDbOwnerRepository implements OwnerRepository {
 
     private static final String OWNERS_COLLECTION = "owners";
+    static final String VERSION = "version";
+    private static final int STREAM_BATCH_SIZE = 256;
+    private static final Decimal128 NO_DEBT = new Decimal128(BigDecimal.ZERO);
 
     private final MongoTemplate mongoTemplate;
+    private final MongoDbIdAllocator ownerIds;
+    private final MongoDbIdAllocator propertyIds;
+    private final MongoDbDocumentCache cache;
 
     @Override
     public List<Owner> findAll() {
-        Query criteria = new Query();
+        return mongoTemplate.find(allOwners(), Owner.class, OWNERS_COLLECTION);
+    }
 
-        return mongoTemplate.find(criteria, Owner.class, OWNERS_COLLECTION);
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        return mongoTemplate.stream(ownersAfter(afterId, limit), Owner.class, OWNERS_COLLECTION);
     }
 
     @Override
     public Owner findById(int id) {
-        Query criteria = new Query(Criteria.where("id").is(id));
+        Document owner = cache.owner(id, () -> mongoTemplate.getCollection(OWNERS_COLLECTION).find(Filters.eq("_id", id)).first());
+
+        return Objects.isNull(owner) ? null : mongoTemplate.getConverter().read(Owner.class, owner);
+    }
 
-        return mongoTemplate.findOne(criteria, Owner.class, OWNERS_COLLECTION);
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        return mongoTemplate.find(byIds(ids), Owner.class, OWNERS_COLLECTION);
     }
 
     @Override
     public List<Owner> findDebtors() {
-        Aggregation aggregation = Aggregation.newAggregation(
-                Aggregation.match(Criteria.where("taxesDebt").gt("0")),
-                Aggregation.project("id", "firstName", "lastName", "age", "familyStatus", "hasChildren", "email", "phoneNumber", "birthday", "properties")
-                        .andExpression("toDouble(taxesDebt)").as("taxesDebt")
-        );
+        return mongoTemplate.find(debtors(), Owner.class, OWNERS_COLLECTION);
+    }
 
-        AggregationResults<Owner> results = mongoTemplate.aggregate(aggregation, OWNERS_COLLECTION, Owner.class);
-        return results.getMappedResults();
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        return mongoTemplate.stream(debtorsAfter(afterId, limit), Owner.class, OWNERS_COLLECTION);
     }
 
+    @Override
+    public List<DebtorContact> findDebtorContacts() {
+        return mongoTemplate.find(debtorContacts(), DebtorContact.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        return mongoTemplate.find(debtorsBetween(from, to), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        return mongoTemplate.find(topDebtors(limit), Owner.class, OWNERS_COLLECTION);
+    }
 
     @Override
     public boolean save(Owner owner) {
-        owner.setId(getNextOwnerId());
+        owner.setId(ownerIds.nextId());
         mongoTemplate.save(owner, OWNERS_COLLECTION);
         return true;
     }
 
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        for (Owner owner : owners) {
+            owner.setId(ownerIds.nextId());
+            if (Objects.isNull(owner.getProperties())) {
+                owner.setProperties(new ArrayList<>());
+            }
+            for (Property property : owner.getProperties()) {
+                property.setId(propertyIds.nextId());
+            }
+        }
+
+        try {
+            mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Owner.class, OWNERS_COLLECTION)
+                    .insert(owners)
+                    .execute();
+            return Map.of();
+        } catch (BulkOperationException e) {
+            if (e.getErrors().isEmpty()) {
+                throw e;
+            }
+            return e.getErrors().stream().collect(Collectors.toMap(BulkWriteError::getIndex, BulkWriteError::getMessage));
+        }
+    }
+
     @Override
     public boolean update(int id, Owner owner) {
-        Query criteria = new Query(Criteria.where("id").is(id));
-        Update update = new Update()
+        Query criteria = byId(id);
+        UpdateResult result = mongoTemplate.updateFirst(criteria, ownerUpdate(owner), Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(id);
+
+        return result.getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean update(int id, Owner owner, long expectedVersion) {
+        UpdateResult result = mongoTemplate.updateFirst(byVersion(id, expectedVersion), ownerUpdate(owner), Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(id);
+
+        return result.getModifiedCount() > 0;
+    }
+
+    @Override
+    public boolean remove(int id) {
+        Query criteria = byId(id);
+        DeleteResult result = mongoTemplate.remove(criteria, Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(id);
+
+        return result.getDeletedCount() > 0;
+    }
+
+    @Override
+    public int recountDebts(BigDecimal factor, int scale) {
+        Document recountedDebt = new Document("$trunc", List.of(
+                new Document("$add", List.of(
+                        new Document("$multiply", List.of("$taxesDebt", new Decimal128(factor))),
+                        new Decimal128(BigDecimal.ONE.movePointLeft(scale).divide(BigDecimal.TWO)))),
+                scale));
+        UpdateResult result = mongoTemplate.getCollection(OWNERS_COLLECTION).updateMany(
+                Filters.gt("taxesDebt", NO_DEBT),
+                List.of(new Document("$set", new Document("taxesDebt", recountedDebt).append(VERSION, nextVersion()))));
+        cache.evictOwners();
+
+        return (int) result.getModifiedCount();
+    }
+
+    static Update ownerUpdate(Owner owner) {
+        return new Update()
                 .set("firstName", owner.getFirstName())
                 .set("lastName", owner.getLastName())
                 .set("age", owner.getAge())
@@ -70,30 +171,66 @@ public class MongoDbOwnerRepository implements OwnerRepository {
                 .set("email", owner.getEmail())
                 .set("phoneNumber", owner.getPhoneNumber())
                 .set("birthday", owner.getBirthday())
-                .set("taxesDebt", owner.getTaxesDebt());
-        UpdateResult result = mongoTemplate.updateFirst(criteria, update, Owner.class, OWNERS_COLLECTION);
+                .set("taxesDebt", owner.getTaxesDebt())
+                .inc(VERSION, 1);
+    }
 
-        return result.getModifiedCount() > 0;
+    static Document nextVersion() {
+        return new Document("$add", List.of(new Document("$ifNull", List.of("$" + VERSION, 0L)), 1L));
     }
 
-    @Override
-    public boolean remove(int id) {
-        Query criteria = new Query(Criteria.where("id").is(id));
-        DeleteResult result = mongoTemplate.remove(criteria, Owner.class, OWNERS_COLLECTION);
+    static Query allOwners() {
+        return new Query().with(Sort.by("id"));
+    }
 
-        return result.getDeletedCount() > 0;
+    static Query byId(int id) {
+        return new Query(Criteria.where("id").is(id));
+    }
+
+    static Query byIds(Collection<Integer> ids) {
+        return new Query(Criteria.where("id").in(ids)).with(Sort.by("id"));
+    }
+
+    static Query byVersion(int id, long expectedVersion) {
+        Criteria criteria = Criteria.where("id").is(id);
+
+        return new Query(expectedVersion == 0 ? criteria.and(VERSION).in(0L, null) : criteria.and(VERSION).is(expectedVersion));
+    }
+
+    static Query ownersAfter(int afterId, int limit) {
+        return new Query(Criteria.where("id").gt(afterId))
+                .with(Sort.by("id"))
+                .limit(limit)
+                .cursorBatchSize(Math.min(limit, STREAM_BATCH_SIZE));
+    }
+
+    static Query debtorsAfter(int afterId, int limit) {
+        return new Query(Criteria.where("id").gt(afterId).and("taxesDebt").gt(NO_DEBT))
+                .with(Sort.by("id"))
+                .limit(limit)
+                .cursorBatchSize(Math.min(limit, STREAM_BATCH_SIZE));
     }
 
-    private int getNextOwnerId() {
-        Query query = new Query(Criteria.where("_id").is("ownerId"));
-        Update update = new Update().inc("sequence_value", 1);
+    static Query debtors() {
+        return new Query(Criteria.where("taxesDebt").gt(NO_DEBT));
+    }
 
-        FindAndModifyOptions options = new FindAndModifyOptions();
-        options.returnNew(true).upsert(true);
+    static Query debtorContacts() {
+        Query query = debtors();
+        query.fields().include("id", "email", "firstName", "lastName", "taxesDebt");
 
-        Document counter = mongoTemplate.findAndModify(query, update, options, Document.class, "counters");
+        return query;
+    }
+
+    static Query debtorsBetween(BigDecimal from, BigDecimal to) {
+        return new Query(Criteria.where("taxesDebt").gte(new Decimal128(from)).lte(new Decimal128(to)))
+                .with(Sort.by("taxesDebt", "id"));
+    }
 
-        return Objects.requireNonNull(counter).getInteger("sequence_value");
+    static Query topDebtors(int limit) {
+        return new Query(Criteria.where("taxesDebt").gt(NO_DEBT))
+                .with(Sort.by(Sort.Direction.DESC, "taxesDebt", "id"))
+                .limit(limit);
     }
 
 }
@@ -0,0 +1,73 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.client.MongoCollection;
+import com.mongodb.client.model.BulkWriteOptions;
+import com.mongodb.client.model.Filters;
+import com.mongodb.client.model.Projections;
+import com.mongodb.client.model.ReplaceOneModel;
+import com.mongodb.client.model.ReplaceOptions;
+import com.mongodb.client.model.UpdateOneModel;
+import com.mongodb.client.model.Updates;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.tvo.propertyregister.repository.mongodb.MongoDbReferencedPropertyRepository.OWNER_ID;
+import static com.tvo.propertyregister.repository.mongodb.MongoDbReferencedPropertyRepository.PROPERTIES_COLLECTION;
+
+@Log4j2
+@RequiredArgsConstructor
+public class MongoDbPropertyLayoutMigration {
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final Bson OWNERS_WITH_EMBEDDED_PROPERTIES = Filters.exists("properties.0");
+
+    private final MongoTemplate mongoTemplate;
+    private final int batchSize;
+
+    public void migrate() {
+        int migrated = 0;
+        for (int batch = migrateBatch(); batch > 0; batch = migrateBatch()) {
+            migrated += batch;
+        }
+
+        log.info("Moved embedded properties of {} owners to the {} collection", migrated, PROPERTIES_COLLECTION);
+    }
+
+    public int migrateBatch() {
+        MongoCollection<Document> owners = mongoTemplate.getCollection(OWNERS_COLLECTION);
+        MongoCollection<Document> properties = mongoTemplate.getCollection(PROPERTIES_COLLECTION);
+
+        List<Document> batch = owners.find(OWNERS_WITH_EMBEDDED_PROPERTIES)
+                .projection(Projections.include("properties"))
+                .limit(batchSize)
+                .into(new ArrayList<>());
+        if (batch.isEmpty()) {
+            return 0;
+        }
+
+        List<ReplaceOneModel<Document>> writes = new ArrayList<>();
+        List<UpdateOneModel<Document>> resets = new ArrayList<>();
+        for (Document owner : batch) {
+            List<Document> ownerProperties = owner.getList("properties", Document.class);
+            for (Document property : ownerProperties) {
+                Document referencedProperty = new Document(property).append(OWNER_ID, owner.get("_id"));
+                writes.add(new ReplaceOneModel<>(Filters.eq("_id", property.get("_id")), referencedProperty, new ReplaceOptions().upsert(true)));
+            }
+            resets.add(new UpdateOneModel<>(Filters.eq("_id", owner.get("_id")),
+                    Updates.pullByFilter(new Document("properties", new Document("$in", ownerProperties)))));
+        }
+        if (!writes.isEmpty()) {
+            properties.bulkWrite(writes, new BulkWriteOptions().ordered(false));
+        }
+
+        owners.bulkWrite(resets, new BulkWriteOptions().ordered(false));
+
+        return batch.size();
+    }
+}
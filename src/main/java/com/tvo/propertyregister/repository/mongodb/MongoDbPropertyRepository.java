@@ -1,22 +1,21 @@
 package com.tvo.propertyregister.repository.mongodb;
 
 import com.mongodb.client.result.UpdateResult;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.PropertyRepository;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
-import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
-import java.util.ArrayList;
 import java.util.List;
-import java.util.Objects;
-
-import static java.util.Objects.requireNonNull;
 
 @RequiredArgsConstructor
 public class MongoDbPropertyRepository implements PropertyRepository {
@@ -24,48 +23,130 @@ public class MongoDbPropertyRepository implements PropertyRepository {
     private static final String OWNERS_COLLECTION = "owners";
 
     private final MongoTemplate mongoTemplate;
+    private final MongoDbIdAllocator propertyIds;
+    private final MongoDbDocumentCache cache;
 
     @Override
     public List<Property> findAll(int ownerId) {
-        Query criteria = new Query(Criteria.where("id").is(ownerId));
+        Query criteria = MongoDbOwnerRepository.byId(ownerId);
         List<Owner> owners = mongoTemplate.find(criteria, Owner.class, OWNERS_COLLECTION);
 
         return owners.get(0).getProperties();
     }
 
-    public boolean save(Owner owner, Property property) {
-        Query criteria = new Query(Criteria.where("id").is(owner.getId()));
-        property.setId(getNextPropertyId());
+    @Override
+    public List<Property> findByCity(String city) {
+        return findPropertiesMatching(byCity(city));
+    }
+
+    @Override
+    public List<Property> findByPropertyType(PropertyType propertyType) {
+        return findPropertiesMatching(byPropertyType(propertyType));
+    }
+
+    @Override
+    public List<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return findPropertiesMatching(byCityAndPropertyType(city, propertyType));
+    }
 
-        List<Property> allProperties = owner.getProperties();
-        allProperties.add(property);
+    public boolean save(int ownerId, Property property) {
+        Query criteria = MongoDbOwnerRepository.byId(ownerId);
+        property.setId(propertyIds.nextId());
 
-        Update update = new Update().set("properties", allProperties);
+        Update update = new Update().push("properties", property).inc(MongoDbOwnerRepository.VERSION, 1);
         UpdateResult result = mongoTemplate.updateFirst(criteria, update, Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(ownerId);
 
-        return result.getModifiedCount() > 0;
+        return requireOwner(ownerId, result);
     }
 
     @Override
     public boolean update(int ownerId, List<Property> properties) {
-        Query criteria = new Query(Criteria.where("id").is(ownerId));
+        Query criteria = MongoDbOwnerRepository.byId(ownerId);
 
-        Update update = new Update().set("properties", properties);
+        Update update = new Update().set("properties", properties).inc(MongoDbOwnerRepository.VERSION, 1);
         UpdateResult result = mongoTemplate.updateFirst(criteria, update, Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(ownerId);
 
         return result.getModifiedCount() > 0;
     }
 
-    private int getNextPropertyId() {
-        Query query = new Query(Criteria.where("_id").is("propertyId"));
-        Update update = new Update().inc("sequence_value", 1);
+    @Override
+    public boolean update(int ownerId, int propertyId, Property property) {
+        UpdateResult result = mongoTemplate.updateFirst(byProperty(ownerId, propertyId), propertyUpdate(propertyId, property), Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(ownerId);
+
+        return requireProperty(ownerId, propertyId, result);
+    }
+
+    @Override
+    public boolean remove(int ownerId, int propertyId) {
+        UpdateResult result = mongoTemplate.updateFirst(byProperty(ownerId, propertyId), propertyRemoval(propertyId), Owner.class, OWNERS_COLLECTION);
+        cache.evictOwner(ownerId);
+
+        return requireProperty(ownerId, propertyId, result);
+    }
+
+    static Update propertyUpdate(int propertyId, Property property) {
+        return new Update()
+                .set("properties.$[property].city", property.getCity())
+                .set("properties.$[property].address", property.getAddress())
+                .set("properties.$[property].numberOfRooms", property.getNumberOfRooms())
+                .set("properties.$[property].propertyCondition", property.getPropertyCondition())
+                .inc(MongoDbOwnerRepository.VERSION, 1)
+                .filterArray(Criteria.where("property._id").is(propertyId));
+    }
+
+    static Update propertyRemoval(int propertyId) {
+        return new Update().pull("properties", new Document("_id", propertyId)).inc(MongoDbOwnerRepository.VERSION, 1);
+    }
+
+    static Criteria byCity(String city) {
+        return Criteria.where("properties.city").is(city);
+    }
+
+    static Criteria byPropertyType(PropertyType propertyType) {
+        return Criteria.where("properties.propertyType").is(propertyType.name());
+    }
+
+    static Criteria byCityAndPropertyType(String city, PropertyType propertyType) {
+        return Criteria.where("properties.city").is(city).and("properties.propertyType").is(propertyType.name());
+    }
 
-        FindAndModifyOptions options = new FindAndModifyOptions();
-        options.returnNew(true).upsert(true);
+    static Query byProperty(int ownerId, int propertyId) {
+        return new Query(Criteria.where("id").is(ownerId).and("properties.id").is(propertyId));
+    }
+
+    static Aggregation propertiesMatching(Criteria criteria) {
+        return Aggregation.newAggregation(
+                Aggregation.match(criteria),
+                Aggregation.unwind("properties"),
+                Aggregation.match(criteria),
+                Aggregation.replaceRoot("properties")
+        );
+    }
+
+    private List<Property> findPropertiesMatching(Criteria criteria) {
+        return mongoTemplate.aggregate(propertiesMatching(criteria), OWNERS_COLLECTION, Property.class).getMappedResults();
+    }
+
+    private static boolean requireOwner(int ownerId, UpdateResult result) {
+        if (result.getMatchedCount() == 0) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        return result.getModifiedCount() > 0;
+    }
 
-        Document counter = mongoTemplate.findAndModify(query, update, options, Document.class, "counters");
+    private boolean requireProperty(int ownerId, int propertyId, UpdateResult result) {
+        if (result.getMatchedCount() > 0) {
+            return true;
+        }
+        if (!mongoTemplate.exists(MongoDbOwnerRepository.byId(ownerId), Owner.class, OWNERS_COLLECTION)) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
 
-        return requireNonNull(counter).getInteger("sequence_value");
+        throw new PropertyNotFoundException("Property with id " + propertyId + " not found");
     }
 
 
@@ -0,0 +1,109 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.ExplainVerbosity;
+import com.tvo.propertyregister.exception.CollectionScanException;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+@RequiredArgsConstructor
+public class MongoDbQueryPlanVerifier {
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final String PROPERTIES_COLLECTION = "properties";
+    private static final String TAX_RATE_COLLECTION = "taxRates";
+    private static final String COLLECTION_SCAN = "COLLSCAN";
+    private static final String REJECTED_PLANS = "rejectedPlans";
+
+    private final MongoTemplate mongoTemplate;
+
+    public void verify() {
+        Map<String, Supplier<Document>> plans = new LinkedHashMap<>();
+        plans.put("owners.findAll", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.allOwners()));
+        plans.put("owners.streamAll", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.ownersAfter(0, 100)));
+        plans.put("owners.streamDebtors", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.debtorsAfter(0, 100)));
+        plans.put("owners.findById", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.byId(1)));
+        plans.put("owners.findDebtors", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.debtors()));
+        plans.put("owners.findDebtorContacts", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.debtorContacts()));
+        plans.put("owners.findByTaxesDebtBetween", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.debtorsBetween(BigDecimal.ZERO, BigDecimal.TEN)));
+        plans.put("owners.findTopDebtors", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbOwnerRepository.topDebtors(10)));
+        plans.put("properties.updateById", () -> explain(Owner.class, OWNERS_COLLECTION, MongoDbPropertyRepository.byProperty(1, 1)));
+        plans.put("properties.findByCity", () -> explain(Owner.class, OWNERS_COLLECTION,
+                MongoDbPropertyRepository.propertiesMatching(MongoDbPropertyRepository.byCity("Prague"))));
+        plans.put("properties.findByPropertyType", () -> explain(Owner.class, OWNERS_COLLECTION,
+                MongoDbPropertyRepository.propertiesMatching(MongoDbPropertyRepository.byPropertyType(PropertyType.HOUSE))));
+        plans.put("properties.findByCityAndPropertyType", () -> explain(Owner.class, OWNERS_COLLECTION,
+                MongoDbPropertyRepository.propertiesMatching(MongoDbPropertyRepository.byCityAndPropertyType("Prague", PropertyType.HOUSE))));
+        plans.put("referencedProperties.findAll", () -> explain(Property.class, PROPERTIES_COLLECTION, MongoDbReferencedPropertyRepository.byOwner(1)));
+        plans.put("referencedProperties.findAllByOwners", () -> explain(Property.class, PROPERTIES_COLLECTION, MongoDbReferencedPropertyRepository.byOwners(List.of(1, 2))));
+        plans.put("referencedProperties.updateById", () -> explain(Property.class, PROPERTIES_COLLECTION, MongoDbReferencedPropertyRepository.byProperty(1, 1)));
+        plans.put("referencedProperties.findByCity", () -> explain(Property.class, PROPERTIES_COLLECTION,
+                new Query(MongoDbReferencedPropertyRepository.byCity("Prague"))));
+        plans.put("referencedProperties.findByPropertyType", () -> explain(Property.class, PROPERTIES_COLLECTION,
+                new Query(MongoDbReferencedPropertyRepository.byPropertyType(PropertyType.HOUSE))));
+        plans.put("referencedProperties.findByCityAndPropertyType", () -> explain(Property.class, PROPERTIES_COLLECTION,
+                new Query(MongoDbReferencedPropertyRepository.byCityAndPropertyType("Prague", PropertyType.HOUSE))));
+        plans.put("taxRates.findAll", () -> explain(TaxRate.class, TAX_RATE_COLLECTION, MongoDbTaxRateRepository.allRates()));
+        plans.put("taxRates.changeTax", () -> explain(TaxRate.class, TAX_RATE_COLLECTION, MongoDbTaxRateRepository.byPropertyType(PropertyType.HOUSE)));
+
+        List<String> collectionScans = plans.entrySet().stream()
+                .filter(plan -> containsCollectionScan(plan.getValue().get()))
+                .map(Map.Entry::getKey)
+                .toList();
+
+        if (!collectionScans.isEmpty()) {
+            throw new CollectionScanException("Queries fall back to a collection scan: " + String.join(", ", collectionScans));
+        }
+    }
+
+    private Document explain(Class<?> entityType, String collection, Query query) {
+        MongoPersistentEntity<?> entity = mongoTemplate.getConverter().getMappingContext().getRequiredPersistentEntity(entityType);
+        QueryMapper queryMapper = new QueryMapper(mongoTemplate.getConverter());
+
+        return mongoTemplate.getCollection(collection)
+                .find(queryMapper.getMappedObject(query.getQueryObject(), entity))
+                .sort(queryMapper.getMappedSort(query.getSortObject(), entity))
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    private Document explain(Class<?> entityType, String collection, Aggregation aggregation) {
+        AggregationOperationContext context = new TypeBasedAggregationOperationContext(entityType,
+                mongoTemplate.getConverter().getMappingContext(), new QueryMapper(mongoTemplate.getConverter()));
+
+        return mongoTemplate.getCollection(collection)
+                .aggregate(aggregation.toPipeline(context))
+                .explain(ExplainVerbosity.QUERY_PLANNER);
+    }
+
+    private static boolean containsCollectionScan(Object node) {
+        if (node instanceof Document document) {
+            if (COLLECTION_SCAN.equals(document.get("stage"))) {
+                return true;
+            }
+            return document.entrySet().stream()
+                    .filter(entry -> !REJECTED_PLANS.equals(entry.getKey()))
+                    .anyMatch(entry -> containsCollectionScan(entry.getValue()));
+        }
+        if (node instanceof List<?> list) {
+            return list.stream().anyMatch(MongoDbQueryPlanVerifier::containsCollectionScan);
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,131 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+public class MongoDbReferencedOwnerRepository extends MongoDbOwnerRepository {
+
+    private final MongoDbReferencedPropertyRepository properties;
+
+    public MongoDbReferencedOwnerRepository(MongoTemplate mongoTemplate, MongoDbIdAllocator ownerIds, MongoDbIdAllocator propertyIds,
+                                            MongoDbDocumentCache cache, MongoDbReferencedPropertyRepository properties) {
+        super(mongoTemplate, ownerIds, propertyIds, cache);
+        this.properties = properties;
+    }
+
+    @Override
+    public List<Owner> findAll() {
+        return withProperties(super.findAll());
+    }
+
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        try (Stream<Owner> owners = super.streamAll(afterId, limit)) {
+            return withProperties(owners.toList()).stream();
+        }
+    }
+
+    @Override
+    public Owner findById(int id) {
+        Owner owner = super.findById(id);
+        if (Objects.nonNull(owner)) {
+            owner.setProperties(new ArrayList<>(this.properties.findAll(id)));
+        }
+
+        return owner;
+    }
+
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        return withProperties(super.findAllById(ids));
+    }
+
+    @Override
+    public List<Owner> findDebtors() {
+        return withProperties(super.findDebtors());
+    }
+
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        try (Stream<Owner> debtors = super.streamDebtors(afterId, limit)) {
+            return withProperties(debtors.toList()).stream();
+        }
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        return withProperties(super.findByTaxesDebtBetween(from, to));
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        return withProperties(super.findTopDebtors(limit));
+    }
+
+    @Override
+    public boolean save(Owner owner) {
+        List<Property> ownerProperties = owner.getProperties();
+        owner.setProperties(new ArrayList<>());
+        boolean saved = super.save(owner);
+        owner.setProperties(ownerProperties);
+
+        if (saved && Objects.nonNull(ownerProperties) && !this.properties.saveAll(List.of(owner)).isEmpty()) {
+            remove(owner.getId());
+            return false;
+        }
+
+        return saved;
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        List<List<Property>> ownerProperties = owners.stream().map(Owner::getProperties).toList();
+        owners.forEach(owner -> owner.setProperties(new ArrayList<>()));
+        Map<Integer, String> failures = new HashMap<>(super.saveAll(owners));
+
+        List<Owner> saved = new ArrayList<>(owners.size());
+        List<Integer> savedIndexes = new ArrayList<>(owners.size());
+        for (int i = 0; i < owners.size(); i++) {
+            Owner owner = owners.get(i);
+            owner.setProperties(Objects.requireNonNullElseGet(ownerProperties.get(i), ArrayList::new));
+            if (!failures.containsKey(i)) {
+                saved.add(owner);
+                savedIndexes.add(i);
+            }
+        }
+        this.properties.saveAll(saved).forEach((savedIndex, error) -> {
+            int index = savedIndexes.get(savedIndex);
+            remove(owners.get(index).getId());
+            failures.put(index, error);
+        });
+
+        return failures;
+    }
+
+    @Override
+    public boolean remove(int id) {
+        boolean removed = super.remove(id);
+        this.properties.removeAll(id);
+
+        return removed;
+    }
+
+    private List<Owner> withProperties(List<Owner> owners) {
+        Map<Integer, List<Property>> ownerProperties = this.properties.findAllByOwners(owners.stream().map(Owner::getId).toList());
+        for (Owner owner : owners) {
+            owner.setProperties(ownerProperties.getOrDefault(owner.getId(), new ArrayList<>()));
+        }
+
+        return owners;
+    }
+}
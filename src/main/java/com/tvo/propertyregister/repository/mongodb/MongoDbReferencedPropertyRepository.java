@@ -0,0 +1,196 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.client.model.InsertManyOptions;
+import com.mongodb.client.result.DeleteResult;
+import com.mongodb.client.result.UpdateResult;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class MongoDbReferencedPropertyRepository implements PropertyRepository {
+
+    static final String PROPERTIES_COLLECTION = "properties";
+    static final String OWNER_ID = "ownerId";
+
+    private static final String OWNERS_COLLECTION = "owners";
+    private static final String TYPE_HINT = "_class";
+
+    private final MongoTemplate mongoTemplate;
+    private final MongoDbIdAllocator propertyIds;
+
+    @Override
+    public List<Property> findAll(int ownerId) {
+        return mongoTemplate.find(byOwner(ownerId), Property.class, PROPERTIES_COLLECTION);
+    }
+
+    @Override
+    public List<Property> findByCity(String city) {
+        return mongoTemplate.find(new Query(byCity(city)), Property.class, PROPERTIES_COLLECTION);
+    }
+
+    @Override
+    public List<Property> findByPropertyType(PropertyType propertyType) {
+        return mongoTemplate.find(new Query(byPropertyType(propertyType)), Property.class, PROPERTIES_COLLECTION);
+    }
+
+    @Override
+    public List<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return mongoTemplate.find(new Query(byCityAndPropertyType(city, propertyType)), Property.class, PROPERTIES_COLLECTION);
+    }
+
+    @Override
+    public boolean save(int ownerId, Property property) {
+        if (!mongoTemplate.exists(MongoDbOwnerRepository.byId(ownerId), Owner.class, OWNERS_COLLECTION)) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        property.setId(propertyIds.nextId());
+        mongoTemplate.insert(toDocument(ownerId, property), PROPERTIES_COLLECTION);
+
+        return true;
+    }
+
+    @Override
+    public boolean update(int ownerId, List<Property> properties) {
+        DeleteResult removed = mongoTemplate.remove(byOwner(ownerId), Property.class, PROPERTIES_COLLECTION);
+        List<Document> documents = properties.stream()
+                .map(property -> toDocument(ownerId, property))
+                .toList();
+        if (!documents.isEmpty()) {
+            mongoTemplate.getCollection(PROPERTIES_COLLECTION).insertMany(documents);
+        }
+
+        return removed.getDeletedCount() > 0 || !documents.isEmpty();
+    }
+
+    @Override
+    public boolean update(int ownerId, int propertyId, Property property) {
+        Update update = new Update()
+                .set("city", property.getCity())
+                .set("address", property.getAddress())
+                .set("numberOfRooms", property.getNumberOfRooms())
+                .set("propertyCondition", property.getPropertyCondition());
+        UpdateResult result = mongoTemplate.updateFirst(byProperty(ownerId, propertyId), update, Property.class, PROPERTIES_COLLECTION);
+
+        return requireProperty(ownerId, propertyId, result.getMatchedCount());
+    }
+
+    @Override
+    public boolean remove(int ownerId, int propertyId) {
+        DeleteResult result = mongoTemplate.remove(byProperty(ownerId, propertyId), Property.class, PROPERTIES_COLLECTION);
+
+        return requireProperty(ownerId, propertyId, result.getDeletedCount());
+    }
+
+    Map<Integer, List<Property>> findAllByOwners(Collection<Integer> ownerIds) {
+        Map<Integer, List<Property>> properties = new HashMap<>();
+        if (ownerIds.isEmpty()) {
+            return properties;
+        }
+
+        for (Document document : mongoTemplate.find(byOwners(ownerIds), Document.class, PROPERTIES_COLLECTION)) {
+            Property property = mongoTemplate.getConverter().read(Property.class, document);
+            properties.computeIfAbsent(document.getInteger(OWNER_ID), ownerId -> new ArrayList<>()).add(property);
+        }
+
+        return properties;
+    }
+
+    Map<Integer, String> saveAll(List<Owner> owners) {
+        List<Document> documents = new ArrayList<>();
+        List<Integer> documentOwners = new ArrayList<>();
+        for (int i = 0; i < owners.size(); i++) {
+            Owner owner = owners.get(i);
+            for (Property property : owner.getProperties()) {
+                property.setId(propertyIds.nextId());
+                documents.add(toDocument(owner.getId(), property));
+                documentOwners.add(i);
+            }
+        }
+        if (documents.isEmpty()) {
+            return Map.of();
+        }
+
+        try {
+            mongoTemplate.getCollection(PROPERTIES_COLLECTION).insertMany(documents, new InsertManyOptions().ordered(false));
+        } catch (MongoBulkWriteException e) {
+            if (e.getWriteErrors().isEmpty()) {
+                throw e;
+            }
+            Map<Integer, String> failures = new HashMap<>();
+            for (BulkWriteError error : e.getWriteErrors()) {
+                failures.putIfAbsent(documentOwners.get(error.getIndex()), error.getMessage());
+            }
+            return failures;
+        }
+
+        return Map.of();
+    }
+
+    void removeAll(int ownerId) {
+        mongoTemplate.remove(byOwner(ownerId), Property.class, PROPERTIES_COLLECTION);
+    }
+
+    static Query byOwner(int ownerId) {
+        return new Query(Criteria.where(OWNER_ID).is(ownerId)).with(Sort.by(OWNER_ID, "id"));
+    }
+
+    static Query byOwners(Collection<Integer> ownerIds) {
+        return new Query(Criteria.where(OWNER_ID).in(ownerIds)).with(Sort.by(OWNER_ID, "_id"));
+    }
+
+    static Query byProperty(int ownerId, int propertyId) {
+        return new Query(Criteria.where("id").is(propertyId).and(OWNER_ID).is(ownerId));
+    }
+
+    static Criteria byCity(String city) {
+        return Criteria.where("city").is(city);
+    }
+
+    static Criteria byPropertyType(PropertyType propertyType) {
+        return Criteria.where("propertyType").is(propertyType.name());
+    }
+
+    static Criteria byCityAndPropertyType(String city, PropertyType propertyType) {
+        return Criteria.where("city").is(city).and("propertyType").is(propertyType.name());
+    }
+
+    private Document toDocument(int ownerId, Property property) {
+        Document document = new Document();
+        mongoTemplate.getConverter().write(property, document);
+        document.remove(TYPE_HINT);
+        document.put(OWNER_ID, ownerId);
+
+        return document;
+    }
+
+    private boolean requireProperty(int ownerId, int propertyId, long affected) {
+        if (affected > 0) {
+            return true;
+        }
+        if (!mongoTemplate.exists(MongoDbOwnerRepository.byId(ownerId), Owner.class, OWNERS_COLLECTION)) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        throw new PropertyNotFoundException("Property with id " + propertyId + " not found");
+    }
+}
@@ -1,16 +1,20 @@
 package com.tvo.propertyregister.repository.mongodb;
 
+import com.mongodb.client.model.Sorts;
 import com.mongodb.client.result.UpdateResult;
 import com.tvo.propertyregister.model.TaxRate;
 import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.TaxRateRepository;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
 
 @RequiredArgsConstructor
@@ -19,21 +23,41 @@ public class MongoDbTaxRateRepository implements TaxRateRepository {
     private static final String TAX_RATE_COLLECTION = "taxRates";
 
     private final MongoTemplate mongoTemplate;
+    private final MongoDbDocumentCache cache;
 
     @Override
     public List<TaxRate> findAll() {
-        Query criteria = new Query();
+        List<Document> rates = cache.taxRates(() -> mongoTemplate.getCollection(TAX_RATE_COLLECTION)
+                .find()
+                .sort(Sorts.ascending("propertyType"))
+                .into(new ArrayList<>()));
+
+        return rates.stream()
+                .map(rate -> mongoTemplate.getConverter().read(TaxRate.class, rate))
+                .toList();
+    }
 
-        return mongoTemplate.find(criteria, TaxRate.class, TAX_RATE_COLLECTION);
+    @Override
+    public void onExternalChange(Runnable listener) {
+        cache.onTaxRatesEvicted(listener);
     }
 
     @Override
     public boolean changeTax(PropertyType propertyType, BigDecimal rate) {
-        Query criteria = new Query(Criteria.where("propertyType").is(propertyType.toString()));
-        Update update = new Update().set("tax", rate.toString());
+        Query criteria = byPropertyType(propertyType);
+        Update update = new Update().set("tax", rate);
         UpdateResult result = mongoTemplate.updateFirst(criteria, update, TaxRate.class, TAX_RATE_COLLECTION);
+        cache.evictTaxRates();
 
         return result.getModifiedCount() > 0;
     }
 
+    static Query allRates() {
+        return new Query().with(Sort.by("propertyType"));
+    }
+
+    static Query byPropertyType(PropertyType propertyType) {
+        return new Query(Criteria.where("propertyType").is(propertyType.toString()));
+    }
+
 }
@@ -0,0 +1,82 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.ReactiveOwnerRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+
+import static com.tvo.propertyregister.repository.mongodb.MongoDbOwnerRepository.*;
+
+@RequiredArgsConstructor
+public class ReactiveMongoDbOwnerRepository implements ReactiveOwnerRepository {
+
+    private static final String OWNERS_COLLECTION = "owners";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoDbIdAllocator ownerIds;
+
+    @Override
+    public Flux<Owner> findAll(int afterId, int limit) {
+        return mongoTemplate.find(ownersAfter(afterId, limit), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Mono<Owner> findById(int id) {
+        return mongoTemplate.findOne(byId(id), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Flux<Owner> findAllById(Collection<Integer> ids) {
+        return mongoTemplate.find(byIds(ids), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Flux<Owner> findDebtors(int afterId, int limit) {
+        return mongoTemplate.find(debtorsAfter(afterId, limit), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Flux<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        return mongoTemplate.find(debtorsBetween(from, to), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Flux<Owner> findTopDebtors(int limit) {
+        return mongoTemplate.find(topDebtors(limit), Owner.class, OWNERS_COLLECTION);
+    }
+
+    @Override
+    public Mono<Boolean> save(Owner owner) {
+        return Mono.fromCallable(ownerIds::nextId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(id -> {
+                    owner.setId(id);
+                    return mongoTemplate.save(owner, OWNERS_COLLECTION);
+                })
+                .thenReturn(true);
+    }
+
+    @Override
+    public Mono<Boolean> update(int id, Owner owner) {
+        return mongoTemplate.updateFirst(byId(id), ownerUpdate(owner), Owner.class, OWNERS_COLLECTION)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> update(int id, Owner owner, long expectedVersion) {
+        return mongoTemplate.updateFirst(byVersion(id, expectedVersion), ownerUpdate(owner), Owner.class, OWNERS_COLLECTION)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public Mono<Boolean> remove(int id) {
+        return mongoTemplate.remove(byId(id), Owner.class, OWNERS_COLLECTION)
+                .map(result -> result.getDeletedCount() > 0);
+    }
+}
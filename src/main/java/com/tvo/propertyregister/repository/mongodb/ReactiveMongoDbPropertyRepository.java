@@ -0,0 +1,93 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.mongodb.client.result.UpdateResult;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactivePropertyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.tvo.propertyregister.repository.mongodb.MongoDbPropertyRepository.*;
+
+@RequiredArgsConstructor
+public class ReactiveMongoDbPropertyRepository implements ReactivePropertyRepository {
+
+    private static final String OWNERS_COLLECTION = "owners";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoDbIdAllocator propertyIds;
+
+    @Override
+    public Flux<Property> findAll(int ownerId) {
+        return mongoTemplate.findOne(MongoDbOwnerRepository.byId(ownerId), Owner.class, OWNERS_COLLECTION)
+                .switchIfEmpty(Mono.error(() -> new NoSuchOwnerException("The owner with id " + ownerId + " was not found")))
+                .flatMapIterable(owner -> Objects.requireNonNullElse(owner.getProperties(), List.of()));
+    }
+
+    @Override
+    public Flux<Property> findByCity(String city) {
+        return findPropertiesMatching(byCity(city));
+    }
+
+    @Override
+    public Flux<Property> findByPropertyType(PropertyType propertyType) {
+        return findPropertiesMatching(byPropertyType(propertyType));
+    }
+
+    @Override
+    public Flux<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return findPropertiesMatching(byCityAndPropertyType(city, propertyType));
+    }
+
+    @Override
+    public Mono<Boolean> save(int ownerId, Property property) {
+        return Mono.fromCallable(propertyIds::nextId)
+                .subscribeOn(Schedulers.boundedElastic())
+                .flatMap(id -> {
+                    property.setId(id);
+                    Update update = new Update().push("properties", property).inc(MongoDbOwnerRepository.VERSION, 1);
+                    return mongoTemplate.updateFirst(MongoDbOwnerRepository.byId(ownerId), update, Owner.class, OWNERS_COLLECTION);
+                })
+                .flatMap(result -> result.getMatchedCount() > 0
+                        ? Mono.just(result.getModifiedCount() > 0)
+                        : Mono.error(new NoSuchOwnerException("Owner with id " + ownerId + " not found")));
+    }
+
+    @Override
+    public Mono<Boolean> update(int ownerId, int propertyId, Property property) {
+        return mongoTemplate.updateFirst(byProperty(ownerId, propertyId), propertyUpdate(propertyId, property), Owner.class, OWNERS_COLLECTION)
+                .flatMap(result -> requireProperty(ownerId, propertyId, result));
+    }
+
+    @Override
+    public Mono<Boolean> remove(int ownerId, int propertyId) {
+        return mongoTemplate.updateFirst(byProperty(ownerId, propertyId), propertyRemoval(propertyId), Owner.class, OWNERS_COLLECTION)
+                .flatMap(result -> requireProperty(ownerId, propertyId, result));
+    }
+
+    private Flux<Property> findPropertiesMatching(Criteria criteria) {
+        return mongoTemplate.aggregate(propertiesMatching(criteria), OWNERS_COLLECTION, Property.class);
+    }
+
+    private Mono<Boolean> requireProperty(int ownerId, int propertyId, UpdateResult result) {
+        if (result.getMatchedCount() > 0) {
+            return Mono.just(true);
+        }
+
+        return mongoTemplate.exists(MongoDbOwnerRepository.byId(ownerId), Owner.class, OWNERS_COLLECTION)
+                .flatMap(ownerExists -> Mono.error(ownerExists
+                        ? new PropertyNotFoundException("Property with id " + propertyId + " not found")
+                        : new NoSuchOwnerException("Owner with id " + ownerId + " not found")));
+    }
+}
@@ -0,0 +1,40 @@
+package com.tvo.propertyregister.repository.mongodb;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactiveTaxRateRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.query.Update;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+
+import static com.tvo.propertyregister.repository.mongodb.MongoDbTaxRateRepository.allRates;
+import static com.tvo.propertyregister.repository.mongodb.MongoDbTaxRateRepository.byPropertyType;
+
+@RequiredArgsConstructor
+public class ReactiveMongoDbTaxRateRepository implements ReactiveTaxRateRepository {
+
+    private static final String TAX_RATE_COLLECTION = "taxRates";
+
+    private final ReactiveMongoTemplate mongoTemplate;
+    private final MongoDbDocumentCache cache;
+
+    @Override
+    public Flux<TaxRate> findAll() {
+        return mongoTemplate.find(allRates(), TaxRate.class, TAX_RATE_COLLECTION);
+    }
+
+    @Override
+    public Mono<Boolean> changeTax(PropertyType propertyType, BigDecimal rate) {
+        return mongoTemplate.updateFirst(byPropertyType(propertyType), new Update().set("tax", rate), TaxRate.class, TAX_RATE_COLLECTION)
+                .map(result -> result.getModifiedCount() > 0);
+    }
+
+    @Override
+    public void onExternalChange(Runnable listener) {
+        cache.onTaxRatesEvicted(listener);
+    }
+}
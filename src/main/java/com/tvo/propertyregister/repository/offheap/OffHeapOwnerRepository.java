@@ -0,0 +1,125 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.owner.DebtorContact;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@RequiredArgsConstructor
+public class OffHeapOwnerRepository implements OwnerRepository {
+
+    private final OffHeapStore store;
+
+    @Override
+    public List<Owner> findAll() {
+        return this.store.findAllOwners();
+    }
+
+    @Override
+    public Stream<Owner> streamAll(int afterId, int limit) {
+        return this.store.findOwnersAfter(afterId, limit, false).stream();
+    }
+
+    @Override
+    public Owner findById(int id) {
+        Owner owner = this.store.findOwner(id);
+        if (Objects.isNull(owner)) {
+            throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(id));
+        }
+
+        return owner;
+    }
+
+    @Override
+    public List<Owner> findDebtors() {
+        return this.store.findDebtors();
+    }
+
+    @Override
+    public Stream<Owner> streamDebtors(int afterId, int limit) {
+        return this.store.findOwnersAfter(afterId, limit, true).stream();
+    }
+
+    @Override
+    public List<Owner> findAllById(Collection<Integer> ids) {
+        return this.store.findOwners(ids);
+    }
+
+    @Override
+    public List<DebtorContact> findDebtorContacts() {
+        return this.store.findDebtors().stream().map(DebtorContact::of).toList();
+    }
+
+    @Override
+    public List<Owner> findByTaxesDebtBetween(BigDecimal from, BigDecimal to) {
+        if (from.compareTo(to) > 0) {
+            return new ArrayList<>();
+        }
+
+        return this.store.findOwnersWithDebtBetween(from, to);
+    }
+
+    @Override
+    public List<Owner> findTopDebtors(int limit) {
+        return this.store.findTopDebtors(limit);
+    }
+
+    @Override
+    public boolean save(Owner owner) {
+        this.store.insertOwner(owner);
+        return true;
+    }
+
+    @Override
+    public Map<Integer, String> saveAll(List<Owner> owners) {
+        Map<Integer, String> failures = new HashMap<>();
+        for (int i = 0; i < owners.size(); i++) {
+            try {
+                save(owners.get(i));
+            } catch (RuntimeException e) {
+                failures.put(i, e.getMessage());
+            }
+        }
+
+        return failures;
+    }
+
+    @Override
+    public boolean update(int id, Owner owner) {
+        if (!this.store.updateOwner(id, owner)) {
+            throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+        }
+
+        return true;
+    }
+
+    @Override
+    public boolean update(int id, Owner owner, long expectedVersion) {
+        if (!this.store.containsOwner(id)) {
+            throw new UpdateOwnerFailedException("Failed updating owner with id: %s".formatted(id));
+        }
+
+        return this.store.updateOwner(id, owner, expectedVersion);
+    }
+
+    @Override
+    public int recountDebts(BigDecimal factor, int scale) {
+        return this.store.recountDebts(factor, scale);
+    }
+
+    @Override
+    public boolean remove(int id) {
+        return this.store.removeOwner(id);
+    }
+}
@@ -0,0 +1,82 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.util.List;
+import java.util.Objects;
+
+@RequiredArgsConstructor
+public class OffHeapPropertyRepository implements PropertyRepository {
+
+    private final OffHeapStore store;
+
+    @Override
+    public List<Property> findAll(int ownerId) {
+        List<Property> properties = this.store.findProperties(ownerId);
+        if (Objects.isNull(properties)) {
+            throw new NoSuchOwnerException("Owner with id: %s does not exists!".formatted(ownerId));
+        }
+
+        return properties;
+    }
+
+    @Override
+    public boolean save(int ownerId, Property property) {
+        return requireOwner(ownerId, this.store.addProperty(ownerId, property));
+    }
+
+    @Override
+    public boolean update(int ownerId, List<Property> updatedProperties) {
+        return this.store.replaceProperties(ownerId, updatedProperties);
+    }
+
+    @Override
+    public boolean update(int ownerId, int propertyId, Property property) {
+        return requireProperty(ownerId, propertyId, this.store.updateProperty(ownerId, propertyId, property));
+    }
+
+    @Override
+    public boolean remove(int ownerId, int propertyId) {
+        return requireProperty(ownerId, propertyId, this.store.removeProperty(ownerId, propertyId));
+    }
+
+    @Override
+    public List<Property> findByCity(String city) {
+        return this.store.findPropertiesMatching(city, null);
+    }
+
+    @Override
+    public List<Property> findByPropertyType(PropertyType propertyType) {
+        return this.store.findPropertiesMatching(null, propertyType);
+    }
+
+    @Override
+    public List<Property> findByCityAndPropertyType(String city, PropertyType propertyType) {
+        return this.store.findPropertiesMatching(city, propertyType);
+    }
+
+    private boolean requireOwner(int ownerId, boolean changed) {
+        if (!changed) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        return true;
+    }
+
+    private boolean requireProperty(int ownerId, int propertyId, boolean changed) {
+        if (changed) {
+            return true;
+        }
+
+        if (!this.store.containsOwner(ownerId)) {
+            throw new NoSuchOwnerException("Owner with id " + ownerId + " not found");
+        }
+
+        throw new PropertyNotFoundException("Property with id " + propertyId + " not found");
+    }
+}
@@ -0,0 +1,76 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+class OffHeapRecordBuffer {
+
+    private final int recordSize;
+    private final int recordsPerChunk;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private int size;
+
+    OffHeapRecordBuffer(int recordSize, int chunkSize) {
+        if (chunkSize < recordSize) {
+            throw new IllegalArgumentException("Chunk size %s is smaller than record size %s".formatted(chunkSize, recordSize));
+        }
+
+        this.recordSize = recordSize;
+        this.recordsPerChunk = chunkSize / recordSize;
+    }
+
+    int size() {
+        return this.size;
+    }
+
+    int allocate() {
+        int record = this.size;
+        if (record / this.recordsPerChunk >= this.chunks.size()) {
+            this.chunks.add(ByteBuffer.allocateDirect(this.recordsPerChunk * this.recordSize));
+        }
+
+        this.size++;
+        return record;
+    }
+
+    long allocatedBytes() {
+        return (long) this.chunks.size() * this.recordsPerChunk * this.recordSize;
+    }
+
+    boolean contains(int record) {
+        return record >= 0 && record < this.size;
+    }
+
+    byte getByte(int record, int field) {
+        return chunk(record).get(offset(record, field));
+    }
+
+    void putByte(int record, int field, byte value) {
+        chunk(record).put(offset(record, field), value);
+    }
+
+    int getInt(int record, int field) {
+        return chunk(record).getInt(offset(record, field));
+    }
+
+    void putInt(int record, int field, int value) {
+        chunk(record).putInt(offset(record, field), value);
+    }
+
+    long getLong(int record, int field) {
+        return chunk(record).getLong(offset(record, field));
+    }
+
+    void putLong(int record, int field, long value) {
+        chunk(record).putLong(offset(record, field), value);
+    }
+
+    private ByteBuffer chunk(int record) {
+        return this.chunks.get(record / this.recordsPerChunk);
+    }
+
+    private int offset(int record, int field) {
+        return (record % this.recordsPerChunk) * this.recordSize + field;
+    }
+}
@@ -0,0 +1,787 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import com.tvo.propertyregister.exception.InvalidAmountException;
+import com.tvo.propertyregister.exception.InvalidFieldLengthException;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+public class OffHeapStore {
+
+    private static final byte DEAD = 0;
+    private static final byte LIVE = 1;
+    private static final byte NO_CODE = 0;
+    private static final byte NO_SCALE = Byte.MIN_VALUE;
+    private static final int NO_RECORD = -1;
+    private static final int NO_DATE = Integer.MIN_VALUE;
+    private static final int NO_STRING = -1;
+
+    private static final int OWNER_FLAGS = 0;
+    private static final int OWNER_FAMILY_STATUS = 1;
+    private static final int OWNER_HAS_CHILDREN = 2;
+    private static final int OWNER_DEBT_SCALE = 3;
+    private static final int OWNER_AGE = 4;
+    private static final int OWNER_BIRTHDAY = 8;
+    private static final int OWNER_FIRST_PROPERTY = 12;
+    private static final int OWNER_DEBT = 16;
+    private static final int OWNER_FIRST_NAME = 24;
+    private static final int OWNER_LAST_NAME = 36;
+    private static final int OWNER_EMAIL = 48;
+    private static final int OWNER_PHONE_NUMBER = 60;
+    private static final int OWNER_VERSION = 72;
+    private static final int OWNER_RECORD_SIZE = 80;
+
+    private static final int PROPERTY_FLAGS = 0;
+    private static final int PROPERTY_TYPE = 1;
+    private static final int PROPERTY_CONDITION = 2;
+    private static final int PROPERTY_COST_SCALE = 3;
+    private static final int PROPERTY_OWNER = 4;
+    private static final int PROPERTY_NEXT = 8;
+    private static final int PROPERTY_SQUARE = 12;
+    private static final int PROPERTY_NUMBER_OF_ROOMS = 16;
+    private static final int PROPERTY_BECOMING_OWNER_DATE = 20;
+    private static final int PROPERTY_BUILDING_DATE = 24;
+    private static final int PROPERTY_ID = 28;
+    private static final int PROPERTY_COST = 32;
+    private static final int PROPERTY_CITY = 40;
+    private static final int PROPERTY_ADDRESS = 52;
+    private static final int PROPERTY_RECORD_SIZE = 64;
+
+    private static final int TAX_RATE_SCALE = 0;
+    private static final int TAX_RATE_VALUE = 8;
+    private static final int TAX_RATE_RECORD_SIZE = 16;
+
+    private static final FamilyStatus[] FAMILY_STATUSES = FamilyStatus.values();
+    private static final PropertyType[] PROPERTY_TYPES = PropertyType.values();
+    private static final PropertyCondition[] PROPERTY_CONDITIONS = PropertyCondition.values();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final OffHeapRecordBuffer owners;
+    private final OffHeapRecordBuffer properties;
+    private final OffHeapRecordBuffer taxRates;
+    private final OffHeapStringArena strings;
+    private int freePropertyRecord = NO_RECORD;
+    private int propertyCounter = 1;
+
+    public OffHeapStore(int chunkSize) {
+        this.owners = new OffHeapRecordBuffer(OWNER_RECORD_SIZE, chunkSize);
+        this.properties = new OffHeapRecordBuffer(PROPERTY_RECORD_SIZE, chunkSize);
+        this.taxRates = new OffHeapRecordBuffer(TAX_RATE_RECORD_SIZE, TAX_RATE_RECORD_SIZE * PROPERTY_TYPES.length);
+        this.strings = new OffHeapStringArena(chunkSize);
+
+        for (PropertyType ignored : PROPERTY_TYPES) {
+            this.taxRates.allocate();
+        }
+
+        writeTaxRate(PropertyType.FLAT, new BigDecimal("6"));
+        writeTaxRate(PropertyType.HOUSE, new BigDecimal("8"));
+        writeTaxRate(PropertyType.OFFICE, new BigDecimal("13"));
+    }
+
+    public long allocatedBytes() {
+        this.lock.readLock().lock();
+        try {
+            return this.owners.allocatedBytes() + this.properties.allocatedBytes()
+                    + this.taxRates.allocatedBytes() + this.strings.allocatedBytes();
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findAllOwners() {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> result = new ArrayList<>();
+            for (int record = 0; record < this.owners.size(); record++) {
+                if (isLiveOwner(record)) {
+                    result.add(readOwner(record));
+                }
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public Owner findOwner(int id) {
+        this.lock.readLock().lock();
+        try {
+            int record = id - 1;
+            return isLiveOwner(record) ? readOwner(record) : null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findOwners(Collection<Integer> ids) {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> result = new ArrayList<>(ids.size());
+            for (int id : ids) {
+                if (isLiveOwner(id - 1)) {
+                    result.add(readOwner(id - 1));
+                }
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findDebtors() {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> result = new ArrayList<>();
+            for (int record = 0; record < this.owners.size(); record++) {
+                if (isLiveOwner(record) && isDebtor(record)) {
+                    result.add(readOwner(record));
+                }
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findOwnersAfter(int afterId, int limit, boolean debtorsOnly) {
+        this.lock.readLock().lock();
+        try {
+            List<Owner> result = new ArrayList<>();
+            for (int record = Math.max(afterId, 0); record < this.owners.size() && result.size() < limit; record++) {
+                if (isLiveOwner(record) && (!debtorsOnly || isDebtor(record))) {
+                    result.add(readOwner(record));
+                }
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findOwnersWithDebtBetween(BigDecimal from, BigDecimal to) {
+        this.lock.readLock().lock();
+        try {
+            List<Integer> records = new ArrayList<>();
+            for (int record = 0; record < this.owners.size(); record++) {
+                if (!isLiveOwner(record)) {
+                    continue;
+                }
+
+                BigDecimal debt = readMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE);
+                if (Objects.nonNull(debt) && debt.compareTo(from) >= 0 && debt.compareTo(to) <= 0) {
+                    records.add(record);
+                }
+            }
+
+            records.sort(Comparator.comparing((Integer record) -> readMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE))
+                    .thenComparingInt(record -> record));
+            return readOwners(records);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<Owner> findTopDebtors(int limit) {
+        if (limit <= 0) {
+            return new ArrayList<>();
+        }
+
+        this.lock.readLock().lock();
+        try {
+            Comparator<Integer> byDebt = Comparator.comparing((Integer record) -> readMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE))
+                    .thenComparingInt(record -> record);
+            PriorityQueue<Integer> topRecords = new PriorityQueue<>(byDebt);
+
+            for (int record = 0; record < this.owners.size(); record++) {
+                if (isLiveOwner(record) && isDebtor(record)) {
+                    topRecords.add(record);
+                    if (topRecords.size() > limit) {
+                        topRecords.poll();
+                    }
+                }
+            }
+
+            List<Integer> records = new ArrayList<>(topRecords);
+            records.sort(byDebt.reversed());
+            return readOwners(records);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public void insertOwner(Owner owner) {
+        checkOwner(owner);
+        this.lock.writeLock().lock();
+        try {
+            int record = this.owners.allocate();
+            owner.setId(record + 1);
+
+            if (Objects.isNull(owner.getProperties())) {
+                owner.setProperties(new ArrayList<>());
+            }
+
+            for (Property property : owner.getProperties()) {
+                property.setId(0);
+            }
+
+            this.owners.putByte(record, OWNER_FLAGS, LIVE);
+            this.owners.putInt(record, OWNER_FIRST_PROPERTY, NO_RECORD);
+            this.owners.putLong(record, OWNER_VERSION, 0);
+            writeOwner(record, owner);
+            writeProperties(record, owner.getProperties());
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean updateOwner(int id, Owner owner) {
+        checkOwner(owner);
+        this.lock.writeLock().lock();
+        try {
+            int record = id - 1;
+            if (!isLiveOwner(record)) {
+                return false;
+            }
+
+            writeOwnerAndProperties(record, owner);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean updateOwner(int id, Owner owner, long expectedVersion) {
+        checkOwner(owner);
+        this.lock.writeLock().lock();
+        try {
+            int record = id - 1;
+            if (!isLiveOwner(record) || this.owners.getLong(record, OWNER_VERSION) != expectedVersion) {
+                return false;
+            }
+
+            writeOwnerAndProperties(record, owner);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public int recountDebts(BigDecimal factor, int scale) {
+        this.lock.writeLock().lock();
+        try {
+            List<Integer> records = new ArrayList<>();
+            List<BigDecimal> debts = new ArrayList<>();
+            for (int record = 0; record < this.owners.size(); record++) {
+                if (isLiveOwner(record) && isDebtor(record)) {
+                    BigDecimal debt = readMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE).multiply(factor).setScale(scale, RoundingMode.HALF_UP);
+                    checkMoney(debt);
+                    records.add(record);
+                    debts.add(debt);
+                }
+            }
+
+            for (int i = 0; i < records.size(); i++) {
+                writeMoney(this.owners, records.get(i), OWNER_DEBT, OWNER_DEBT_SCALE, debts.get(i));
+                bumpVersion(records.get(i));
+            }
+
+            return records.size();
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeOwner(int id) {
+        this.lock.writeLock().lock();
+        try {
+            int record = id - 1;
+            if (!isLiveOwner(record)) {
+                return false;
+            }
+
+            for (int propertyRecord : propertyRecordsOf(record)) {
+                freeProperty(propertyRecord);
+            }
+
+            this.owners.putInt(record, OWNER_FIRST_PROPERTY, NO_RECORD);
+            releaseString(this.owners, record, OWNER_FIRST_NAME);
+            releaseString(this.owners, record, OWNER_LAST_NAME);
+            releaseString(this.owners, record, OWNER_EMAIL);
+            releaseString(this.owners, record, OWNER_PHONE_NUMBER);
+            this.owners.putByte(record, OWNER_FLAGS, DEAD);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public List<Property> findProperties(int ownerId) {
+        this.lock.readLock().lock();
+        try {
+            int record = ownerId - 1;
+            return isLiveOwner(record) ? readProperties(record) : null;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public boolean addProperty(int ownerId, Property property) {
+        checkProperty(property);
+        this.lock.writeLock().lock();
+        try {
+            int ownerRecord = ownerId - 1;
+            if (!isLiveOwner(ownerRecord)) {
+                return false;
+            }
+
+            List<Integer> propertyRecords = propertyRecordsOf(ownerRecord);
+            int record = allocateProperty();
+            property.setId(this.propertyCounter++);
+            writeProperty(record, ownerId, property);
+
+            if (propertyRecords.isEmpty()) {
+                this.owners.putInt(ownerRecord, OWNER_FIRST_PROPERTY, record);
+            } else {
+                this.properties.putInt(propertyRecords.get(propertyRecords.size() - 1), PROPERTY_NEXT, record);
+            }
+
+            bumpVersion(ownerRecord);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean replaceProperties(int ownerId, List<Property> ownerProperties) {
+        ownerProperties.forEach(this::checkProperty);
+        this.lock.writeLock().lock();
+        try {
+            int ownerRecord = ownerId - 1;
+            if (!isLiveOwner(ownerRecord)) {
+                return false;
+            }
+
+            writeProperties(ownerRecord, ownerProperties);
+            bumpVersion(ownerRecord);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean containsOwner(int id) {
+        this.lock.readLock().lock();
+        try {
+            return isLiveOwner(id - 1);
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public boolean updateProperty(int ownerId, int propertyId, Property property) {
+        checkString(property.getCity());
+        checkString(property.getAddress());
+        this.lock.writeLock().lock();
+        try {
+            if (!isLiveOwner(ownerId - 1)) {
+                return false;
+            }
+
+            int record = propertyRecordOf(propertyRecordsOf(ownerId - 1), propertyId);
+            if (record == NO_RECORD) {
+                return false;
+            }
+
+            writeString(this.properties, record, PROPERTY_CITY, property.getCity());
+            writeString(this.properties, record, PROPERTY_ADDRESS, property.getAddress());
+            this.properties.putInt(record, PROPERTY_NUMBER_OF_ROOMS, property.getNumberOfRooms());
+            this.properties.putByte(record, PROPERTY_CONDITION, encode(property.getPropertyCondition()));
+            bumpVersion(ownerId - 1);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public boolean removeProperty(int ownerId, int propertyId) {
+        this.lock.writeLock().lock();
+        try {
+            int ownerRecord = ownerId - 1;
+            if (!isLiveOwner(ownerRecord)) {
+                return false;
+            }
+
+            int record = propertyRecordOf(propertyRecordsOf(ownerRecord), propertyId);
+            if (record == NO_RECORD) {
+                return false;
+            }
+
+            int nextRecord = this.properties.getInt(record, PROPERTY_NEXT);
+            int firstRecord = this.owners.getInt(ownerRecord, OWNER_FIRST_PROPERTY);
+            if (firstRecord == record) {
+                this.owners.putInt(ownerRecord, OWNER_FIRST_PROPERTY, nextRecord);
+            } else {
+                int previousRecord = firstRecord;
+                while (this.properties.getInt(previousRecord, PROPERTY_NEXT) != record) {
+                    previousRecord = this.properties.getInt(previousRecord, PROPERTY_NEXT);
+                }
+                this.properties.putInt(previousRecord, PROPERTY_NEXT, nextRecord);
+            }
+
+            freeProperty(record);
+            bumpVersion(ownerRecord);
+            return true;
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    public List<Property> findPropertiesMatching(String city, PropertyType propertyType) {
+        byte[] cityBytes = Objects.isNull(city) ? null : city.getBytes(StandardCharsets.UTF_8);
+        byte typeCode = encode(propertyType);
+
+        this.lock.readLock().lock();
+        try {
+            List<Property> result = new ArrayList<>();
+            for (int record = 0; record < this.properties.size(); record++) {
+                if (this.properties.getByte(record, PROPERTY_FLAGS) != LIVE) {
+                    continue;
+                }
+                if (typeCode != NO_CODE && this.properties.getByte(record, PROPERTY_TYPE) != typeCode) {
+                    continue;
+                }
+                if (Objects.nonNull(cityBytes) && !hasCity(record, cityBytes)) {
+                    continue;
+                }
+
+                result.add(readProperty(record));
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public List<TaxRate> findTaxRates() {
+        this.lock.readLock().lock();
+        try {
+            List<TaxRate> result = new ArrayList<>();
+            for (PropertyType propertyType : PROPERTY_TYPES) {
+                int record = propertyType.ordinal();
+                result.add(new TaxRate(record + 1, propertyType, readMoney(this.taxRates, record, TAX_RATE_VALUE, TAX_RATE_SCALE)));
+            }
+
+            return result;
+        } finally {
+            this.lock.readLock().unlock();
+        }
+    }
+
+    public void changeTax(PropertyType propertyType, BigDecimal rate) {
+        checkMoney(rate);
+        this.lock.writeLock().lock();
+        try {
+            writeTaxRate(propertyType, rate);
+        } finally {
+            this.lock.writeLock().unlock();
+        }
+    }
+
+    private boolean isLiveOwner(int record) {
+        return this.owners.contains(record) && this.owners.getByte(record, OWNER_FLAGS) == LIVE;
+    }
+
+    private boolean isDebtor(int record) {
+        return this.owners.getByte(record, OWNER_DEBT_SCALE) != NO_SCALE && this.owners.getLong(record, OWNER_DEBT) > 0;
+    }
+
+    private int propertyRecordOf(List<Integer> records, int propertyId) {
+        for (int record : records) {
+            if (this.properties.getInt(record, PROPERTY_ID) == propertyId) {
+                return record;
+            }
+        }
+
+        return NO_RECORD;
+    }
+
+    private int allocateProperty() {
+        if (this.freePropertyRecord == NO_RECORD) {
+            return this.properties.allocate();
+        }
+
+        int record = this.freePropertyRecord;
+        this.freePropertyRecord = this.properties.getInt(record, PROPERTY_NEXT);
+        return record;
+    }
+
+    private void freeProperty(int record) {
+        releaseString(this.properties, record, PROPERTY_CITY);
+        releaseString(this.properties, record, PROPERTY_ADDRESS);
+        this.properties.putByte(record, PROPERTY_FLAGS, DEAD);
+        this.properties.putInt(record, PROPERTY_NEXT, this.freePropertyRecord);
+        this.freePropertyRecord = record;
+    }
+
+    private void checkOwner(Owner owner) {
+        checkMoney(owner.getTaxesDebt());
+        checkString(owner.getFirstName());
+        checkString(owner.getLastName());
+        checkString(owner.getEmail());
+        checkString(owner.getPhoneNumber());
+        if (Objects.nonNull(owner.getProperties())) {
+            owner.getProperties().forEach(this::checkProperty);
+        }
+    }
+
+    private void checkProperty(Property property) {
+        checkMoney(property.getCost());
+        checkString(property.getCity());
+        checkString(property.getAddress());
+    }
+
+    private void checkString(String value) {
+        if (Objects.nonNull(value) && !this.strings.fits(value)) {
+            throw new InvalidFieldLengthException("Value of %s characters does not fit into an off-heap string".formatted(value.length()));
+        }
+    }
+
+    private void writeTaxRate(PropertyType propertyType, BigDecimal rate) {
+        writeMoney(this.taxRates, propertyType.ordinal(), TAX_RATE_VALUE, TAX_RATE_SCALE, rate);
+    }
+
+    private void writeOwnerAndProperties(int record, Owner owner) {
+        writeOwner(record, owner);
+        if (Objects.nonNull(owner.getProperties())) {
+            writeProperties(record, owner.getProperties());
+        }
+    }
+
+    private void bumpVersion(int record) {
+        this.owners.putLong(record, OWNER_VERSION, this.owners.getLong(record, OWNER_VERSION) + 1);
+    }
+
+    private void writeOwner(int record, Owner owner) {
+        this.owners.putByte(record, OWNER_FAMILY_STATUS, encode(owner.getFamilyStatus()));
+        this.owners.putByte(record, OWNER_HAS_CHILDREN, owner.isHasChildren() ? LIVE : DEAD);
+        this.owners.putInt(record, OWNER_AGE, owner.getAge());
+        this.owners.putInt(record, OWNER_BIRTHDAY, encode(owner.getBirthday()));
+        writeMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE, owner.getTaxesDebt());
+        writeString(this.owners, record, OWNER_FIRST_NAME, owner.getFirstName());
+        writeString(this.owners, record, OWNER_LAST_NAME, owner.getLastName());
+        writeString(this.owners, record, OWNER_EMAIL, owner.getEmail());
+        writeString(this.owners, record, OWNER_PHONE_NUMBER, owner.getPhoneNumber());
+        bumpVersion(record);
+    }
+
+    private void writeProperties(int ownerRecord, List<Property> ownerProperties) {
+        int ownerId = ownerRecord + 1;
+        List<Integer> previousRecords = propertyRecordsOf(ownerRecord);
+        Set<Integer> keptRecords = new HashSet<>();
+        int previousRecord = NO_RECORD;
+
+        this.owners.putInt(ownerRecord, OWNER_FIRST_PROPERTY, NO_RECORD);
+
+        for (Property property : ownerProperties) {
+            int record = property.getId() == 0 ? NO_RECORD : propertyRecordOf(previousRecords, property.getId());
+            if (record == NO_RECORD || keptRecords.contains(record)) {
+                record = allocateProperty();
+                property.setId(this.propertyCounter++);
+            }
+
+            writeProperty(record, ownerId, property);
+            keptRecords.add(record);
+
+            if (previousRecord == NO_RECORD) {
+                this.owners.putInt(ownerRecord, OWNER_FIRST_PROPERTY, record);
+            } else {
+                this.properties.putInt(previousRecord, PROPERTY_NEXT, record);
+            }
+            previousRecord = record;
+        }
+
+        for (int record : previousRecords) {
+            if (!keptRecords.contains(record)) {
+                freeProperty(record);
+            }
+        }
+    }
+
+    private void writeProperty(int record, int ownerId, Property property) {
+        this.properties.putByte(record, PROPERTY_FLAGS, LIVE);
+        this.properties.putByte(record, PROPERTY_TYPE, encode(property.getPropertyType()));
+        this.properties.putByte(record, PROPERTY_CONDITION, encode(property.getPropertyCondition()));
+        this.properties.putInt(record, PROPERTY_OWNER, ownerId);
+        this.properties.putInt(record, PROPERTY_ID, property.getId());
+        this.properties.putInt(record, PROPERTY_NEXT, NO_RECORD);
+        this.properties.putInt(record, PROPERTY_SQUARE, property.getSquare());
+        this.properties.putInt(record, PROPERTY_NUMBER_OF_ROOMS, property.getNumberOfRooms());
+        this.properties.putInt(record, PROPERTY_BECOMING_OWNER_DATE, encode(property.getDateOfBecomingOwner()));
+        this.properties.putInt(record, PROPERTY_BUILDING_DATE, encode(property.getDateOfBuilding()));
+        writeMoney(this.properties, record, PROPERTY_COST, PROPERTY_COST_SCALE, property.getCost());
+        writeString(this.properties, record, PROPERTY_CITY, property.getCity());
+        writeString(this.properties, record, PROPERTY_ADDRESS, property.getAddress());
+    }
+
+    private List<Integer> propertyRecordsOf(int ownerRecord) {
+        List<Integer> records = new ArrayList<>();
+        for (int record = this.owners.getInt(ownerRecord, OWNER_FIRST_PROPERTY); record != NO_RECORD; record = this.properties.getInt(record, PROPERTY_NEXT)) {
+            records.add(record);
+        }
+
+        return records;
+    }
+
+    private List<Owner> readOwners(List<Integer> records) {
+        List<Owner> result = new ArrayList<>(records.size());
+        for (int record : records) {
+            result.add(readOwner(record));
+        }
+
+        return result;
+    }
+
+    private Owner readOwner(int record) {
+        return new Owner(
+                record + 1,
+                readString(this.owners, record, OWNER_FIRST_NAME),
+                readString(this.owners, record, OWNER_LAST_NAME),
+                this.owners.getInt(record, OWNER_AGE),
+                decode(FAMILY_STATUSES, this.owners.getByte(record, OWNER_FAMILY_STATUS)),
+                this.owners.getByte(record, OWNER_HAS_CHILDREN) == LIVE,
+                readString(this.owners, record, OWNER_EMAIL),
+                readString(this.owners, record, OWNER_PHONE_NUMBER),
+                decodeDate(this.owners.getInt(record, OWNER_BIRTHDAY)),
+                readMoney(this.owners, record, OWNER_DEBT, OWNER_DEBT_SCALE),
+                readProperties(record),
+                this.owners.getLong(record, OWNER_VERSION));
+    }
+
+    private List<Property> readProperties(int ownerRecord) {
+        List<Property> result = new ArrayList<>();
+        for (int record : propertyRecordsOf(ownerRecord)) {
+            result.add(readProperty(record));
+        }
+
+        return result;
+    }
+
+    private Property readProperty(int record) {
+        return new Property(
+                this.properties.getInt(record, PROPERTY_ID),
+                decode(PROPERTY_TYPES, this.properties.getByte(record, PROPERTY_TYPE)),
+                readString(this.properties, record, PROPERTY_CITY),
+                readString(this.properties, record, PROPERTY_ADDRESS),
+                this.properties.getInt(record, PROPERTY_SQUARE),
+                this.properties.getInt(record, PROPERTY_NUMBER_OF_ROOMS),
+                readMoney(this.properties, record, PROPERTY_COST, PROPERTY_COST_SCALE),
+                decodeDate(this.properties.getInt(record, PROPERTY_BECOMING_OWNER_DATE)),
+                decodeDate(this.properties.getInt(record, PROPERTY_BUILDING_DATE)),
+                decode(PROPERTY_CONDITIONS, this.properties.getByte(record, PROPERTY_CONDITION)));
+    }
+
+    private boolean hasCity(int record, byte[] city) {
+        return this.properties.getInt(record, PROPERTY_CITY + Long.BYTES) == city.length
+                && this.strings.matches(this.properties.getLong(record, PROPERTY_CITY), city);
+    }
+
+    private void writeString(OffHeapRecordBuffer buffer, int record, int field, String value) {
+        if (Objects.isNull(value)) {
+            releaseString(buffer, record, field);
+            return;
+        }
+
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        if (buffer.getInt(record, field + Long.BYTES) == bytes.length && this.strings.matches(buffer.getLong(record, field), bytes)) {
+            return;
+        }
+
+        releaseString(buffer, record, field);
+        buffer.putLong(record, field, this.strings.write(bytes));
+        buffer.putInt(record, field + Long.BYTES, bytes.length);
+    }
+
+    private void releaseString(OffHeapRecordBuffer buffer, int record, int field) {
+        int length = buffer.getInt(record, field + Long.BYTES);
+        if (length != NO_STRING) {
+            this.strings.release(buffer.getLong(record, field), length);
+            buffer.putInt(record, field + Long.BYTES, NO_STRING);
+        }
+    }
+
+    private String readString(OffHeapRecordBuffer buffer, int record, int field) {
+        int length = buffer.getInt(record, field + Long.BYTES);
+        if (length == NO_STRING) {
+            return null;
+        }
+
+        return this.strings.read(buffer.getLong(record, field), length);
+    }
+
+    private static void writeMoney(OffHeapRecordBuffer buffer, int record, int field, int scaleField, BigDecimal amount) {
+        if (Objects.isNull(amount)) {
+            buffer.putByte(record, scaleField, NO_SCALE);
+            return;
+        }
+
+        checkMoney(amount);
+        buffer.putLong(record, field, amount.unscaledValue().longValueExact());
+        buffer.putByte(record, scaleField, (byte) amount.scale());
+    }
+
+    private static void checkMoney(BigDecimal amount) {
+        if (Objects.nonNull(amount)
+                && (amount.scale() <= NO_SCALE || amount.scale() > Byte.MAX_VALUE || amount.unscaledValue().bitLength() >= Long.SIZE)) {
+            throw new InvalidAmountException("Amount %s does not fit into an off-heap money field".formatted(amount.toPlainString()));
+        }
+    }
+
+    private static BigDecimal readMoney(OffHeapRecordBuffer buffer, int record, int field, int scaleField) {
+        byte scale = buffer.getByte(record, scaleField);
+        if (scale == NO_SCALE) {
+            return null;
+        }
+
+        return new BigDecimal(BigInteger.valueOf(buffer.getLong(record, field)), scale);
+    }
+
+    private static int encode(LocalDate date) {
+        return Objects.isNull(date) ? NO_DATE : Math.toIntExact(date.toEpochDay());
+    }
+
+    private static LocalDate decodeDate(int epochDay) {
+        return epochDay == NO_DATE ? null : LocalDate.ofEpochDay(epochDay);
+    }
+
+    private static byte encode(Enum<?> value) {
+        return Objects.isNull(value) ? NO_CODE : (byte) (value.ordinal() + 1);
+    }
+
+    private static <E extends Enum<E>> E decode(E[] values, byte code) {
+        return code == NO_CODE ? null : values[code - 1];
+    }
+}
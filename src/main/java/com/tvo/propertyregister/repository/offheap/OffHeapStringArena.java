@@ -0,0 +1,134 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+class OffHeapStringArena {
+
+    private static final long NO_SLOT = -1;
+    private static final long EMPTY_REFERENCE = 0;
+    private static final int MIN_SLOT_SIZE = Long.BYTES;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+
+    private final int chunkSize;
+    private final List<ByteBuffer> chunks = new ArrayList<>();
+    private final Map<Integer, Long> freeSlots = new HashMap<>();
+    private long position;
+
+    OffHeapStringArena(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    boolean fits(String value) {
+        return value.length() <= this.chunkSize / MAX_BYTES_PER_CHAR || value.getBytes(StandardCharsets.UTF_8).length <= this.chunkSize;
+    }
+
+    long write(byte[] value) {
+        if (value.length > this.chunkSize) {
+            throw new IllegalArgumentException("Value of %s bytes does not fit into off-heap chunk".formatted(value.length));
+        }
+
+        if (value.length == 0) {
+            return EMPTY_REFERENCE;
+        }
+
+        int slotSize = slotSize(value.length);
+        long reference = takeFreeSlot(slotSize);
+        if (reference == NO_SLOT) {
+            reference = allocate(slotSize);
+        }
+
+        chunk(reference).put(offset(reference), value);
+        return reference;
+    }
+
+    void release(long reference, int length) {
+        if (length == 0) {
+            return;
+        }
+
+        int slotSize = slotSize(length);
+        chunk(reference).putLong(offset(reference), this.freeSlots.getOrDefault(slotSize, NO_SLOT));
+        this.freeSlots.put(slotSize, reference);
+    }
+
+    boolean matches(long reference, byte[] value) {
+        if (value.length == 0) {
+            return true;
+        }
+
+        ByteBuffer chunk = chunk(reference);
+        int offset = offset(reference);
+
+        for (int i = 0; i < value.length; i++) {
+            if (chunk.get(offset + i) != value[i]) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    String read(long reference, int length) {
+        if (length == 0) {
+            return "";
+        }
+
+        byte[] value = new byte[length];
+        chunk(reference).get(offset(reference), value);
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    long allocatedBytes() {
+        return (long) this.chunks.size() * this.chunkSize;
+    }
+
+    private long takeFreeSlot(int slotSize) {
+        long reference = this.freeSlots.getOrDefault(slotSize, NO_SLOT);
+        if (reference == NO_SLOT) {
+            return NO_SLOT;
+        }
+
+        long next = chunk(reference).getLong(offset(reference));
+        if (next == NO_SLOT) {
+            this.freeSlots.remove(slotSize);
+        } else {
+            this.freeSlots.put(slotSize, next);
+        }
+
+        return reference;
+    }
+
+    private long allocate(int slotSize) {
+        if (this.position % this.chunkSize + slotSize > this.chunkSize) {
+            this.position = (this.position / this.chunkSize + 1) * this.chunkSize;
+        }
+
+        int chunkIndex = (int) (this.position / this.chunkSize);
+        while (chunkIndex >= this.chunks.size()) {
+            this.chunks.add(ByteBuffer.allocateDirect(this.chunkSize));
+        }
+
+        long reference = this.position;
+        this.position += slotSize;
+
+        return reference;
+    }
+
+    private int slotSize(int length) {
+        return Math.min(Math.max(Integer.highestOneBit(length - 1) << 1, MIN_SLOT_SIZE), this.chunkSize);
+    }
+
+    private ByteBuffer chunk(long reference) {
+        return this.chunks.get((int) (reference / this.chunkSize));
+    }
+
+    private int offset(long reference) {
+        return (int) (reference % this.chunkSize);
+    }
+}
@@ -0,0 +1,26 @@
+package com.tvo.propertyregister.repository.offheap;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.TaxRateRepository;
+import lombok.RequiredArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class OffHeapTaxRateRepository implements TaxRateRepository {
+
+    private final OffHeapStore store;
+
+    @Override
+    public List<TaxRate> findAll() {
+        return this.store.findTaxRates();
+    }
+
+    @Override
+    public boolean changeTax(PropertyType propertyType, BigDecimal rate) {
+        this.store.changeTax(propertyType, rate);
+        return true;
+    }
+}
@@ -16,6 +16,7 @@ public class ScheduledTaskService {
     @Scheduled(cron = "0 * * * * *")
     public void recountDebtForDebtors() {
         log.info("Recounting debt for debtors");
-        ownerService.recountDebtForDebtors();
+        int recounted = ownerService.recountDebtForDebtors();
+        log.info("Recounted debt for {} debtors", recounted);
     }
 }
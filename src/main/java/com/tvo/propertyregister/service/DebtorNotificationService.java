@@ -5,6 +5,7 @@ import com.tvo.propertyregister.exception.NoDebtorsInDebtorListException;
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
 import com.tvo.propertyregister.model.dto.EmailEventDto;
 import com.tvo.propertyregister.model.dto.EmailType;
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.Owner;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -24,7 +25,7 @@ public class DebtorNotificationService {
     private final EmailSender emailSender;
 
     public boolean notifyAllDebtors() {
-        List<Owner> debtors = this.ownerService.findDebtors();
+        List<DebtorContact> debtors = this.ownerService.findDebtorContacts();
 
         if (debtors.isEmpty()) {
             throw new NoDebtorsInDebtorListException("No debtors in debtor list");
@@ -33,13 +34,13 @@ public class DebtorNotificationService {
         Map<String, String> params = new HashMap<>();
         params.put("numberOfDebtors", String.valueOf(debtors.size()));
 
-        for (Owner debtor : debtors) {
-            params.put("firstName", debtor.getFirstName());
-            params.put("lastName", debtor.getLastName());
-            params.put("debt", String.valueOf(debtor.getTaxesDebt()));
+        for (DebtorContact debtor : debtors) {
+            params.put("firstName", debtor.firstName());
+            params.put("lastName", debtor.lastName());
+            params.put("debt", String.valueOf(debtor.taxesDebt()));
 
             EmailEventDto emailEvent = new EmailEventDto(
-                    debtor.getEmail(),
+                    debtor.email(),
                     EmailType.ALL_DEBTOR_NOTIFICATION,
                     params
             );
@@ -0,0 +1,149 @@
+package com.tvo.propertyregister.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tvo.propertyregister.model.dto.CreatePropertyDto;
+import com.tvo.propertyregister.model.dto.ImportErrorDto;
+import com.tvo.propertyregister.model.dto.ImportOwnerDto;
+import com.tvo.propertyregister.model.dto.ImportResultDto;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+import static com.tvo.propertyregister.service.utils.Constants.IMPORT_BATCH_SIZE;
+
+@Slf4j
+@Service
+public class OwnerImportService {
+
+    private final OwnerRepository ownerRepository;
+    private final ObjectReader ownerReader;
+
+    public OwnerImportService(OwnerRepository ownerRepository, ObjectMapper objectMapper) {
+        this.ownerRepository = ownerRepository;
+        this.ownerReader = objectMapper.readerFor(ImportOwnerDto.class);
+    }
+
+    public ImportResultDto importOwners(InputStream ndjson) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(ndjson, StandardCharsets.UTF_8));
+        List<ImportErrorDto> errors = new ArrayList<>();
+        List<String> lines = new ArrayList<>(IMPORT_BATCH_SIZE);
+        int firstLine = 1;
+        int imported = 0;
+
+        for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+            lines.add(line);
+            if (lines.size() == IMPORT_BATCH_SIZE) {
+                imported += importBatch(firstLine, lines, errors);
+                firstLine += lines.size();
+                lines.clear();
+            }
+        }
+        imported += importBatch(firstLine, lines, errors);
+
+        log.info("Imported {} owners, rejected {}", imported, errors.size());
+        return new ImportResultDto(imported, errors);
+    }
+
+    private int importBatch(int firstLine, List<String> lines, List<ImportErrorDto> errors) {
+        List<Parsed> parsed = IntStream.range(0, lines.size())
+                .parallel()
+                .mapToObj(i -> parse(firstLine + i, lines.get(i)))
+                .filter(Objects::nonNull)
+                .toList();
+
+        List<Integer> ownerLines = new ArrayList<>(parsed.size());
+        List<Owner> owners = new ArrayList<>(parsed.size());
+        for (Parsed record : parsed) {
+            if (Objects.nonNull(record.error())) {
+                errors.add(new ImportErrorDto(record.line(), record.error()));
+            } else {
+                ownerLines.add(record.line());
+                owners.add(record.owner());
+            }
+        }
+        if (owners.isEmpty()) {
+            return 0;
+        }
+
+        Map<Integer, String> failures = this.ownerRepository.saveAll(owners);
+        failures.forEach((index, error) -> errors.add(new ImportErrorDto(ownerLines.get(index), error)));
+
+        return owners.size() - failures.size();
+    }
+
+    private Parsed parse(int line, String json) {
+        if (json.isBlank()) {
+            return null;
+        }
+
+        ImportOwnerDto owner;
+        try {
+            owner = this.ownerReader.readValue(json);
+        } catch (JsonProcessingException e) {
+            return new Parsed(line, null, "Malformed owner record: " + e.getOriginalMessage());
+        }
+        if (Objects.isNull(owner)) {
+            return new Parsed(line, null, "Owner record must be a JSON object");
+        }
+
+        String error = validate(owner);
+        return Objects.isNull(error) ? new Parsed(line, new Owner(owner), null) : new Parsed(line, null, error);
+    }
+
+    static String validate(ImportOwnerDto owner) {
+        if (isBlank(owner.firstName()) || isBlank(owner.lastName())) {
+            return "First and last name are required";
+        }
+        if (isBlank(owner.email()) || !owner.email().contains("@")) {
+            return "Email is invalid: " + owner.email();
+        }
+        if (owner.age() < 0) {
+            return "Age must not be negative";
+        }
+        if (Objects.isNull(owner.familyStatus())) {
+            return "Family status is required";
+        }
+        if (Objects.isNull(owner.taxesDebt()) || owner.taxesDebt().compareTo(BigDecimal.ZERO) < 0) {
+            return "Taxes debt must not be negative";
+        }
+        if (Objects.isNull(owner.properties())) {
+            return null;
+        }
+
+        for (CreatePropertyDto property : owner.properties()) {
+            if (Objects.isNull(property.propertyType()) || isBlank(property.city())) {
+                return "Property type and city are required";
+            }
+            if (property.square() <= 0) {
+                return "Property square must be positive";
+            }
+            if (Objects.isNull(property.cost()) || property.cost().compareTo(BigDecimal.ZERO) < 0) {
+                return "Property cost must not be negative";
+            }
+        }
+
+        return null;
+    }
+
+    private static boolean isBlank(String value) {
+        return Objects.isNull(value) || value.isBlank();
+    }
+
+    private record Parsed(int line, Owner owner, String error) {
+    }
+}
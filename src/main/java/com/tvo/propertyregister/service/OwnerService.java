@@ -1,26 +1,33 @@
 package com.tvo.propertyregister.service;
 
-import com.tvo.propertyregister.exception.InvalidTaxRateNumberException;
+import com.tvo.propertyregister.exception.InvalidPageRequestException;
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.OwnerVersionConflictException;
 import com.tvo.propertyregister.exception.PropertyNotFoundException;
 import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
-import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
+import com.tvo.propertyregister.model.dto.OwnerTaxObligationDto;
+import com.tvo.propertyregister.model.dto.TaxObligationBatchDto;
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.FamilyStatus;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
-import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.OwnerRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.Objects;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
-import static com.tvo.propertyregister.service.utils.Constants.TAXES_RATE_NUMBER;
+import static com.tvo.propertyregister.service.utils.Constants.DEBT_RECOUNT_FACTOR;
+import static com.tvo.propertyregister.service.utils.Constants.DEBT_SCALE;
+import static com.tvo.propertyregister.service.utils.Constants.MAX_PAGE_SIZE;
 
 @Slf4j
 @Service
@@ -34,6 +41,14 @@ public class OwnerService {
         return this.ownerRepository.findAll();
     }
 
+    public List<Owner> getOwnersPage(int afterId, int limit) {
+        checkPageRequest(afterId, limit);
+
+        try (Stream<Owner> owners = this.ownerRepository.streamAll(afterId, limit)) {
+            return owners.toList();
+        }
+    }
+
     public Owner getOwnerById(int id) {
         Owner owner = ownerRepository.findById(id);
         if (Objects.isNull(owner)) {
@@ -47,17 +62,30 @@ public class OwnerService {
         return this.ownerRepository.findDebtors();
     }
 
-    public void recountDebtForDebtors() {
-        List<Owner> allDebtors = this.ownerRepository.findDebtors();
+    public List<DebtorContact> findDebtorContacts() {
+        return this.ownerRepository.findDebtorContacts();
+    }
+
+    public List<Owner> findDebtorsPage(int afterId, int limit) {
+        checkPageRequest(afterId, limit);
+
+        try (Stream<Owner> debtors = this.ownerRepository.streamDebtors(afterId, limit)) {
+            return debtors.toList();
+        }
+    }
+
+    public List<Owner> findDebtorsWithDebtBetween(BigDecimal from, BigDecimal to) {
+        return this.ownerRepository.findByTaxesDebtBetween(from, to);
+    }
+
+    public List<Owner> findTopDebtors(int limit) {
+        checkLimit(limit);
 
-        allDebtors.stream()
-                .filter(debtor -> debtor.getTaxesDebt().compareTo(new BigDecimal("0")) > 0)
-                .map(debtor -> {
-                    BigDecimal recalculatedDebt = debtor.getTaxesDebt().multiply(new BigDecimal("1.05"));
-                    BigDecimal roundedDebts = recalculatedDebt.setScale(1, RoundingMode.HALF_UP);
-                    return debtor.withTaxesDebt(roundedDebts);
-                })
-                .forEach(updatedDebtor -> ownerRepository.update(updatedDebtor.getId(), updatedDebtor));
+        return this.ownerRepository.findTopDebtors(limit);
+    }
+
+    public int recountDebtForDebtors() {
+        return this.ownerRepository.recountDebts(DEBT_RECOUNT_FACTOR, DEBT_SCALE);
     }
 
     public boolean addNewOwner(Owner owner) {
@@ -74,6 +102,10 @@ public class OwnerService {
     }
 
     public boolean updateInfo(int id, Owner ownerToUpdate) {
+        return updateInfo(id, ownerToUpdate, null);
+    }
+
+    public boolean updateInfo(int id, Owner ownerToUpdate, Long expectedVersion) {
         if (Objects.isNull(ownerToUpdate)) {
             throw new UpdateOwnerFailedException("Updating owner was failed");
         }
@@ -83,7 +115,14 @@ public class OwnerService {
             throw new NoSuchOwnerException("This owner does not exists");
         }
 
-        return this.ownerRepository.update(id, ownerToUpdate);
+        if (Objects.isNull(expectedVersion)) {
+            return this.ownerRepository.update(id, ownerToUpdate);
+        }
+        if (!this.ownerRepository.update(id, ownerToUpdate, expectedVersion)) {
+            throw new OwnerVersionConflictException("Owner with id " + id + " was modified since version " + expectedVersion);
+        }
+
+        return true;
     }
 
     public boolean removeOwner(int id) {
@@ -97,8 +136,38 @@ public class OwnerService {
             throw new NoSuchOwnerException("This owner does not exists");
         }
 
+        return countTaxObligation(owner, this.taxRateService.getSnapshot());
+    }
+
+    public TaxObligationBatchDto countTaxObligations(List<Integer> ownerIds) {
+        List<Integer> ids = checkBatchRequest(ownerIds);
+        TaxRateSnapshot taxRates = this.taxRateService.getSnapshot();
+        List<Owner> owners = this.ownerRepository.findAllById(ids);
+
+        Set<Integer> foundIds = owners.stream().map(Owner::getId).collect(Collectors.toSet());
+        List<Integer> missingIds = ids.stream().filter(id -> !foundIds.contains(id)).toList();
+
+        return new TaxObligationBatchDto(owners.stream().map(owner -> taxObligationOf(owner, taxRates)).toList(), missingIds);
+    }
+
+    public List<OwnerTaxObligationDto> countTaxObligationsPage(int afterId, int limit, boolean debtorsOnly) {
+        checkPageRequest(afterId, limit);
+        TaxRateSnapshot taxRates = this.taxRateService.getSnapshot();
+
+        try (Stream<Owner> owners = debtorsOnly
+                ? this.ownerRepository.streamDebtors(afterId, limit)
+                : this.ownerRepository.streamAll(afterId, limit)) {
+            return owners.map(owner -> taxObligationOf(owner, taxRates)).toList();
+        }
+    }
+
+    static OwnerTaxObligationDto taxObligationOf(Owner owner, TaxRateSnapshot taxRates) {
+        return new OwnerTaxObligationDto(owner.getId(), countTaxObligation(owner, taxRates));
+    }
+
+    static BigDecimal countTaxObligation(Owner owner, TaxRateSnapshot taxRates) {
         BigDecimal leeway = new BigDecimal("1");
-        BigDecimal taxObligation = countBaseTax(owner);
+        BigDecimal taxObligation = countBaseTax(owner, taxRates);
 
         if (owner.isHasChildren()) {
             if (FamilyStatus.SINGLE.equals(owner.getFamilyStatus())) {
@@ -114,32 +183,41 @@ public class OwnerService {
         return taxObligation.multiply(leeway);
     }
 
-    private BigDecimal countBaseTax(Owner owner) {
-        List<Property> properties = owner.getProperties();
-        if (Objects.isNull(properties)) {
-            throw new PropertyNotFoundException("The list of property does not exist");
+    static void checkPageRequest(int afterId, int limit) {
+        if (afterId < 0) {
+            throw new InvalidPageRequestException("Page cursor must not be negative");
         }
+        checkLimit(limit);
+    }
 
-        List<TaxRate> taxRates = this.taxRateService.getAll();
-        if (taxRates.size() != TAXES_RATE_NUMBER) {
-            throw new InvalidTaxRateNumberException("Invalid number of tax rates. Current size is " + taxRates.size());
+    static void checkLimit(int limit) {
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Page limit must be between 1 and " + MAX_PAGE_SIZE);
         }
+    }
 
-        BigDecimal FLAT_TAX = taxRates.get(0).getTax();
-        BigDecimal HOUSE_TAX = taxRates.get(1).getTax();
-        BigDecimal OFFICE_TAX = taxRates.get(2).getTax();
+    static List<Integer> checkBatchRequest(List<Integer> ownerIds) {
+        if (Objects.isNull(ownerIds) || ownerIds.isEmpty() || ownerIds.size() > MAX_PAGE_SIZE) {
+            throw new InvalidPageRequestException("Batch must contain between 1 and " + MAX_PAGE_SIZE + " owner ids");
+        }
+        if (ownerIds.stream().anyMatch(Objects::isNull)) {
+            throw new InvalidPageRequestException("Batch must not contain empty owner ids");
+        }
+
+        return ownerIds.stream().distinct().sorted().toList();
+    }
+
+    private static BigDecimal countBaseTax(Owner owner, TaxRateSnapshot taxRates) {
+        List<Property> properties = owner.getProperties();
+        if (Objects.isNull(properties)) {
+            throw new PropertyNotFoundException("The list of property does not exist");
+        }
 
         BigDecimal baseTax = new BigDecimal("0");
 
         for (Property property : properties) {
             BigDecimal square = new BigDecimal(property.getSquare());
-            if (property.getPropertyType() == PropertyType.FLAT) {
-                baseTax = baseTax.add(square.multiply(FLAT_TAX));
-            } else if (property.getPropertyType() == PropertyType.HOUSE) {
-                baseTax = baseTax.add(square.multiply(HOUSE_TAX));
-            } else {
-                baseTax = baseTax.add(square.multiply(OFFICE_TAX));
-            }
+            baseTax = baseTax.add(square.multiply(taxRates.rateOf(property.getPropertyType())));
         }
 
         return baseTax;
@@ -0,0 +1,130 @@
+package com.tvo.propertyregister.service;
+
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.OwnerVersionConflictException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.dto.OwnerTaxObligationDto;
+import com.tvo.propertyregister.model.dto.TaxObligationBatchDto;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.ReactiveOwnerRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static com.tvo.propertyregister.service.OwnerService.checkBatchRequest;
+import static com.tvo.propertyregister.service.OwnerService.checkLimit;
+import static com.tvo.propertyregister.service.OwnerService.checkPageRequest;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveOwnerService {
+
+    private final ReactiveOwnerRepository ownerRepository;
+    private final ReactiveTaxRateService taxRateService;
+
+    public Flux<Owner> getOwnersPage(int afterId, int limit) {
+        checkPageRequest(afterId, limit);
+
+        return this.ownerRepository.findAll(afterId, limit);
+    }
+
+    public Mono<Owner> getOwnerById(int id) {
+        return this.ownerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchOwnerException("The owner with id " + id + " was not found")));
+    }
+
+    public Flux<Owner> findDebtorsPage(int afterId, int limit) {
+        checkPageRequest(afterId, limit);
+
+        return this.ownerRepository.findDebtors(afterId, limit);
+    }
+
+    public Flux<Owner> findDebtorsWithDebtBetween(BigDecimal from, BigDecimal to) {
+        return this.ownerRepository.findByTaxesDebtBetween(from, to);
+    }
+
+    public Flux<Owner> findTopDebtors(int limit) {
+        checkLimit(limit);
+
+        return this.ownerRepository.findTopDebtors(limit);
+    }
+
+    public Mono<Boolean> addNewOwner(Owner owner) {
+        if (Objects.isNull(owner)) {
+            return Mono.error(new NoSuchOwnerException("This owner does not exists"));
+        }
+
+        if (Objects.nonNull(owner.getProperties())) {
+            log.info("During owner creation properties should be empty");
+            owner.setProperties(new ArrayList<>());
+        }
+
+        return this.ownerRepository.save(owner);
+    }
+
+    public Mono<Boolean> updateInfo(int id, Owner ownerToUpdate) {
+        return updateInfo(id, ownerToUpdate, null);
+    }
+
+    public Mono<Boolean> updateInfo(int id, Owner ownerToUpdate, Long expectedVersion) {
+        if (Objects.isNull(ownerToUpdate)) {
+            return Mono.error(new UpdateOwnerFailedException("Updating owner was failed"));
+        }
+
+        Mono<Owner> owner = this.ownerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchOwnerException("This owner does not exists")));
+        if (Objects.isNull(expectedVersion)) {
+            return owner.flatMap(currentOwner -> this.ownerRepository.update(id, ownerToUpdate));
+        }
+
+        return owner.flatMap(currentOwner -> this.ownerRepository.update(id, ownerToUpdate, expectedVersion))
+                .flatMap(updated -> updated
+                        ? Mono.just(true)
+                        : Mono.error(new OwnerVersionConflictException("Owner with id " + id + " was modified since version " + expectedVersion)));
+    }
+
+    public Mono<Boolean> removeOwner(int id) {
+        return this.ownerRepository.remove(id);
+    }
+
+    public Mono<BigDecimal> countTaxObligation(int id) {
+        return this.ownerRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new NoSuchOwnerException("This owner does not exists")))
+                .zipWith(this.taxRateService.getSnapshot(), OwnerService::countTaxObligation);
+    }
+
+    public Mono<TaxObligationBatchDto> countTaxObligations(List<Integer> ownerIds) {
+        List<Integer> ids = checkBatchRequest(ownerIds);
+
+        return this.taxRateService.getSnapshot()
+                .flatMap(taxRates -> this.ownerRepository.findAllById(ids)
+                        .map(owner -> OwnerService.taxObligationOf(owner, taxRates))
+                        .collectList())
+                .map(obligations -> {
+                    Set<Integer> foundIds = obligations.stream().map(OwnerTaxObligationDto::ownerId).collect(Collectors.toSet());
+                    return new TaxObligationBatchDto(obligations, ids.stream().filter(id -> !foundIds.contains(id)).toList());
+                });
+    }
+
+    public Flux<OwnerTaxObligationDto> countTaxObligationsPage(int afterId, int limit, boolean debtorsOnly) {
+        checkPageRequest(afterId, limit);
+
+        return this.taxRateService.getSnapshot()
+                .flatMapMany(taxRates -> (debtorsOnly
+                        ? this.ownerRepository.findDebtors(afterId, limit)
+                        : this.ownerRepository.findAll(afterId, limit))
+                        .map(owner -> OwnerService.taxObligationOf(owner, taxRates)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.tvo.propertyregister.service;
+
+import com.tvo.propertyregister.exception.MissingPropertyFilterException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactivePropertyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Objects;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactivePropertyService {
+
+    private final ReactivePropertyRepository propertyRepository;
+
+    public Flux<Property> getAll(int ownerId) {
+        return this.propertyRepository.findAll(ownerId);
+    }
+
+    public Flux<Property> find(String city, PropertyType propertyType) {
+        if (Objects.nonNull(city) && Objects.nonNull(propertyType)) {
+            return this.propertyRepository.findByCityAndPropertyType(city, propertyType);
+        }
+        if (Objects.nonNull(city)) {
+            return this.propertyRepository.findByCity(city);
+        }
+        if (Objects.nonNull(propertyType)) {
+            return this.propertyRepository.findByPropertyType(propertyType);
+        }
+
+        return Flux.error(new MissingPropertyFilterException("Either city or property type must be specified"));
+    }
+
+    public Mono<Boolean> add(int ownerId, Property property) {
+        if (Objects.isNull(property)) {
+            return Mono.error(new PropertyNotFoundException("This property is empty"));
+        }
+
+        return this.propertyRepository.save(ownerId, property);
+    }
+
+    public Mono<Boolean> update(int ownerId, int propertyId, Property property) {
+        if (Objects.isNull(property)) {
+            return Mono.error(new PropertyNotFoundException("This property is empty"));
+        }
+
+        return this.propertyRepository.update(ownerId, propertyId, property);
+    }
+
+    public Mono<Boolean> remove(int ownerId, int propertyId) {
+        return this.propertyRepository.remove(ownerId, propertyId);
+    }
+}
@@ -0,0 +1,70 @@
+package com.tvo.propertyregister.service;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactiveTaxRateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+@Slf4j
+@Service
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveTaxRateService {
+
+    private final ReactiveTaxRateRepository taxRateRepository;
+    private final AtomicReference<TaxRateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean();
+
+    public ReactiveTaxRateService(ReactiveTaxRateRepository taxRateRepository) {
+        this.taxRateRepository = taxRateRepository;
+        taxRateRepository.onExternalChange(this::invalidateSnapshot);
+    }
+
+    public Flux<TaxRate> getAll() {
+        return this.taxRateRepository.findAll();
+    }
+
+    public Mono<TaxRateSnapshot> getSnapshot() {
+        return Mono.defer(() -> {
+            TaxRateSnapshot current = this.snapshot.get();
+            return Objects.nonNull(current) && !this.stale.get() ? Mono.just(current) : reload();
+        });
+    }
+
+    public Mono<Boolean> changeTax(PropertyType propertyType, BigDecimal rate) {
+        return this.taxRateRepository.changeTax(propertyType, rate)
+                .flatMap(changed -> reload()
+                        .doOnError(e -> log.warn("Tax rate snapshot was not refreshed after changing {} rate: {}", propertyType, e.getMessage()))
+                        .onErrorResume(e -> Mono.empty())
+                        .thenReturn(changed));
+    }
+
+    public void invalidateSnapshot() {
+        this.stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${property-register.tax-rates.refresh-interval-ms:60000}")
+    public void refreshSnapshot() {
+        reload().subscribe();
+    }
+
+    private Mono<TaxRateSnapshot> reload() {
+        return Mono.defer(() -> {
+            this.stale.set(false);
+            return this.taxRateRepository.findAll()
+                    .collectList()
+                    .map(taxRates -> this.snapshot.updateAndGet(current -> TaxRateSnapshot.next(current, taxRates)))
+                    .doOnError(e -> this.stale.set(true));
+        });
+    }
+}
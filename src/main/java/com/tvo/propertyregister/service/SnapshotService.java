@@ -0,0 +1,27 @@
+package com.tvo.propertyregister.service;
+
+import com.tvo.propertyregister.config.AppConfig;
+import com.tvo.propertyregister.repository.inmemory.InMemorySnapshot;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = AppConfig.STORAGE_PROPERTY, havingValue = "in-memory")
+public class SnapshotService {
+
+    private final InMemorySnapshot inMemorySnapshot;
+
+    public int dump(OutputStream outputStream) throws IOException {
+        return this.inMemorySnapshot.dump(outputStream);
+    }
+
+    public int load(InputStream inputStream) throws IOException {
+        return this.inMemorySnapshot.load(inputStream);
+    }
+}
@@ -1,25 +1,84 @@
 package com.tvo.propertyregister.service;
 
 import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
 import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.TaxRateRepository;
-import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
 
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class TaxRateService {
 
     private final TaxRateRepository taxRateRepository;
+    private final AtomicReference<TaxRateSnapshot> snapshot = new AtomicReference<>();
+    private final AtomicBoolean stale = new AtomicBoolean();
+    private final ReentrantLock reloadLock = new ReentrantLock();
+
+    public TaxRateService(TaxRateRepository taxRateRepository) {
+        this.taxRateRepository = taxRateRepository;
+        taxRateRepository.onExternalChange(this::invalidateSnapshot);
+    }
 
     public List<TaxRate> getAll() {
         return this.taxRateRepository.findAll();
     }
 
+    public TaxRateSnapshot getSnapshot() {
+        TaxRateSnapshot current = this.snapshot.get();
+        if (Objects.nonNull(current) && !this.stale.get()) {
+            return current;
+        }
+
+        this.reloadLock.lock();
+        try {
+            current = this.snapshot.get();
+            return Objects.nonNull(current) && !this.stale.get() ? current : reload();
+        } finally {
+            this.reloadLock.unlock();
+        }
+    }
+
     public boolean changeTax(PropertyType propertyType, BigDecimal rate) {
-        return this.taxRateRepository.changeTax(propertyType, rate);
+        boolean changed = this.taxRateRepository.changeTax(propertyType, rate);
+        try {
+            reload();
+        } catch (RuntimeException e) {
+            log.warn("Tax rate snapshot was not refreshed after changing {} rate: {}", propertyType, e.getMessage());
+        }
+
+        return changed;
+    }
+
+    public void invalidateSnapshot() {
+        this.stale.set(true);
+    }
+
+    @Scheduled(fixedDelayString = "${property-register.tax-rates.refresh-interval-ms:60000}")
+    public void refreshSnapshot() {
+        reload();
+    }
+
+    private TaxRateSnapshot reload() {
+        this.reloadLock.lock();
+        try {
+            this.stale.set(false);
+            List<TaxRate> taxRates = this.taxRateRepository.findAll();
+            return this.snapshot.updateAndGet(current -> TaxRateSnapshot.next(current, taxRates));
+        } catch (RuntimeException e) {
+            this.stale.set(true);
+            throw e;
+        } finally {
+            this.reloadLock.unlock();
+        }
     }
 }
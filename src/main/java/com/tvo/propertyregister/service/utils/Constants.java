@@ -1,8 +1,16 @@
 package com.tvo.propertyregister.service.utils;
 
+import java.math.BigDecimal;
+
 public class Constants {
 
     public static final String EMAIL_TOPIC = "email-queue";
 
-    public static final int TAXES_RATE_NUMBER = 3;
+    public static final BigDecimal DEBT_RECOUNT_FACTOR = new BigDecimal("1.05");
+
+    public static final int DEBT_SCALE = 1;
+
+    public static final int MAX_PAGE_SIZE = 1000;
+
+    public static final int IMPORT_BATCH_SIZE = 1000;
 }
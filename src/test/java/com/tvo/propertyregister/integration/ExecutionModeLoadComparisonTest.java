@@ -0,0 +1,144 @@
+package com.tvo.propertyregister.integration;
+
+import com.tvo.propertyregister.PropertyRegisterApplication;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=ExecutionModeLoadComparisonTest -Dload-test=true
+@EnabledIfSystemProperty(named = "load-test", matches = "true")
+public class ExecutionModeLoadComparisonTest {
+
+    private static final MongoDBContainer MONGO_DB_CONTAINER = new MongoDBContainer("mongo:6.0");
+
+    private static final int OWNERS = 1000;
+    private static final int CONCURRENCY = Integer.getInteger("load-test.concurrency", 2000);
+    private static final int REQUESTS = Integer.getInteger("load-test.requests", 50000);
+
+    @BeforeAll
+    public static void startContainer() {
+        MONGO_DB_CONTAINER.start();
+    }
+
+    @AfterAll
+    public static void stopContainer() {
+        MONGO_DB_CONTAINER.stop();
+    }
+
+    @Test
+    void should_compare_owner_lookup_throughput_of_blocking_and_reactive_stacks() throws Exception {
+        seedOwners();
+
+        Result blocking = measure(WebApplicationType.SERVLET);
+        Result reactive = measure(WebApplicationType.REACTIVE);
+
+        System.out.printf("%-9s %10s %10s %10s%n", "stack", "req/s", "p50 ms", "p99 ms");
+        System.out.printf("%-9s %10.0f %10.2f %10.2f%n", "blocking", blocking.throughput(), blocking.p50(), blocking.p99());
+        System.out.printf("%-9s %10.0f %10.2f %10.2f%n", "reactive", reactive.throughput(), reactive.p50(), reactive.p99());
+    }
+
+    private static void seedOwners() {
+        try (ConfigurableApplicationContext context = start(WebApplicationType.NONE)) {
+            OwnerRepository ownerRepository = context.getBean(OwnerRepository.class);
+            for (int i = 0; i < OWNERS; i++) {
+                ownerRepository.save(new Owner(0, "Owner " + i, "Smith",
+                        30, FamilyStatus.SINGLE,
+                        false, "owner" + i + "@gmail.com",
+                        "+456987123",
+                        LocalDate.of(1994, 8, 9),
+                        new BigDecimal(i), new ArrayList<>()));
+            }
+        }
+    }
+
+    private static Result measure(WebApplicationType type) throws Exception {
+        try (ConfigurableApplicationContext context = start(type);
+             HttpClient client = HttpClient.newBuilder().executor(Executors.newVirtualThreadPerTaskExecutor()).build()) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            run(client, port, CONCURRENCY);
+
+            long[] latencies = new long[REQUESTS];
+            long started = System.nanoTime();
+            int failures = run(client, port, REQUESTS, latencies);
+            long elapsed = System.nanoTime() - started;
+
+            assertEquals(0, failures);
+            Arrays.sort(latencies);
+
+            return new Result(REQUESTS * 1e9 / elapsed, percentile(latencies, 0.50), percentile(latencies, 0.99));
+        }
+    }
+
+    private static int run(HttpClient client, int port, int requests) throws Exception {
+        return run(client, port, requests, new long[requests]);
+    }
+
+    private static int run(HttpClient client, int port, int requests, long[] latencies) throws Exception {
+        Semaphore inFlight = new Semaphore(CONCURRENCY);
+        AtomicInteger failures = new AtomicInteger();
+        List<CompletableFuture<?>> responses = new ArrayList<>(requests);
+
+        for (int i = 0; i < requests; i++) {
+            int request = i;
+            HttpRequest get = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/v1/owners/" + (i % OWNERS + 1))).build();
+
+            inFlight.acquire();
+            long sent = System.nanoTime();
+            responses.add(client.sendAsync(get, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[request] = System.nanoTime() - sent;
+                        if (error != null || response.statusCode() != 200) {
+                            failures.incrementAndGet();
+                        }
+                        inFlight.release();
+                    }));
+        }
+        CompletableFuture.allOf(responses.toArray(CompletableFuture[]::new)).exceptionally(error -> null).join();
+
+        return failures.get();
+    }
+
+    private static ConfigurableApplicationContext start(WebApplicationType type) {
+        return new SpringApplicationBuilder(PropertyRegisterApplication.class)
+                .web(type)
+                .run("--server.port=0",
+                        "--spring.webflux.base-path=/api",
+                        "--spring.data.mongodb.host=" + MONGO_DB_CONTAINER.getHost(),
+                        "--spring.data.mongodb.port=" + MONGO_DB_CONTAINER.getFirstMappedPort());
+    }
+
+    private static double percentile(long[] sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.length) - 1;
+
+        return sortedLatencies[Math.max(index, 0)] / 1e6;
+    }
+
+    private record Result(double throughput, double p50, double p99) {
+    }
+}
@@ -0,0 +1,89 @@
+package com.tvo.propertyregister.integration;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.mongodb.MongoDbChangeStreamListener;
+import com.tvo.propertyregister.repository.mongodb.MongoDbDocumentCache;
+import com.tvo.propertyregister.repository.mongodb.MongoDbIdAllocator;
+import com.tvo.propertyregister.repository.mongodb.MongoDbOwnerRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class MongoDbChangeStreamCacheIntegrationTest {
+
+    private static final MongoDBContainer MONGO_DB_CONTAINER = new MongoDBContainer("mongo:6.0");
+
+    private static MongoClient mongoClient;
+
+    @BeforeAll
+    public static void startContainer() {
+        MONGO_DB_CONTAINER.start();
+        mongoClient = MongoClients.create(MONGO_DB_CONTAINER.getReplicaSetUrl());
+    }
+
+    @AfterAll
+    public static void stopContainer() {
+        mongoClient.close();
+        MONGO_DB_CONTAINER.stop();
+    }
+
+    @Test
+    void should_invalidate_owner_cached_on_one_node_when_another_node_updates_it() throws Exception {
+        MongoTemplate mongoTemplate = new MongoTemplate(mongoClient, "property-register");
+        MongoDbDocumentCache firstCache = new MongoDbDocumentCache(100);
+        MongoDbChangeStreamListener firstListener = new MongoDbChangeStreamListener(mongoTemplate, firstCache, "first", 100, 100);
+        MongoDbOwnerRepository firstNode = node(mongoTemplate, firstCache);
+        MongoDbOwnerRepository secondNode = node(mongoTemplate, MongoDbDocumentCache.disabled());
+
+        firstListener.start();
+        try {
+            awaitLive(firstCache);
+
+            Owner owner = new Owner(0, "John", "Smith",
+                    30, FamilyStatus.SINGLE,
+                    false, "johnsmith@gmail.com",
+                    "+456987123",
+                    LocalDate.of(1994, 8, 9),
+                    BigDecimal.ZERO, new ArrayList<>());
+            secondNode.save(owner);
+            assertEquals("John", firstNode.findById(owner.getId()).getFirstName());
+
+            secondNode.update(owner.getId(), owner.withFirstName("Frank"));
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (!"Frank".equals(firstNode.findById(owner.getId()).getFirstName()) && System.currentTimeMillis() < deadline) {
+                Thread.sleep(20);
+            }
+            assertEquals("Frank", firstNode.findById(owner.getId()).getFirstName());
+        } finally {
+            firstListener.stop();
+        }
+    }
+
+    private static MongoDbOwnerRepository node(MongoTemplate mongoTemplate, MongoDbDocumentCache cache) {
+        return new MongoDbOwnerRepository(mongoTemplate,
+                new MongoDbIdAllocator(mongoTemplate, "ownerId", 10),
+                new MongoDbIdAllocator(mongoTemplate, "propertyId", 10),
+                cache);
+    }
+
+    private static void awaitLive(MongoDbDocumentCache cache) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!cache.isLive() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertTrue(cache.isLive());
+    }
+}
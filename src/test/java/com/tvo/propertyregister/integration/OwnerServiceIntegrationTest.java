@@ -339,7 +339,8 @@ public class OwnerServiceIntegrationTest extends AbstractServiceTest {
                 owner.getEmail(),
                 owner.getPhoneNumber(),
                 owner.getBirthday(),
-                owner.getTaxesDebt()
+                owner.getTaxesDebt(),
+                null
         );
 
         HttpEntity<UpdateOwnerDto> updateOwnerDtoHttpEntity = new HttpEntity<>(updateOwnerDto);
@@ -391,7 +392,8 @@ public class OwnerServiceIntegrationTest extends AbstractServiceTest {
                 SINGLE_OWNER_WITHOUT_CHILDREN.getEmail(),
                 SINGLE_OWNER_WITHOUT_CHILDREN.getPhoneNumber(),
                 SINGLE_OWNER_WITHOUT_CHILDREN.getBirthday(),
-                SINGLE_OWNER_WITHOUT_CHILDREN.getTaxesDebt()
+                SINGLE_OWNER_WITHOUT_CHILDREN.getTaxesDebt(),
+                null
         ));
 
         ResponseEntity<ErrorDto> response = restTemplate.exchange(
@@ -0,0 +1,126 @@
+package com.tvo.propertyregister.integration;
+
+import com.tvo.propertyregister.PropertyRegisterApplication;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import com.tvo.propertyregister.repository.PropertyRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.testcontainers.containers.MongoDBContainer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Run with: mvn test -Dtest=PropertyLayoutBenchmarkTest -Dbenchmark=true
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+public class PropertyLayoutBenchmarkTest {
+
+    private static final MongoDBContainer MONGO_DB_CONTAINER = new MongoDBContainer("mongo:6.0");
+
+    private static final int[] PROPERTIES_PER_OWNER = {1, 100, 10000};
+    private static final int SAMPLES = 100;
+
+    @BeforeAll
+    public static void startContainer() {
+        MONGO_DB_CONTAINER.start();
+    }
+
+    @AfterAll
+    public static void stopContainer() {
+        MONGO_DB_CONTAINER.stop();
+    }
+
+    @Test
+    void should_compare_embedded_and_referenced_property_layouts() {
+        System.out.printf("%-10s %10s %14s %14s %14s %14s%n", "layout", "properties", "owner bytes", "add us", "update us", "findAll us");
+
+        for (String layout : List.of("embedded", "referenced")) {
+            try (ConfigurableApplicationContext context = start(layout)) {
+                for (int properties : PROPERTIES_PER_OWNER) {
+                    Result result = measure(context, properties);
+                    System.out.printf("%-10s %10d %14d %14.1f %14.1f %14.1f%n", layout, properties,
+                            result.ownerBytes(), result.addMicros(), result.updateMicros(), result.findAllMicros());
+                }
+            }
+        }
+    }
+
+    private static Result measure(ConfigurableApplicationContext context, int properties) {
+        OwnerRepository ownerRepository = context.getBean(OwnerRepository.class);
+        PropertyRepository propertyRepository = context.getBean(PropertyRepository.class);
+
+        Owner owner = new Owner(0, "Corporate", "Owner",
+                30, FamilyStatus.SINGLE,
+                false, "corporate@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                BigDecimal.ZERO, new ArrayList<>());
+        ownerRepository.save(owner);
+
+        long started = System.nanoTime();
+        for (int i = 0; i < properties; i++) {
+            propertyRepository.save(owner.getId(), property("Prague"));
+        }
+        double addMicros = (System.nanoTime() - started) / 1e3 / properties;
+
+        List<Property> stored = propertyRepository.findAll(owner.getId());
+        assertEquals(properties, stored.size());
+
+        started = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            propertyRepository.update(owner.getId(), stored.get(i % properties).getId(), property("Brno"));
+        }
+        double updateMicros = (System.nanoTime() - started) / 1e3 / SAMPLES;
+
+        started = System.nanoTime();
+        for (int i = 0; i < SAMPLES; i++) {
+            propertyRepository.findAll(owner.getId());
+        }
+        double findAllMicros = (System.nanoTime() - started) / 1e3 / SAMPLES;
+
+        return new Result(ownerBytes(context.getBean(MongoTemplate.class), owner.getId()), addMicros, updateMicros, findAllMicros);
+    }
+
+    private static int ownerBytes(MongoTemplate mongoTemplate, int ownerId) {
+        Document size = mongoTemplate.getCollection("owners").aggregate(List.of(
+                new Document("$match", new Document("_id", ownerId)),
+                new Document("$project", new Document("size", new Document("$bsonSize", "$$ROOT"))))).first();
+
+        return size.getInteger("size");
+    }
+
+    private static ConfigurableApplicationContext start(String layout) {
+        return new SpringApplicationBuilder(PropertyRegisterApplication.class)
+                .web(WebApplicationType.NONE)
+                .run("--property-register.mongodb.property-layout=" + layout,
+                        "--spring.data.mongodb.host=" + MONGO_DB_CONTAINER.getHost(),
+                        "--spring.data.mongodb.port=" + MONGO_DB_CONTAINER.getFirstMappedPort());
+    }
+
+    private static Property property(String city) {
+        return new Property(
+                0, PropertyType.HOUSE, city, "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+
+    private record Result(int ownerBytes, double addMicros, double updateMicros, double findAllMicros) {
+    }
+}
@@ -5,14 +5,14 @@ import com.mongodb.client.result.UpdateResult;
 import com.tvo.propertyregister.model.owner.Owner;
 import lombok.RequiredArgsConstructor;
 import org.bson.Document;
+import org.bson.types.Decimal128;
 import org.springframework.data.mongodb.core.FindAndModifyOptions;
 import org.springframework.data.mongodb.core.MongoTemplate;
-import org.springframework.data.mongodb.core.aggregation.Aggregation;
-import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 
+import java.math.BigDecimal;
 import java.util.List;
 import java.util.Objects;
 
@@ -35,14 +35,9 @@ public class OwnerTestRepository {
     }
 
     public List<Owner> findDebtors() {
-        Aggregation aggregation = Aggregation.newAggregation(
-                Aggregation.match(Criteria.where("taxesDebt").gt("0")),
-                Aggregation.project("id", "firstName", "lastName", "age", "familyStatus", "hasChildren", "email", "phoneNumber", "birthday", "properties")
-                        .andExpression("toDouble(taxesDebt)").as("taxesDebt")
-        );
-
-        AggregationResults<Owner> results = mongoTemplate.aggregate(aggregation, OWNERS_COLLECTION, Owner.class);
-        return results.getMappedResults();
+        Query criteria = new Query(Criteria.where("taxesDebt").gt(new Decimal128(BigDecimal.ZERO)));
+
+        return mongoTemplate.find(criteria, Owner.class, OWNERS_COLLECTION);
     }
 
 
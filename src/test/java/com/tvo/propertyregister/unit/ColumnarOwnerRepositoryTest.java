@@ -0,0 +1,214 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.InvalidAgeException;
+import com.tvo.propertyregister.exception.InvalidAmountException;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import com.tvo.propertyregister.repository.inmemory.ColumnarOwnerRepository;
+import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.ref.Reference;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Run the heap footprint comparison with: mvn test -Dtest=ColumnarOwnerRepositoryTest -Dbenchmark=true
+@Slf4j
+public class ColumnarOwnerRepositoryTest {
+
+    private static final int FOOTPRINT_OWNERS = 100_000;
+
+    private final ColumnarOwnerRepository ownerRepository = new ColumnarOwnerRepository();
+
+    @Test
+    void should_save_owner_and_materialize_it_by_id() {
+        Owner owner = owner("John", new BigDecimal("10000.5"));
+
+        ownerRepository.save(owner);
+
+        Owner actualOwner = ownerRepository.findById(owner.getId());
+        assertEquals(1, actualOwner.getId());
+        assertEquals("John", actualOwner.getFirstName());
+        assertEquals(30, actualOwner.getAge());
+        assertEquals(FamilyStatus.MARRIED, actualOwner.getFamilyStatus());
+        assertTrue(actualOwner.isHasChildren());
+        assertEquals(LocalDate.of(1994, 8, 9), actualOwner.getBirthday());
+        assertEquals(0, new BigDecimal("10000.5").compareTo(actualOwner.getTaxesDebt()));
+        assertEquals(1, actualOwner.getProperties().size());
+
+        Property actualProperty = actualOwner.getProperties().get(0);
+        assertEquals(1, actualProperty.getId());
+        assertEquals(PropertyType.HOUSE, actualProperty.getPropertyType());
+        assertEquals("Heroev Street 24", actualProperty.getAddress());
+        assertEquals(0, new BigDecimal("500000").compareTo(actualProperty.getCost()));
+        assertEquals(LocalDate.of(2012, 1, 9), actualProperty.getDateOfBuilding());
+        assertEquals(PropertyCondition.BAD_REPAIR, actualProperty.getPropertyCondition());
+    }
+
+    @Test
+    void should_throw_exception_when_owner_does_not_exist() {
+        assertThrows(NoSuchOwnerException.class, () -> ownerRepository.findById(1));
+    }
+
+    @Test
+    void should_update_owner_and_replace_properties() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        int propertyId = owner.getProperties().get(0).getId();
+
+        Owner updatedOwner = owner("Frank", new BigDecimal("100"));
+        updatedOwner.setProperties(new ArrayList<>(List.of(owner.getProperties().get(0), property())));
+        ownerRepository.update(owner.getId(), updatedOwner);
+
+        Owner actualOwner = ownerRepository.findById(owner.getId());
+        assertEquals("Frank", actualOwner.getFirstName());
+        assertEquals(List.of(propertyId, propertyId + 1), actualOwner.getProperties().stream().map(Property::getId).toList());
+    }
+
+    @Test
+    void should_not_update_non_existing_owner() {
+        assertThrows(UpdateOwnerFailedException.class, () -> ownerRepository.update(1, owner("John", BigDecimal.ZERO)));
+    }
+
+    @Test
+    void should_remove_owner() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        assertTrue(ownerRepository.remove(owner.getId()));
+        assertFalse(ownerRepository.remove(owner.getId()));
+        assertEquals(List.of(), ownerRepository.findAll());
+    }
+
+    @Test
+    void should_answer_debt_queries_from_debt_column() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Frank", new BigDecimal("10000")));
+        ownerRepository.save(owner("Linda", new BigDecimal("500.50")));
+
+        assertEquals(List.of("John", "Frank", "Linda"), firstNames(ownerRepository.findDebtors()));
+        assertEquals(List.of("John", "Linda"), firstNames(ownerRepository.findByTaxesDebtBetween(new BigDecimal("100"), new BigDecimal("1000"))));
+        assertEquals(List.of("Frank", "Linda"), firstNames(ownerRepository.findTopDebtors(2)));
+    }
+
+    @Test
+    void should_recount_debts_in_debt_column() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100.05")));
+
+        assertEquals(1, ownerRepository.recountDebts(new BigDecimal("1.05"), 1));
+
+        assertEquals(new BigDecimal("0"), ownerRepository.findById(1).getTaxesDebt());
+        assertEquals(new BigDecimal("105.1"), ownerRepository.findById(2).getTaxesDebt());
+    }
+
+    @Test
+    void should_reject_amounts_that_do_not_fit_the_money_column() {
+        assertThrows(InvalidAmountException.class, () -> ownerRepository.save(owner("John", new BigDecimal("10.005"))));
+        assertThrows(InvalidAmountException.class, () -> ownerRepository.save(owner("John", new BigDecimal("1E+20"))));
+        assertEquals(List.of(), ownerRepository.findAll());
+    }
+
+    @Test
+    void should_reject_ages_that_do_not_fit_the_age_column() {
+        Owner tooOld = owner("John", new BigDecimal("100"));
+        tooOld.setAge(256);
+        Owner negative = owner("John", new BigDecimal("100"));
+        negative.setAge(-1);
+
+        assertThrows(InvalidAgeException.class, () -> ownerRepository.save(tooOld));
+        assertThrows(InvalidAgeException.class, () -> ownerRepository.save(negative));
+        assertEquals(List.of(), ownerRepository.findAll());
+    }
+
+    @Test
+    void should_clamp_debt_range_bounds_outside_the_money_column() {
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+
+        assertEquals(List.of("John"), firstNames(ownerRepository.findByTaxesDebtBetween(new BigDecimal("-1E+30"), new BigDecimal("1E+30"))));
+    }
+
+    @Test
+    void should_page_owners_and_debtors_by_id_cursor() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Frank", new BigDecimal("10000")));
+        ownerRepository.remove(2);
+
+        assertEquals(List.of("Carel", "Frank"), firstNames(ownerRepository.streamAll(0, 10).toList()));
+        assertEquals(List.of("Frank"), firstNames(ownerRepository.streamDebtors(1, 10).toList()));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "benchmark", matches = "true")
+    void should_take_less_heap_than_in_memory_owner_repository() {
+        long inMemoryFootprint = measureFootprint(InMemoryOwnerRepository::new);
+        long columnarFootprint = measureFootprint(ColumnarOwnerRepository::new);
+
+        log.info("Heap used by {} owners: in-memory {} KB, columnar {} KB",
+                FOOTPRINT_OWNERS, inMemoryFootprint / 1024, columnarFootprint / 1024);
+
+        assertTrue(columnarFootprint * 2 < inMemoryFootprint);
+    }
+
+    private static long measureFootprint(Supplier<OwnerRepository> repositoryFactory) {
+        long before = usedHeapAfterGc();
+
+        OwnerRepository repository = repositoryFactory.get();
+        for (int i = 0; i < FOOTPRINT_OWNERS; i++) {
+            repository.save(owner("John", new BigDecimal(i)));
+        }
+
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(repository);
+
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private static List<String> firstNames(List<Owner> owners) {
+        return owners.stream().map(Owner::getFirstName).toList();
+    }
+
+    private static Owner owner(String firstName, BigDecimal taxesDebt) {
+        return new Owner(0, firstName, "Smith",
+                30, FamilyStatus.MARRIED,
+                true, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                taxesDebt, new ArrayList<>(List.of(property())));
+    }
+
+    private static Property property() {
+        return new Property(
+                0, PropertyType.HOUSE, "Prague", "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+}
@@ -5,6 +5,7 @@ import com.tvo.propertyregister.exception.NoDebtorsInDebtorListException;
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
 import com.tvo.propertyregister.model.dto.EmailEventDto;
 import com.tvo.propertyregister.model.dto.EmailType;
+import com.tvo.propertyregister.model.owner.DebtorContact;
 import com.tvo.propertyregister.model.owner.FamilyStatus;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.service.DebtorNotificationService;
@@ -57,7 +58,7 @@ public class DebtorNotificationServiceTest {
                 EmailType.ALL_DEBTOR_NOTIFICATION,
                 params);
 
-        when(ownerService.findDebtors()).thenReturn(List.of(debtor));
+        when(ownerService.findDebtorContacts()).thenReturn(List.of(DebtorContact.of(debtor)));
 
         boolean result = debtorNotificationService.notifyAllDebtors();
 
@@ -77,9 +78,9 @@ public class DebtorNotificationServiceTest {
                 FamilyStatus.SINGLE
         );
 
-        List<Owner> debtors = List.of(debtor, debtor2);
+        List<DebtorContact> debtors = List.of(DebtorContact.of(debtor), DebtorContact.of(debtor2));
 
-        when(ownerService.findDebtors()).thenReturn(debtors);
+        when(ownerService.findDebtorContacts()).thenReturn(debtors);
 
         boolean result = debtorNotificationService.notifyAllDebtors();
 
@@ -89,7 +90,7 @@ public class DebtorNotificationServiceTest {
 
     @Test
     void should_notify_all_debtors_when_no_debtors() {
-        when(ownerService.findDebtors()).thenReturn(List.of());
+        when(ownerService.findDebtorContacts()).thenReturn(List.of());
 
         assertThrows(NoDebtorsInDebtorListException.class, () -> debtorNotificationService.notifyAllDebtors());
 
@@ -0,0 +1,202 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.durable.DurableOwnerRepository;
+import com.tvo.propertyregister.repository.durable.DurablePropertyRepository;
+import com.tvo.propertyregister.repository.durable.DurableStore;
+import com.tvo.propertyregister.repository.durable.DurableTaxRateRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DurableRepositoryTest {
+
+    private static final int SNAPSHOT_INTERVAL = 1000;
+
+    @TempDir
+    private Path directory;
+
+    private DurableStore store;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        this.store.close();
+    }
+
+    @Test
+    void should_replay_log_after_restart() throws IOException {
+        open(SNAPSHOT_INTERVAL);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Linda", new BigDecimal("0")));
+        ownerRepository.save(owner("Frank", new BigDecimal("500")));
+        ownerRepository.update(1, ownerRepository.findById(1).withFirstName("Johnny"));
+        ownerRepository.remove(2);
+        new DurablePropertyRepository(store).save(3, property("Brno"));
+        new DurableTaxRateRepository(store).changeTax(PropertyType.HOUSE, new BigDecimal("9.5"));
+        List<Owner> ownersBeforeRestart = ownerRepository.findAll();
+
+        reopen(SNAPSHOT_INTERVAL);
+
+        DurableOwnerRepository restoredRepository = new DurableOwnerRepository(store);
+        assertEquals(ownersBeforeRestart, restoredRepository.findAll());
+        assertEquals(List.of("Frank", "Johnny"), restoredRepository.findTopDebtors(10).stream().map(Owner::getFirstName).toList());
+        assertEquals(new TaxRate(2, PropertyType.HOUSE, new BigDecimal("9.5")), new DurableTaxRateRepository(store).findAll().get(1));
+    }
+
+    @Test
+    void should_replay_debt_recount_after_restart() throws IOException {
+        open(SNAPSHOT_INTERVAL);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Linda", new BigDecimal("0")));
+
+        assertEquals(1, ownerRepository.recountDebts(new BigDecimal("1.05"), 1));
+
+        reopen(SNAPSHOT_INTERVAL);
+
+        DurableOwnerRepository restoredRepository = new DurableOwnerRepository(store);
+        assertEquals(new BigDecimal("105.0"), restoredRepository.findById(1).getTaxesDebt());
+        assertEquals(new BigDecimal("0"), restoredRepository.findById(2).getTaxesDebt());
+    }
+
+    @Test
+    void should_not_apply_debt_recount_twice_when_snapshot_already_covers_log() throws IOException {
+        open(SNAPSHOT_INTERVAL);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.recountDebts(new BigDecimal("1.05"), 1);
+        byte[] logCoveredBySnapshot = Files.readAllBytes(directory.resolve("owners.wal"));
+
+        store.snapshot();
+        store.close();
+        Files.write(directory.resolve("owners.wal"), logCoveredBySnapshot);
+        open(SNAPSHOT_INTERVAL);
+
+        assertEquals(new BigDecimal("105.0"), new DurableOwnerRepository(store).findById(1).getTaxesDebt());
+    }
+
+    @Test
+    void should_restore_from_snapshot_and_log_tail() throws IOException {
+        open(2);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Linda", new BigDecimal("0")));
+        ownerRepository.save(owner("Frank", new BigDecimal("500")));
+        ownerRepository.remove(3);
+
+        reopen(2);
+
+        assertTrue(Files.exists(directory.resolve("owners.snapshot")));
+
+        DurableOwnerRepository restoredRepository = new DurableOwnerRepository(store);
+        assertEquals(List.of("John", "Linda"), restoredRepository.findAll().stream().map(Owner::getFirstName).toList());
+
+        Owner newOwner = owner("Carel", BigDecimal.ZERO);
+        restoredRepository.save(newOwner);
+        assertEquals(4, newOwner.getId());
+        assertEquals(4, newOwner.getProperties().get(0).getId());
+    }
+
+    @Test
+    void should_not_apply_write_that_failed_to_reach_log() throws IOException {
+        open(SNAPSHOT_INTERVAL);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        store.close();
+
+        assertThrows(UncheckedIOException.class, () -> ownerRepository.save(owner("Linda", BigDecimal.ZERO)));
+        assertEquals(List.of("John"), ownerRepository.findAll().stream().map(Owner::getFirstName).toList());
+        assertThrows(IllegalStateException.class, () -> ownerRepository.update(1, ownerRepository.findById(1).withFirstName("Johnny")));
+        assertEquals("John", ownerRepository.findById(1).getFirstName());
+
+        open(SNAPSHOT_INTERVAL);
+        assertEquals(List.of("John"), new DurableOwnerRepository(store).findAll().stream().map(Owner::getFirstName).toList());
+    }
+
+    @Test
+    void should_ignore_torn_last_entry() throws IOException {
+        open(SNAPSHOT_INTERVAL);
+        new DurableOwnerRepository(store).save(owner("John", new BigDecimal("100")));
+        store.close();
+
+        Files.writeString(directory.resolve("owners.wal"), "{\"type\":\"PUT_OW", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        open(SNAPSHOT_INTERVAL);
+        DurableOwnerRepository restoredRepository = new DurableOwnerRepository(store);
+        assertEquals(1, restoredRepository.findAll().size());
+
+        restoredRepository.save(owner("Linda", BigDecimal.ZERO));
+        reopen(SNAPSHOT_INTERVAL);
+        assertEquals(2, new DurableOwnerRepository(store).findAll().size());
+    }
+
+    @Test
+    void should_keep_every_concurrent_write() throws Exception {
+        open(50);
+        DurableOwnerRepository ownerRepository = new DurableOwnerRepository(store);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < 400; i++) {
+                BigDecimal debt = new BigDecimal(i);
+                results.add(executor.submit(() -> ownerRepository.save(owner("Owner", debt))));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get());
+            }
+        }
+
+        reopen(50);
+
+        assertEquals(400, new DurableOwnerRepository(store).findAll().size());
+    }
+
+    private void open(int snapshotInterval) {
+        this.store = new DurableStore(directory, snapshotInterval);
+    }
+
+    private void reopen(int snapshotInterval) throws IOException {
+        this.store.close();
+        open(snapshotInterval);
+    }
+
+    private static Owner owner(String firstName, BigDecimal taxesDebt) {
+        return new Owner(0, firstName, "Smith",
+                30, FamilyStatus.MARRIED,
+                true, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                taxesDebt, new ArrayList<>(List.of(property("Prague"))));
+    }
+
+    private static Property property(String city) {
+        return new Property(
+                0, PropertyType.HOUSE, city, "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+}
@@ -0,0 +1,387 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.owner.DebtorContact;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryOwnerRepositoryTest {
+
+    private final InMemoryOwnerRepository ownerRepository = new InMemoryOwnerRepository();
+
+    @Test
+    void should_save_owner_and_find_it_by_id() {
+        Owner owner = owner("John", new BigDecimal("0"));
+
+        ownerRepository.save(owner);
+
+        assertEquals(1, owner.getId());
+        assertEquals(owner, ownerRepository.findById(owner.getId()));
+        assertEquals(1, owner.getProperties().get(0).getId());
+    }
+
+    @Test
+    void should_throw_exception_when_owner_does_not_exist() {
+        assertThrows(NoSuchOwnerException.class, () -> ownerRepository.findById(-1));
+    }
+
+    @Test
+    void should_find_owners_by_ids_skipping_missing_ones() {
+        ownerRepository.save(owner("John", new BigDecimal("0")));
+        ownerRepository.save(owner("Frank", new BigDecimal("100")));
+        ownerRepository.save(owner("Linda", new BigDecimal("500")));
+        ownerRepository.remove(2);
+
+        assertEquals(List.of(1, 3), ids(ownerRepository.findAllById(List.of(1, 2, 3, 7)).stream()));
+    }
+
+    @Test
+    void should_update_owner_without_renumbering_existing_properties() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        int propertyId = owner.getProperties().get(0).getId();
+
+        Owner updatedOwner = owner("Frank", new BigDecimal("100"));
+        updatedOwner.setProperties(new ArrayList<>(List.of(owner.getProperties().get(0), property())));
+        ownerRepository.update(owner.getId(), updatedOwner);
+
+        Owner actualOwner = ownerRepository.findById(owner.getId());
+        assertEquals("Frank", actualOwner.getFirstName());
+        assertEquals(propertyId, actualOwner.getProperties().get(0).getId());
+        assertEquals(propertyId + 1, actualOwner.getProperties().get(1).getId());
+    }
+
+    @Test
+    void should_keep_properties_when_update_has_no_properties() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        Owner updatedOwner = owner("Frank", new BigDecimal("100"));
+        updatedOwner.setProperties(null);
+        ownerRepository.update(owner.getId(), updatedOwner);
+
+        assertEquals(1, ownerRepository.findById(owner.getId()).getProperties().size());
+    }
+
+    @Test
+    void should_not_update_non_existing_owner() {
+        assertThrows(UpdateOwnerFailedException.class, () -> ownerRepository.update(-1, owner("John", BigDecimal.ZERO)));
+    }
+
+    @Test
+    void should_remove_owner() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        assertTrue(ownerRepository.remove(owner.getId()));
+        assertFalse(ownerRepository.remove(owner.getId()));
+        assertEquals(List.of(), ownerRepository.findAll());
+    }
+
+    @Test
+    void should_page_owners_and_debtors_by_id_cursor() {
+        for (int i = 0; i < 100; i++) {
+            ownerRepository.save(owner("Owner " + i, new BigDecimal(i % 2)));
+        }
+        ownerRepository.remove(42);
+
+        assertEquals(List.of(41, 43, 44), ids(ownerRepository.streamAll(40, 3)));
+        assertEquals(List.of(40, 44, 46), ids(ownerRepository.streamDebtors(38, 3)));
+        assertEquals(List.of(100), ids(ownerRepository.streamAll(99, 10)));
+        assertEquals(List.of(), ids(ownerRepository.streamAll(100, 10)));
+        assertEquals(List.of(), ids(ownerRepository.streamAll(Integer.MAX_VALUE, 10)));
+    }
+
+    @Test
+    void should_page_sparse_debtors_across_lock_stripes() {
+        for (int i = 1; i <= 1000; i++) {
+            ownerRepository.save(owner("Owner " + i, new BigDecimal(i % 7 == 0 ? 1 : 0)));
+        }
+
+        List<Integer> expectedIds = new ArrayList<>();
+        for (int id = 7; expectedIds.size() < 50; id += 7) {
+            expectedIds.add(id);
+        }
+
+        assertEquals(expectedIds, ids(ownerRepository.streamDebtors(0, 50)));
+        assertEquals(List.of(994), ids(ownerRepository.streamDebtors(987, 50)));
+        assertEquals(1000, ids(ownerRepository.streamAll(0, 5000)).size());
+    }
+
+    @Test
+    void should_save_all_owners_with_their_properties() {
+        List<Owner> owners = List.of(owner("John", new BigDecimal("0")), owner("Linda", new BigDecimal("10.0")));
+
+        assertEquals(Map.of(), ownerRepository.saveAll(owners));
+
+        assertEquals(List.of(1, 2), ids(ownerRepository.streamAll(0, 10)));
+        assertEquals(owners.get(1), ownerRepository.findById(2));
+    }
+
+    @Test
+    void should_return_only_debtors() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        Owner debtor = owner("Linda", new BigDecimal("10000.0"));
+        ownerRepository.save(owner);
+        ownerRepository.save(debtor);
+
+        assertEquals(List.of(debtor), ownerRepository.findDebtors());
+    }
+
+    @Test
+    void should_return_contacts_of_debtors_only() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        Owner debtor = owner("Linda", new BigDecimal("10000.0"));
+        ownerRepository.save(owner);
+        ownerRepository.save(debtor);
+
+        assertEquals(List.of(new DebtorContact(debtor.getId(), debtor.getEmail(), "Linda", debtor.getLastName(), new BigDecimal("10000.0"))),
+                ownerRepository.findDebtorContacts());
+    }
+
+    @Test
+    void should_not_return_former_debtor_after_debt_is_paid() {
+        Owner debtor = owner("Linda", new BigDecimal("10000.0"));
+        ownerRepository.save(debtor);
+
+        ownerRepository.update(debtor.getId(), owner("Linda", new BigDecimal("0")));
+
+        assertEquals(List.of(), ownerRepository.findDebtors());
+    }
+
+    @Test
+    void should_return_owners_with_debt_between_bounds_in_ascending_order() {
+        Owner smallDebtor = owner("John", new BigDecimal("100"));
+        Owner middleDebtor = owner("Linda", new BigDecimal("500.50"));
+        Owner bigDebtor = owner("Frank", new BigDecimal("10000"));
+        ownerRepository.save(bigDebtor);
+        ownerRepository.save(middleDebtor);
+        ownerRepository.save(smallDebtor);
+
+        assertEquals(List.of(smallDebtor, middleDebtor), ownerRepository.findByTaxesDebtBetween(new BigDecimal("100.0"), new BigDecimal("1000")));
+        assertEquals(List.of(), ownerRepository.findByTaxesDebtBetween(new BigDecimal("1000"), new BigDecimal("100")));
+    }
+
+    @Test
+    void should_recount_debts_of_debtors_only() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Linda", new BigDecimal("10000.0")));
+
+        assertEquals(2, ownerRepository.recountDebts(new BigDecimal("1.05"), 1));
+
+        assertEquals(new BigDecimal("0"), ownerRepository.findById(1).getTaxesDebt());
+        assertEquals(new BigDecimal("105.0"), ownerRepository.findById(2).getTaxesDebt());
+        assertEquals(new BigDecimal("10500.0"), ownerRepository.findById(3).getTaxesDebt());
+        assertEquals(List.of("Linda", "John"), ownerRepository.findTopDebtors(10).stream().map(Owner::getFirstName).toList());
+    }
+
+    @Test
+    void should_return_top_debtors_in_descending_order() {
+        Owner owner = owner("Carel", new BigDecimal("0"));
+        Owner smallDebtor = owner("John", new BigDecimal("100"));
+        Owner middleDebtor = owner("Linda", new BigDecimal("500"));
+        Owner bigDebtor = owner("Frank", new BigDecimal("10000"));
+        ownerRepository.save(owner);
+        ownerRepository.save(smallDebtor);
+        ownerRepository.save(bigDebtor);
+        ownerRepository.save(middleDebtor);
+
+        assertEquals(List.of(bigDebtor, middleDebtor), ownerRepository.findTopDebtors(2));
+        assertEquals(List.of(bigDebtor, middleDebtor, smallDebtor), ownerRepository.findTopDebtors(10));
+    }
+
+    @Test
+    void should_return_point_in_time_snapshot_from_find_all() {
+        ownerRepository.save(owner("John", new BigDecimal("0")));
+        ownerRepository.save(owner("Linda", new BigDecimal("100")));
+        List<Owner> snapshot = ownerRepository.findAll();
+
+        ownerRepository.update(1, owner("Frank", new BigDecimal("50")));
+        ownerRepository.remove(2);
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+
+        assertEquals(List.of("John", "Linda"), snapshot.stream().map(Owner::getFirstName).toList());
+        assertEquals(List.of("Frank", "Carel"), ownerRepository.findAll().stream().map(Owner::getFirstName).toList());
+    }
+
+    @Test
+    void should_not_expose_stored_properties_for_modification() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        owner.getProperties().clear();
+
+        assertEquals(1, ownerRepository.findById(owner.getId()).getProperties().size());
+        assertThrows(UnsupportedOperationException.class, () -> ownerRepository.findById(owner.getId()).getProperties().add(property()));
+    }
+
+    @Test
+    void should_not_expose_stored_owners_for_modification() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        Owner foundOwner = ownerRepository.findById(owner.getId());
+        foundOwner.setFirstName("Frank");
+        foundOwner.getProperties().get(0).setCity("Brno");
+        ownerRepository.findAll().get(0).setTaxesDebt(new BigDecimal("100"));
+
+        Owner storedOwner = ownerRepository.findById(owner.getId());
+        assertEquals("John", storedOwner.getFirstName());
+        assertEquals("Prague", storedOwner.getProperties().get(0).getCity());
+        assertEquals(List.of(), ownerRepository.findDebtors());
+    }
+
+    @Test
+    void should_read_consistent_snapshots_while_writers_run() throws Exception {
+        for (int i = 0; i < 100; i++) {
+            ownerRepository.save(owner("John", new BigDecimal("0")));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> writer = executor.submit(() -> {
+                for (int i = 0; i < 2000; i++) {
+                    int id = i % 100 + 1;
+                    ownerRepository.update(id, ownerRepository.findById(id).withTaxesDebt(new BigDecimal(i)));
+                    ownerRepository.save(owner("Linda", new BigDecimal("1")));
+                }
+            });
+            Future<?> reader = executor.submit(() -> {
+                while (!writer.isDone()) {
+                    List<Owner> owners = ownerRepository.findAll();
+                    for (int i = 1; i < owners.size(); i++) {
+                        assertTrue(owners.get(i - 1).getId() < owners.get(i).getId());
+                    }
+                }
+            });
+
+            writer.get();
+            reader.get();
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2100, ownerRepository.findAll().size());
+    }
+
+    @Test
+    void should_reject_update_with_stale_version() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        long version = ownerRepository.findVersion(owner.getId());
+
+        assertTrue(ownerRepository.update(owner.getId(), owner("Frank", new BigDecimal("10")), version));
+        assertFalse(ownerRepository.update(owner.getId(), owner("Linda", new BigDecimal("20")), version));
+
+        assertEquals(version + 1, ownerRepository.findVersion(owner.getId()));
+        assertEquals("Frank", ownerRepository.findById(owner.getId()).getFirstName());
+    }
+
+    @Test
+    void should_not_lose_concurrent_optimistic_updates_of_one_owner() throws Exception {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        int threads = 8;
+        int incrementsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < incrementsPerThread; j++) {
+                        boolean updated;
+                        do {
+                            long version = ownerRepository.findVersion(owner.getId());
+                            Owner current = ownerRepository.findById(owner.getId());
+                            updated = ownerRepository.update(owner.getId(), current.withTaxesDebt(current.getTaxesDebt().add(BigDecimal.ONE)), version);
+                        } while (!updated);
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(new BigDecimal(threads * incrementsPerThread), ownerRepository.findById(owner.getId()).getTaxesDebt());
+        assertEquals(List.of(ownerRepository.findById(owner.getId())), ownerRepository.findDebtors());
+    }
+
+    @Test
+    void should_allocate_unique_ids_when_saving_concurrently() throws Exception {
+        int threads = 8;
+        int ownersPerThread = 1000;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                futures.add(executor.submit(() -> {
+                    for (int j = 0; j < ownersPerThread; j++) {
+                        ownerRepository.save(owner("John", new BigDecimal("0")));
+                    }
+                }));
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        List<Owner> owners = ownerRepository.findAll();
+        Set<Integer> propertyIds = new HashSet<>();
+        owners.forEach(owner -> propertyIds.add(owner.getProperties().get(0).getId()));
+
+        assertEquals(threads * ownersPerThread, owners.size());
+        assertEquals(threads * ownersPerThread, propertyIds.size());
+    }
+
+    private static List<Integer> ids(Stream<Owner> owners) {
+        return owners.map(Owner::getId).toList();
+    }
+
+    private static Owner owner(String firstName, BigDecimal taxesDebt) {
+        return new Owner(0, firstName, "Smith",
+                30, FamilyStatus.SINGLE,
+                false, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                taxesDebt, new ArrayList<>(List.of(property())));
+    }
+
+    private static Property property() {
+        return new Property(
+                0, PropertyType.FLAT, "Prague", "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.GOOD);
+    }
+}
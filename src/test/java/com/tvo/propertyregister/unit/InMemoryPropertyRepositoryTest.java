@@ -0,0 +1,194 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
+import com.tvo.propertyregister.repository.inmemory.InMemoryPropertyRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemoryPropertyRepositoryTest {
+
+    private final InMemoryOwnerRepository ownerRepository = new InMemoryOwnerRepository();
+    private final InMemoryPropertyRepository propertyRepository = new InMemoryPropertyRepository(ownerRepository);
+
+    @Test
+    void should_share_properties_with_owner_store() {
+        Owner owner = owner(property("Prague"));
+        ownerRepository.save(owner);
+
+        propertyRepository.save(owner.getId(), property("Brno"));
+
+        assertEquals(List.of("Prague", "Brno"), cities(propertyRepository.findAll(owner.getId())));
+        assertEquals(List.of("Prague", "Brno"), cities(ownerRepository.findById(owner.getId()).getProperties()));
+    }
+
+    @Test
+    void should_update_single_property_in_place() {
+        Owner owner = owner(property("Prague"), property("Brno"));
+        ownerRepository.save(owner);
+        int propertyId = owner.getProperties().get(1).getId();
+
+        Property update = new Property();
+        update.setCity("Kyiv");
+        update.setAddress("K-street");
+        update.setNumberOfRooms(4);
+        update.setPropertyCondition(PropertyCondition.GOOD);
+        propertyRepository.update(owner.getId(), propertyId, update);
+
+        Property actualProperty = propertyRepository.findAll(owner.getId()).get(1);
+        assertEquals(propertyId, actualProperty.getId());
+        assertEquals("Kyiv", actualProperty.getCity());
+        assertEquals("K-street", actualProperty.getAddress());
+        assertEquals(4, actualProperty.getNumberOfRooms());
+        assertEquals(PropertyCondition.GOOD, actualProperty.getPropertyCondition());
+        assertEquals(PropertyType.HOUSE, actualProperty.getPropertyType());
+    }
+
+    @Test
+    void should_remove_property_in_place_and_reindex_following_ones() {
+        Owner owner = owner(property("Prague"), property("Brno"), property("Ostrava"));
+        ownerRepository.save(owner);
+        int removedId = owner.getProperties().get(0).getId();
+        int shiftedId = owner.getProperties().get(2).getId();
+
+        propertyRepository.remove(owner.getId(), removedId);
+
+        assertEquals(List.of("Brno", "Ostrava"), cities(propertyRepository.findAll(owner.getId())));
+        assertThrows(PropertyNotFoundException.class, () -> propertyRepository.remove(owner.getId(), removedId));
+
+        propertyRepository.remove(owner.getId(), shiftedId);
+
+        assertEquals(List.of("Brno"), cities(propertyRepository.findAll(owner.getId())));
+    }
+
+    @Test
+    void should_reindex_properties_replaced_through_owner_update() {
+        Owner owner = owner(property("Prague"));
+        ownerRepository.save(owner);
+        int oldPropertyId = owner.getProperties().get(0).getId();
+
+        ownerRepository.update(owner.getId(), ownerRepository.findById(owner.getId()).withProperties(List.of(property("Brno"))));
+        int newPropertyId = propertyRepository.findAll(owner.getId()).get(0).getId();
+
+        assertThrows(PropertyNotFoundException.class, () -> propertyRepository.remove(owner.getId(), oldPropertyId));
+        assertTrue(propertyRepository.remove(owner.getId(), newPropertyId));
+        assertEquals(List.of(), propertyRepository.findAll(owner.getId()));
+    }
+
+    @Test
+    void should_not_touch_property_of_another_owner() {
+        Owner firstOwner = owner(property("Prague"));
+        Owner secondOwner = owner(property("Brno"));
+        ownerRepository.save(firstOwner);
+        ownerRepository.save(secondOwner);
+
+        int foreignPropertyId = secondOwner.getProperties().get(0).getId();
+
+        assertThrows(PropertyNotFoundException.class, () -> propertyRepository.remove(firstOwner.getId(), foreignPropertyId));
+        assertEquals(List.of("Brno"), cities(propertyRepository.findAll(secondOwner.getId())));
+    }
+
+    @Test
+    void should_find_properties_by_city_and_type() {
+        Owner firstOwner = owner(property("Prague"), property("Brno", PropertyType.OFFICE));
+        Owner secondOwner = owner(property("Prague", PropertyType.OFFICE), property("Ostrava"));
+        ownerRepository.save(firstOwner);
+        ownerRepository.save(secondOwner);
+
+        assertEquals(List.of("Prague", "Prague"), cities(propertyRepository.findByCity("Prague")));
+        assertEquals(List.of("Brno", "Prague"), cities(propertyRepository.findByPropertyType(PropertyType.OFFICE)));
+        assertEquals(List.of(secondOwner.getProperties().get(0).getId()),
+                ids(propertyRepository.findByCityAndPropertyType("Prague", PropertyType.OFFICE)));
+        assertEquals(List.of(), propertyRepository.findByPropertyType(PropertyType.FLAT));
+    }
+
+    @Test
+    void should_keep_secondary_indexes_in_sync_with_writes() {
+        Owner owner = owner(property("Prague"), property("Brno"));
+        ownerRepository.save(owner);
+        int movedPropertyId = owner.getProperties().get(1).getId();
+
+        propertyRepository.update(owner.getId(), movedPropertyId, property("Kyiv"));
+        propertyRepository.remove(owner.getId(), owner.getProperties().get(0).getId());
+        propertyRepository.save(owner.getId(), property("Prague", PropertyType.FLAT));
+
+        assertEquals(List.of(), propertyRepository.findByCity("Brno"));
+        assertEquals(List.of(movedPropertyId), ids(propertyRepository.findByCity("Kyiv")));
+        assertEquals(List.of(PropertyType.FLAT), propertyRepository.findByCity("Prague").stream().map(Property::getPropertyType).toList());
+
+        ownerRepository.remove(owner.getId());
+
+        assertEquals(List.of(), propertyRepository.findByCity("Kyiv"));
+        assertEquals(List.of(), propertyRepository.findByPropertyType(PropertyType.HOUSE));
+    }
+
+    @Test
+    void should_move_kept_property_between_city_indexes_when_properties_are_replaced() {
+        Owner owner = owner(property("Prague"), property("Brno"));
+        ownerRepository.save(owner);
+        Property keptProperty = property("Kyiv");
+        keptProperty.setId(owner.getProperties().get(1).getId());
+
+        propertyRepository.update(owner.getId(), List.of(keptProperty));
+
+        assertEquals(List.of(), propertyRepository.findByCity("Prague"));
+        assertEquals(List.of(), propertyRepository.findByCity("Brno"));
+        assertEquals(List.of(keptProperty.getId()), ids(propertyRepository.findByCity("Kyiv")));
+        assertEquals(List.of(keptProperty.getId()), ids(propertyRepository.findByPropertyType(PropertyType.HOUSE)));
+    }
+
+    @Test
+    void should_throw_exception_when_owner_does_not_exist() {
+        Owner owner = owner(property("Prague"));
+        ownerRepository.save(owner);
+        int propertyId = owner.getProperties().get(0).getId();
+        ownerRepository.remove(owner.getId());
+
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.findAll(owner.getId()));
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.save(owner.getId(), property("Brno")));
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.update(owner.getId(), propertyId, property("Brno")));
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.remove(owner.getId(), propertyId));
+    }
+
+    private static List<String> cities(List<Property> properties) {
+        return properties.stream().map(Property::getCity).toList();
+    }
+
+    private static Owner owner(Property... properties) {
+        return new Owner(0, "John", "Smith",
+                30, FamilyStatus.MARRIED,
+                true, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                BigDecimal.ZERO, new ArrayList<>(List.of(properties)));
+    }
+
+    private static List<Integer> ids(List<Property> properties) {
+        return properties.stream().map(Property::getId).toList();
+    }
+
+    private static Property property(String city) {
+        return property(city, PropertyType.HOUSE);
+    }
+
+    private static Property property(String city, PropertyType propertyType) {
+        return new Property(
+                0, propertyType, city, "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+}
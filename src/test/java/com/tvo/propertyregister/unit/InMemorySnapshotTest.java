@@ -0,0 +1,134 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.inmemory.InMemoryOwnerRepository;
+import com.tvo.propertyregister.repository.inmemory.InMemorySnapshot;
+import com.tvo.propertyregister.repository.inmemory.InMemoryTaxRateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class InMemorySnapshotTest {
+
+    private static final int CHUNK_SIZE = 100;
+
+    private final InMemoryOwnerRepository ownerRepository = new InMemoryOwnerRepository();
+    private final InMemoryTaxRateRepository taxRateRepository = new InMemoryTaxRateRepository();
+
+    private final InMemoryOwnerRepository restoredOwnerRepository = new InMemoryOwnerRepository();
+    private final InMemoryTaxRateRepository restoredTaxRateRepository = new InMemoryTaxRateRepository();
+
+    @Test
+    void should_restore_owners_properties_and_tax_rates() throws IOException {
+        for (int i = 0; i < 1050; i++) {
+            ownerRepository.save(owner("Owner " + i, new BigDecimal(i).movePointLeft(2)));
+        }
+        ownerRepository.save(new Owner(0, "jan@gmail.com", "Jan", null, null, false, null));
+        ownerRepository.remove(3);
+        taxRateRepository.changeTax(PropertyType.FLAT, new BigDecimal("7.25"));
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        assertEquals(1050, new InMemorySnapshot(ownerRepository, taxRateRepository, CHUNK_SIZE).dump(snapshot));
+
+        int restored = new InMemorySnapshot(restoredOwnerRepository, restoredTaxRateRepository, CHUNK_SIZE)
+                .load(new ByteArrayInputStream(snapshot.toByteArray()));
+
+        assertEquals(1050, restored);
+        assertEquals(sortedById(ownerRepository.findAll()), sortedById(restoredOwnerRepository.findAll()));
+        assertEquals(ownerRepository.findTopDebtors(5), restoredOwnerRepository.findTopDebtors(5));
+        assertEquals(taxRateRepository.findAll(), restoredTaxRateRepository.findAll());
+        assertEquals(ownerRepository.nextOwnerId(), restoredOwnerRepository.nextOwnerId());
+        assertEquals(ownerRepository.nextPropertyId(), restoredOwnerRepository.nextPropertyId());
+    }
+
+    @Test
+    void should_reject_unknown_format() {
+        InMemorySnapshot inMemorySnapshot = new InMemorySnapshot(restoredOwnerRepository, restoredTaxRateRepository, CHUNK_SIZE);
+
+        assertThrows(IOException.class, () -> inMemorySnapshot.load(new ByteArrayInputStream(new byte[]{1, 2, 3, 4, 5})));
+    }
+
+    @Test
+    void should_replace_owners_that_are_absent_from_snapshot() throws IOException {
+        ownerRepository.save(owner("John", new BigDecimal("9".repeat(400))));
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        new InMemorySnapshot(ownerRepository, taxRateRepository, CHUNK_SIZE).dump(snapshot);
+
+        restoredOwnerRepository.save(owner("Frank", BigDecimal.ZERO));
+        restoredOwnerRepository.save(owner("Linda", BigDecimal.ZERO));
+        new InMemorySnapshot(restoredOwnerRepository, restoredTaxRateRepository, CHUNK_SIZE)
+                .load(new ByteArrayInputStream(snapshot.toByteArray()));
+
+        assertEquals(ownerRepository.findAll(), restoredOwnerRepository.findAll());
+        assertEquals(2, restoredOwnerRepository.nextOwnerId());
+    }
+
+    @Test
+    void should_keep_store_untouched_when_snapshot_chunk_is_corrupted() throws IOException {
+        restoredOwnerRepository.save(owner("Frank", BigDecimal.ZERO));
+        List<Owner> owners = restoredOwnerRepository.findAll();
+        InMemorySnapshot inMemorySnapshot = new InMemorySnapshot(restoredOwnerRepository, restoredTaxRateRepository, CHUNK_SIZE);
+
+        assertThrows(IOException.class, () -> inMemorySnapshot.load(snapshotWithChunk(2, new byte[]{0, 0, 0, 7})));
+        assertThrows(IOException.class, () -> inMemorySnapshot.load(snapshotWithChunk(1, null)));
+
+        assertEquals(owners, restoredOwnerRepository.findAll());
+    }
+
+    private static ByteArrayInputStream snapshotWithChunk(int owners, byte[] chunk) throws IOException {
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(snapshot);
+        output.writeInt(0x50525331);
+        output.writeByte(2);
+        output.writeInt(10);
+        output.writeInt(10);
+        output.writeInt(0);
+        output.writeInt(owners);
+        if (Objects.isNull(chunk)) {
+            output.writeInt(Integer.MAX_VALUE);
+        } else {
+            output.writeInt(chunk.length);
+            output.write(chunk);
+        }
+        output.writeInt(0);
+
+        return new ByteArrayInputStream(snapshot.toByteArray());
+    }
+
+    private static List<Owner> sortedById(List<Owner> owners) {
+        return owners.stream().sorted(Comparator.comparingInt(Owner::getId)).toList();
+    }
+
+    private static Owner owner(String firstName, BigDecimal taxesDebt) {
+        return new Owner(0, firstName, "Smith",
+                30, FamilyStatus.MARRIED,
+                true, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                taxesDebt, new ArrayList<>(List.of(property())));
+    }
+
+    private static Property property() {
+        return new Property(
+                0, PropertyType.HOUSE, "Prague", "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+}
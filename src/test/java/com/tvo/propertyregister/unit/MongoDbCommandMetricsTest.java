@@ -0,0 +1,93 @@
+package com.tvo.propertyregister.unit;
+
+import com.mongodb.ServerAddress;
+import com.mongodb.connection.ClusterId;
+import com.mongodb.connection.ConnectionDescription;
+import com.mongodb.connection.ServerId;
+import com.mongodb.event.CommandFailedEvent;
+import com.mongodb.event.CommandStartedEvent;
+import com.mongodb.event.CommandSucceededEvent;
+import com.tvo.propertyregister.model.dto.CommandStatsDto;
+import com.tvo.propertyregister.repository.mongodb.MongoDbCommandMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.bson.BsonArray;
+import org.bson.BsonDocument;
+import org.bson.BsonInt32;
+import org.bson.BsonInt64;
+import org.bson.BsonString;
+import org.bson.RawBsonDocument;
+import org.bson.codecs.BsonDocumentCodec;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoDbCommandMetricsTest {
+
+    private static final ConnectionDescription CONNECTION = new ConnectionDescription(new ServerId(new ClusterId(), new ServerAddress()));
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MongoDbCommandMetrics metrics = new MongoDbCommandMetrics(meterRegistry);
+
+    @Test
+    void should_time_commands_by_collection_and_command() {
+        succeed(1, "find", new BsonDocument("find", new BsonString("owners")), cursor("firstBatch", 3), 2);
+        succeed(2, "getMore", new BsonDocument("getMore", new BsonInt64(7)).append("collection", new BsonString("owners")), cursor("nextBatch", 2), 1);
+        succeed(3, "findAndModify", new BsonDocument("findAndModify", new BsonString("counters")),
+                new BsonDocument("value", new BsonDocument("seq", new BsonInt32(1000))), 5);
+
+        assertEquals(1, meterRegistry.get("mongodb.commands").tag("collection", "owners").tag("command", "find").tag("status", "success").timer().count());
+        assertEquals(1, meterRegistry.get("mongodb.commands").tag("collection", "owners").tag("command", "getMore").timer().count());
+        assertEquals(5, meterRegistry.get("mongodb.commands").tag("collection", "counters").tag("command", "findAndModify").tag("status", "success")
+                .timer().totalTime(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void should_count_documents_returned_and_bytes_received() {
+        BsonDocument response = cursor("firstBatch", 3);
+        succeed(1, "find", new BsonDocument("find", new BsonString("owners")), response, 1);
+
+        assertEquals(3, meterRegistry.get("mongodb.commands.documents").tag("collection", "owners").summary().totalAmount());
+        assertEquals(sizeOf(response), meterRegistry.get("mongodb.commands.bytes").tag("collection", "owners").summary().totalAmount());
+    }
+
+    @Test
+    void should_report_failures_and_order_stats_by_total_time() {
+        succeed(1, "insert", new BsonDocument("insert", new BsonString("owners")), new BsonDocument("n", new BsonInt32(1)), 1);
+        metrics.commandStarted(started(2, "aggregate", new BsonDocument("aggregate", new BsonString("owners"))));
+        metrics.commandFailed(new CommandFailedEvent(null, 1, 2, CONNECTION, "property-register", "aggregate",
+                Duration.ofMillis(9).toNanos(), new IllegalStateException("boom")));
+
+        List<CommandStatsDto> stats = metrics.stats();
+
+        assertEquals(List.of("aggregate", "insert"), stats.stream().map(CommandStatsDto::command).toList());
+        assertEquals(1, stats.get(0).failures());
+        assertEquals(0, meterRegistry.get("mongodb.commands.documents").tag("command", "insert").summary().count());
+    }
+
+    private void succeed(int requestId, String commandName, BsonDocument command, BsonDocument response, long elapsedMs) {
+        metrics.commandStarted(started(requestId, commandName, command));
+        metrics.commandSucceeded(new CommandSucceededEvent(null, 1, requestId, CONNECTION, "property-register", commandName,
+                response, Duration.ofMillis(elapsedMs).toNanos()));
+    }
+
+    private static CommandStartedEvent started(int requestId, String commandName, BsonDocument command) {
+        return new CommandStartedEvent(null, 1, requestId, CONNECTION, "property-register", commandName, command);
+    }
+
+    private static BsonDocument cursor(String batchName, int documents) {
+        BsonArray batch = new BsonArray();
+        for (int i = 0; i < documents; i++) {
+            batch.add(new BsonDocument("_id", new BsonInt32(i)));
+        }
+
+        return new BsonDocument("cursor", new BsonDocument(batchName, batch).append("id", new BsonInt64(0)));
+    }
+
+    private static int sizeOf(BsonDocument document) {
+        return new RawBsonDocument(document, new BsonDocumentCodec()).getByteBuffer().remaining();
+    }
+}
@@ -0,0 +1,100 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.repository.mongodb.MongoDbDocumentCache;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MongoDbDocumentCacheTest {
+
+    private final MongoDbDocumentCache cache = new MongoDbDocumentCache(10);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void should_read_through_until_change_stream_is_live() {
+        cache.owner(1, this::load);
+        cache.owner(1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_serve_owner_from_memory_until_it_is_evicted() {
+        cache.resume();
+
+        Document first = cache.owner(1, this::load);
+        assertSame(first, cache.owner(1, this::load));
+
+        cache.evictOwner(1);
+
+        assertEquals(new Document("_id", 1).append("version", 2), cache.owner(1, this::load));
+    }
+
+    @Test
+    void should_not_keep_document_loaded_before_a_concurrent_eviction() {
+        cache.resume();
+
+        cache.owner(1, () -> {
+            Document stale = load();
+            cache.evictOwner(1);
+            return stale;
+        });
+        cache.owner(1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_stop_serving_from_memory_when_suspended() {
+        cache.resume();
+        cache.owner(1, this::load);
+
+        cache.suspend();
+        cache.owner(1, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_cache_tax_rates_until_evicted() {
+        cache.resume();
+
+        cache.taxRates(() -> List.of(load()));
+        cache.taxRates(() -> List.of(load()));
+        cache.evictTaxRates();
+        cache.taxRates(() -> List.of(load()));
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void should_notify_listeners_when_tax_rates_are_evicted() {
+        AtomicInteger notifications = new AtomicInteger();
+        cache.onTaxRatesEvicted(notifications::incrementAndGet);
+
+        cache.evictOwner(1);
+        cache.evictTaxRates();
+
+        assertEquals(1, notifications.get());
+    }
+
+    @Test
+    void should_never_cache_when_disabled() {
+        MongoDbDocumentCache disabled = MongoDbDocumentCache.disabled();
+        disabled.resume();
+
+        disabled.owner(1, this::load);
+        disabled.owner(1, this::load);
+
+        assertFalse(disabled.isLive());
+        assertEquals(2, loads.get());
+    }
+
+    private Document load() {
+        return new Document("_id", 1).append("version", loads.incrementAndGet());
+    }
+}
@@ -0,0 +1,95 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.repository.mongodb.MongoDbIdAllocator;
+import org.bson.Document;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoDbIdAllocatorTest {
+
+    private static final int BLOCK_SIZE = 10;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private final AtomicInteger sequence = new AtomicInteger();
+
+    @Test
+    void should_reserve_one_block_per_block_size_ids() {
+        stubCounter();
+        MongoDbIdAllocator allocator = new MongoDbIdAllocator(mongoTemplate, "ownerId", BLOCK_SIZE);
+
+        List<Integer> ids = IntStream.range(0, 25).map(i -> allocator.nextId()).boxed().toList();
+
+        assertEquals(IntStream.rangeClosed(1, 25).boxed().toList(), ids);
+        verifyReservations(3);
+    }
+
+    @Test
+    void should_continue_after_ids_reserved_by_other_instances() {
+        stubCounter();
+        MongoDbIdAllocator first = new MongoDbIdAllocator(mongoTemplate, "ownerId", BLOCK_SIZE);
+        MongoDbIdAllocator second = new MongoDbIdAllocator(mongoTemplate, "ownerId", BLOCK_SIZE);
+
+        assertEquals(1, first.nextId());
+        assertEquals(11, second.nextId());
+        assertEquals(2, first.nextId());
+    }
+
+    @Test
+    void should_hand_out_unique_ids_concurrently() throws InterruptedException {
+        stubCounter();
+        MongoDbIdAllocator allocator = new MongoDbIdAllocator(mongoTemplate, "propertyId", BLOCK_SIZE);
+        Set<Integer> ids = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int i = 0; i < 1000; i++) {
+            executor.execute(() -> ids.add(allocator.nextId()));
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+
+        assertEquals(1000, ids.size());
+        assertTrue(ids.stream().allMatch(id -> id >= 1 && id <= 1000));
+        verifyReservations(100);
+    }
+
+    @Test
+    void should_reject_non_positive_block_size() {
+        assertThrows(IllegalArgumentException.class, () -> new MongoDbIdAllocator(mongoTemplate, "ownerId", 0));
+    }
+
+    private void stubCounter() {
+        when(mongoTemplate.findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Document.class), eq("counters")))
+                .thenAnswer(invocation -> new Document("sequence_value", sequence.addAndGet(BLOCK_SIZE)));
+    }
+
+    private void verifyReservations(int count) {
+        verify(mongoTemplate, times(count)).findAndModify(any(Query.class), any(Update.class), any(FindAndModifyOptions.class), eq(Document.class), eq("counters"));
+    }
+}
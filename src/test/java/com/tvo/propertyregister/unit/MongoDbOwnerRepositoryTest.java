@@ -0,0 +1,76 @@
+package com.tvo.propertyregister.unit;
+
+import com.mongodb.MongoBulkWriteException;
+import com.mongodb.ServerAddress;
+import com.mongodb.bulk.BulkWriteError;
+import com.mongodb.bulk.BulkWriteResult;
+import com.mongodb.bulk.WriteConcernError;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.repository.mongodb.MongoDbDocumentCache;
+import com.tvo.propertyregister.repository.mongodb.MongoDbIdAllocator;
+import com.tvo.propertyregister.repository.mongodb.MongoDbOwnerRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoDbOwnerRepositoryTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoDbIdAllocator ownerIds;
+
+    @Mock
+    private MongoDbIdAllocator propertyIds;
+
+    @Mock
+    private BulkOperations bulkOperations;
+
+    private MongoDbOwnerRepository ownerRepository;
+
+    @BeforeEach
+    void setUp() {
+        ownerRepository = new MongoDbOwnerRepository(mongoTemplate, ownerIds, propertyIds, new MongoDbDocumentCache(10));
+        when(mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Owner.class, "owners")).thenReturn(bulkOperations);
+        when(bulkOperations.insert(anyList())).thenReturn(bulkOperations);
+    }
+
+    @Test
+    void should_report_failed_owners_by_index() {
+        when(bulkOperations.execute()).thenThrow(bulkFailure(
+                List.of(new BulkWriteError(11000, "duplicate key", new BsonDocument(), 1)), null));
+
+        assertEquals(Map.of(1, "duplicate key"), ownerRepository.saveAll(List.of(new Owner(), new Owner())));
+    }
+
+    @Test
+    void should_rethrow_bulk_failure_without_write_errors() {
+        BulkOperationException failure = bulkFailure(List.of(), new WriteConcernError(64, "", "waiting for replication timed out", new BsonDocument()));
+        when(bulkOperations.execute()).thenThrow(failure);
+
+        assertEquals(failure, assertThrows(BulkOperationException.class, () -> ownerRepository.saveAll(List.of(new Owner()))));
+    }
+
+    private static BulkOperationException bulkFailure(List<BulkWriteError> errors, WriteConcernError writeConcernError) {
+        MongoBulkWriteException source = new MongoBulkWriteException(BulkWriteResult.unacknowledged(), errors, writeConcernError,
+                new ServerAddress(), Set.of());
+        return new BulkOperationException(source.getMessage(), source);
+    }
+}
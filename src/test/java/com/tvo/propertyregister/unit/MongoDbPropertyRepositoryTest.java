@@ -0,0 +1,104 @@
+package com.tvo.propertyregister.unit;
+
+import com.mongodb.client.result.UpdateResult;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.repository.mongodb.MongoDbDocumentCache;
+import com.tvo.propertyregister.repository.mongodb.MongoDbIdAllocator;
+import com.tvo.propertyregister.repository.mongodb.MongoDbPropertyRepository;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoDbPropertyRepositoryTest {
+
+    private static final int OWNER_ID = 1;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoDbIdAllocator propertyIds;
+
+    private final MongoDbDocumentCache cache = new MongoDbDocumentCache(10);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private MongoDbPropertyRepository propertyRepository;
+
+    @BeforeEach
+    void setUp() {
+        propertyRepository = new MongoDbPropertyRepository(mongoTemplate, propertyIds, cache);
+        cache.resume();
+        lenient().when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Owner.class), eq("owners")))
+                .thenReturn(UpdateResult.acknowledged(1, 1L, null));
+    }
+
+    @Test
+    void should_evict_cached_owner_when_property_is_added() {
+        cacheOwner();
+
+        propertyRepository.save(OWNER_ID, new Property());
+
+        assertEquals(2, cacheOwner().getInteger("version"));
+    }
+
+    @Test
+    void should_reject_property_of_missing_owner_without_reading_it() {
+        when(mongoTemplate.updateFirst(any(Query.class), any(Update.class), eq(Owner.class), eq("owners")))
+                .thenReturn(UpdateResult.acknowledged(0, 0L, null));
+
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.save(OWNER_ID, new Property()));
+        verify(mongoTemplate, never()).findOne(any(Query.class), eq(Owner.class), eq("owners"));
+    }
+
+    @Test
+    void should_evict_cached_owner_when_properties_are_replaced() {
+        cacheOwner();
+
+        propertyRepository.update(OWNER_ID, List.of());
+
+        assertEquals(2, cacheOwner().getInteger("version"));
+    }
+
+    @Test
+    void should_evict_cached_owner_when_property_is_updated() {
+        cacheOwner();
+
+        propertyRepository.update(OWNER_ID, 1, new Property());
+
+        assertEquals(2, cacheOwner().getInteger("version"));
+    }
+
+    @Test
+    void should_evict_cached_owner_when_property_is_removed() {
+        cacheOwner();
+
+        propertyRepository.remove(OWNER_ID, 1);
+
+        assertEquals(2, cacheOwner().getInteger("version"));
+    }
+
+    private Document cacheOwner() {
+        return cache.owner(OWNER_ID, () -> new Document("_id", OWNER_ID).append("version", loads.incrementAndGet()));
+    }
+}
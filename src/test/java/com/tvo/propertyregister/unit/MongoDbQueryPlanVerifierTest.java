@@ -0,0 +1,97 @@
+package com.tvo.propertyregister.unit;
+
+import com.mongodb.ExplainVerbosity;
+import com.mongodb.client.AggregateIterable;
+import com.mongodb.client.FindIterable;
+import com.mongodb.client.MongoCollection;
+import com.tvo.propertyregister.exception.CollectionScanException;
+import com.tvo.propertyregister.repository.mongodb.MongoDbConverters;
+import com.tvo.propertyregister.repository.mongodb.MongoDbQueryPlanVerifier;
+import org.bson.Document;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.NoOpDbRefResolver;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+public class MongoDbQueryPlanVerifierTest {
+
+    private static final Document INDEX_SCAN = plan(new Document("stage", "FETCH")
+            .append("inputStage", new Document("stage", "IXSCAN")));
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private MongoCollection<Document> collection;
+
+    @Mock
+    private FindIterable<Document> findIterable;
+
+    @Mock
+    private AggregateIterable<Document> aggregateIterable;
+
+    @BeforeEach
+    void setUp() {
+        MongoMappingContext mappingContext = new MongoMappingContext();
+        mappingContext.setSimpleTypeHolder(MongoDbConverters.customConversions().getSimpleTypeHolder());
+        when(mongoTemplate.getConverter()).thenReturn(new MappingMongoConverter(NoOpDbRefResolver.INSTANCE, mappingContext));
+        when(mongoTemplate.getCollection(anyString())).thenReturn(collection);
+        when(collection.find(any(Bson.class))).thenReturn(findIterable);
+        when(findIterable.sort(any())).thenReturn(findIterable);
+        when(collection.aggregate(anyList())).thenReturn(aggregateIterable);
+    }
+
+    @Test
+    void should_pass_when_every_query_uses_an_index() {
+        when(findIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(INDEX_SCAN);
+        when(aggregateIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(new Document("stages", List.of(
+                new Document("$cursor", INDEX_SCAN),
+                new Document("$unwind", "$properties"))));
+
+        assertDoesNotThrow(() -> new MongoDbQueryPlanVerifier(mongoTemplate).verify());
+        verify(collection).find(new Document("_id", 1));
+    }
+
+    @Test
+    void should_ignore_collection_scans_in_rejected_plans() {
+        Document explain = plan(new Document("stage", "IXSCAN"));
+        ((Document) explain.get("queryPlanner")).append("rejectedPlans", List.of(new Document("stage", "COLLSCAN")));
+        when(findIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(explain);
+        when(aggregateIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(explain);
+
+        assertDoesNotThrow(() -> new MongoDbQueryPlanVerifier(mongoTemplate).verify());
+    }
+
+    @Test
+    void should_throw_exception_when_query_falls_back_to_collection_scan() {
+        when(findIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(INDEX_SCAN);
+        when(aggregateIterable.explain(ExplainVerbosity.QUERY_PLANNER)).thenReturn(plan(new Document("stage", "COLLSCAN")));
+
+        CollectionScanException exception = assertThrows(CollectionScanException.class,
+                () -> new MongoDbQueryPlanVerifier(mongoTemplate).verify());
+
+        assertTrue(exception.getMessage().contains("properties.findByCity"));
+    }
+
+    private static Document plan(Document winningPlan) {
+        return new Document("queryPlanner", new Document("winningPlan", winningPlan));
+    }
+}
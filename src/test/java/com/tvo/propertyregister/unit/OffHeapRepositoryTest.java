@@ -0,0 +1,266 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.InvalidAmountException;
+import com.tvo.propertyregister.exception.InvalidFieldLengthException;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.PropertyNotFoundException;
+import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.offheap.OffHeapOwnerRepository;
+import com.tvo.propertyregister.repository.offheap.OffHeapPropertyRepository;
+import com.tvo.propertyregister.repository.offheap.OffHeapStore;
+import com.tvo.propertyregister.repository.offheap.OffHeapTaxRateRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OffHeapRepositoryTest {
+
+    private static final int CHUNK_SIZE = 4096;
+
+    private final OffHeapStore store = new OffHeapStore(CHUNK_SIZE);
+    private final OffHeapOwnerRepository ownerRepository = new OffHeapOwnerRepository(store);
+    private final OffHeapPropertyRepository propertyRepository = new OffHeapPropertyRepository(store);
+    private final OffHeapTaxRateRepository taxRateRepository = new OffHeapTaxRateRepository(store);
+
+    @Test
+    void should_save_owner_and_read_it_back() {
+        Owner owner = owner("Jiří", new BigDecimal("10000.0"));
+
+        ownerRepository.save(owner);
+
+        assertEquals(1, owner.getId());
+        assertEquals(owner, ownerRepository.findById(owner.getId()));
+    }
+
+    @Test
+    void should_throw_exception_when_owner_does_not_exist() {
+        assertThrows(NoSuchOwnerException.class, () -> ownerRepository.findById(1));
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.findAll(1));
+    }
+
+    @Test
+    void should_update_owner_fields_in_place() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        Owner updatedOwner = ownerRepository.findById(owner.getId()).withFirstName("Frank").withTaxesDebt(new BigDecimal("105.5"));
+        ownerRepository.update(owner.getId(), updatedOwner);
+
+        assertEquals(updatedOwner, ownerRepository.findById(owner.getId()));
+    }
+
+    @Test
+    void should_reject_update_based_on_owner_version_changed_by_property_write() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        long version = ownerRepository.findById(owner.getId()).getVersion();
+
+        propertyRepository.save(owner.getId(), property("Brno"));
+
+        assertFalse(ownerRepository.update(owner.getId(), owner.withFirstName("Frank"), version));
+        assertTrue(ownerRepository.update(owner.getId(), owner.withFirstName("Frank"), version + 1));
+        assertEquals("Frank", ownerRepository.findById(owner.getId()).getFirstName());
+        assertEquals(version + 2, ownerRepository.findById(owner.getId()).getVersion());
+    }
+
+    @Test
+    void should_not_update_non_existing_owner() {
+        assertThrows(UpdateOwnerFailedException.class, () -> ownerRepository.update(1, owner("John", BigDecimal.ZERO)));
+    }
+
+    @Test
+    void should_remove_owner() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+
+        assertTrue(ownerRepository.remove(owner.getId()));
+        assertFalse(ownerRepository.remove(owner.getId()));
+        assertEquals(List.of(), ownerRepository.findAll());
+    }
+
+    @Test
+    void should_answer_debt_queries() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Frank", new BigDecimal("10000")));
+        ownerRepository.save(owner("Linda", new BigDecimal("500.50")));
+
+        assertEquals(List.of("John", "Frank", "Linda"), firstNames(ownerRepository.findDebtors()));
+        assertEquals(List.of("John", "Linda"), firstNames(ownerRepository.findByTaxesDebtBetween(new BigDecimal("100"), new BigDecimal("1000"))));
+        assertEquals(List.of("Frank", "Linda"), firstNames(ownerRepository.findTopDebtors(2)));
+    }
+
+    @Test
+    void should_recount_debts_in_place() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100.05")));
+
+        assertEquals(1, ownerRepository.recountDebts(new BigDecimal("1.05"), 1));
+
+        assertEquals(new BigDecimal("0"), ownerRepository.findById(1).getTaxesDebt());
+        assertEquals(new BigDecimal("105.1"), ownerRepository.findById(2).getTaxesDebt());
+    }
+
+    @Test
+    void should_not_recount_any_debt_when_one_recount_does_not_fit() {
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Carel", new BigDecimal("9000000000000000000")));
+
+        assertThrows(InvalidAmountException.class, () -> ownerRepository.recountDebts(new BigDecimal("1.05"), 0));
+
+        assertEquals(new BigDecimal("100"), ownerRepository.findById(1).getTaxesDebt());
+        assertEquals(new BigDecimal("9000000000000000000"), ownerRepository.findById(2).getTaxesDebt());
+    }
+
+    @Test
+    void should_reject_unstorable_values_without_touching_stored_owner() {
+        Owner owner = owner("John", new BigDecimal("100"));
+        ownerRepository.save(owner);
+        Owner stored = ownerRepository.findById(owner.getId());
+        Property longAddress = property("Brno");
+        longAddress.setAddress("x".repeat(CHUNK_SIZE + 1));
+
+        assertThrows(InvalidAmountException.class, () -> ownerRepository.update(owner.getId(),
+                stored.withFirstName("Frank").withTaxesDebt(new BigDecimal("100000000000000000000"))));
+        assertThrows(InvalidFieldLengthException.class, () -> ownerRepository.update(owner.getId(),
+                stored.withFirstName("Frank").withProperties(new ArrayList<>(List.of(longAddress)))));
+        assertThrows(InvalidFieldLengthException.class, () -> propertyRepository.save(owner.getId(), longAddress));
+        assertThrows(InvalidFieldLengthException.class, () -> ownerRepository.save(owner("x".repeat(CHUNK_SIZE + 1), BigDecimal.ZERO)));
+
+        assertEquals(List.of(stored), ownerRepository.findAll());
+        assertEquals(stored.getVersion(), ownerRepository.findById(owner.getId()).getVersion());
+    }
+
+    @Test
+    void should_add_update_and_remove_properties() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        Property property = property("Brno");
+
+        propertyRepository.save(owner.getId(), property);
+
+        List<Property> properties = propertyRepository.findAll(owner.getId());
+        assertEquals(List.of(1, 2), properties.stream().map(Property::getId).toList());
+        assertEquals(property, properties.get(1));
+
+        properties.get(1).setCity("Ostrava");
+        propertyRepository.update(owner.getId(), List.of(properties.get(1)));
+
+        assertEquals(List.of(properties.get(1)), propertyRepository.findAll(owner.getId()));
+    }
+
+    @Test
+    void should_update_and_remove_single_property() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        propertyRepository.save(owner.getId(), property("Brno"));
+        propertyRepository.save(owner.getId(), property("Ostrava"));
+
+        propertyRepository.update(owner.getId(), 2, property("Kyiv"));
+        propertyRepository.remove(owner.getId(), 1);
+
+        assertEquals(List.of("Kyiv", "Ostrava"), propertyRepository.findAll(owner.getId()).stream().map(Property::getCity).toList());
+        assertThrows(PropertyNotFoundException.class, () -> propertyRepository.remove(owner.getId(), 1));
+        assertThrows(NoSuchOwnerException.class, () -> propertyRepository.remove(2, 3));
+    }
+
+    @Test
+    void should_page_owners_and_debtors_by_id_cursor() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Frank", new BigDecimal("10000")));
+        ownerRepository.save(owner("Linda", new BigDecimal("500.50")));
+        ownerRepository.remove(3);
+
+        assertEquals(List.of("John", "Linda"), firstNames(ownerRepository.streamAll(1, 10).toList()));
+        assertEquals(List.of("John"), firstNames(ownerRepository.streamDebtors(0, 1).toList()));
+        assertEquals(List.of("Linda"), firstNames(ownerRepository.streamDebtors(2, 1).toList()));
+    }
+
+    @Test
+    void should_find_owners_by_ids_skipping_missing_ones() {
+        ownerRepository.save(owner("Carel", new BigDecimal("0")));
+        ownerRepository.save(owner("John", new BigDecimal("100")));
+        ownerRepository.save(owner("Frank", new BigDecimal("10000")));
+        ownerRepository.remove(2);
+
+        assertEquals(List.of("Carel", "Frank"), firstNames(ownerRepository.findAllById(List.of(1, 2, 3, 7))));
+    }
+
+    @Test
+    void should_store_more_records_than_one_chunk_holds() {
+        for (int i = 0; i < 500; i++) {
+            ownerRepository.save(owner("Owner " + i, new BigDecimal(i)));
+        }
+
+        assertEquals(500, ownerRepository.findAll().size());
+        assertEquals("Owner 499", ownerRepository.findById(500).getFirstName());
+    }
+
+    @Test
+    void should_reuse_off_heap_space_released_by_updates_and_removals() {
+        Owner owner = owner("John", new BigDecimal("0"));
+        ownerRepository.save(owner);
+        rewrite(owner, 1000);
+        long allocatedBytes = store.allocatedBytes();
+
+        for (int i = 0; i < 1000; i++) {
+            rewrite(owner, i);
+        }
+
+        assertEquals(allocatedBytes, store.allocatedBytes());
+        assertEquals(List.of("Street 999"), propertyRepository.findAll(owner.getId()).stream().map(Property::getAddress).toList());
+    }
+
+    @Test
+    void should_change_tax_rate() {
+        taxRateRepository.changeTax(PropertyType.HOUSE, new BigDecimal("9.5"));
+
+        assertEquals(List.of(
+                new TaxRate(1, PropertyType.FLAT, new BigDecimal("6")),
+                new TaxRate(2, PropertyType.HOUSE, new BigDecimal("9.5")),
+                new TaxRate(3, PropertyType.OFFICE, new BigDecimal("13"))), taxRateRepository.findAll());
+    }
+
+    private void rewrite(Owner owner, int iteration) {
+        Property property = property("City " + iteration % 7);
+        property.setAddress("Street " + iteration);
+        ownerRepository.update(owner.getId(), owner.withFirstName("Name " + iteration).withProperties(new ArrayList<>(List.of(property))));
+
+        propertyRepository.save(owner.getId(), property("Brno " + iteration));
+        propertyRepository.remove(owner.getId(), propertyRepository.findAll(owner.getId()).get(1).getId());
+    }
+
+    private static List<String> firstNames(List<Owner> owners) {
+        return owners.stream().map(Owner::getFirstName).toList();
+    }
+
+    private static Owner owner(String firstName, BigDecimal taxesDebt) {
+        return new Owner(0, firstName, "Smith",
+                30, FamilyStatus.MARRIED,
+                true, "johnsmith@gmail.com",
+                "+456987123",
+                LocalDate.of(1994, 8, 9),
+                taxesDebt, new ArrayList<>(List.of(property("Prague"))));
+    }
+
+    private static Property property(String city) {
+        return new Property(
+                0, PropertyType.HOUSE, city, "Heroev Street 24",
+                70, 3, new BigDecimal("500000"),
+                LocalDate.of(2020, 4, 10),
+                LocalDate.of(2012, 1, 9),
+                PropertyCondition.BAD_REPAIR);
+    }
+}
@@ -0,0 +1,103 @@
+package com.tvo.propertyregister.unit;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.tvo.propertyregister.model.dto.ImportErrorDto;
+import com.tvo.propertyregister.model.dto.ImportResultDto;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.OwnerRepository;
+import com.tvo.propertyregister.service.OwnerImportService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static com.tvo.propertyregister.service.utils.Constants.IMPORT_BATCH_SIZE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class OwnerImportServiceTest {
+
+    private static final String OWNER = """
+            {"firstName":"John","lastName":"Smith","age":30,"familyStatus":"SINGLE","hasChildren":false,\
+            "email":"johnsmith@gmail.com","phoneNumber":"+456987123","birthday":"1994-08-09","taxesDebt":0,\
+            "properties":[{"propertyType":"FLAT","city":"Prague","address":"Heroev Street 24","square":70,\
+            "numberOfRooms":3,"cost":500000,"dateOfBecomingOwner":"2020-04-10","dateOfBuilding":"2012-01-09",\
+            "propertyCondition":"GOOD"}]}""";
+
+    @Mock
+    private OwnerRepository ownerRepository;
+
+    private OwnerImportService ownerImportService() {
+        return new OwnerImportService(ownerRepository, JsonMapper.builder().findAndAddModules().build());
+    }
+
+    @Test
+    public void should_import_valid_owners_and_report_rejected_lines() throws IOException {
+        when(ownerRepository.saveAll(anyList())).thenReturn(Map.of());
+        String ndjson = String.join("\n",
+                OWNER,
+                "{not json",
+                "",
+                OWNER.replace("johnsmith@gmail.com", "johnsmith"),
+                OWNER);
+
+        ImportResultDto result = ownerImportService().importOwners(stream(ndjson));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(2, 4), result.errors().stream().map(ImportErrorDto::line).sorted().toList());
+
+        ArgumentCaptor<List<Owner>> owners = ArgumentCaptor.forClass(List.class);
+        verify(ownerRepository).saveAll(owners.capture());
+        assertEquals(2, owners.getValue().size());
+        assertEquals(PropertyType.FLAT, owners.getValue().get(0).getProperties().get(0).getPropertyType());
+    }
+
+    @Test
+    public void should_report_null_line_as_rejected_record() throws IOException {
+        when(ownerRepository.saveAll(anyList())).thenReturn(Map.of());
+
+        ImportResultDto result = ownerImportService().importOwners(stream(OWNER + "\nnull\n" + OWNER));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(new ImportErrorDto(2, "Owner record must be a JSON object")), result.errors());
+    }
+
+    @Test
+    public void should_report_records_the_repository_failed_to_write() throws IOException {
+        when(ownerRepository.saveAll(anyList())).thenReturn(Map.of(1, "duplicate key"));
+
+        ImportResultDto result = ownerImportService().importOwners(stream(OWNER + "\n" + OWNER + "\n" + OWNER));
+
+        assertEquals(2, result.imported());
+        assertEquals(List.of(new ImportErrorDto(2, "duplicate key")), result.errors());
+    }
+
+    @Test
+    public void should_write_owners_in_batches() throws IOException {
+        when(ownerRepository.saveAll(anyList())).thenReturn(Map.of());
+        String ndjson = IntStream.range(0, IMPORT_BATCH_SIZE + 1)
+                .mapToObj(i -> OWNER)
+                .collect(Collectors.joining("\n"));
+
+        ImportResultDto result = ownerImportService().importOwners(stream(ndjson));
+
+        assertEquals(IMPORT_BATCH_SIZE + 1, result.imported());
+        verify(ownerRepository, times(2)).saveAll(anyList());
+    }
+
+    private static ByteArrayInputStream stream(String ndjson) {
+        return new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8));
+    }
+}
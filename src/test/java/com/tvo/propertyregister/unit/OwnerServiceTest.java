@@ -1,8 +1,13 @@
 package com.tvo.propertyregister.unit;
 
+import com.tvo.propertyregister.exception.InvalidPageRequestException;
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.OwnerVersionConflictException;
 import com.tvo.propertyregister.exception.UpdateOwnerFailedException;
 import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
+import com.tvo.propertyregister.model.dto.OwnerTaxObligationDto;
+import com.tvo.propertyregister.model.dto.TaxObligationBatchDto;
 import com.tvo.propertyregister.model.owner.FamilyStatus;
 import com.tvo.propertyregister.model.owner.Owner;
 import com.tvo.propertyregister.model.property.Property;
@@ -19,8 +24,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Stream;
 
+import static com.tvo.propertyregister.service.utils.Constants.MAX_PAGE_SIZE;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -72,6 +80,7 @@ public class OwnerServiceTest {
     private static final TaxRate TAX_RATE_FLAT = new TaxRate(1, PropertyType.FLAT, new BigDecimal("6"));
     private static final TaxRate TAX_RATE_HOUSE = new TaxRate(2, PropertyType.HOUSE, new BigDecimal("8"));
     private static final TaxRate TAX_RATE_OFFICE = new TaxRate(3, PropertyType.OFFICE, new BigDecimal("13"));
+    private static final TaxRateSnapshot TAX_RATES = TaxRateSnapshot.of(1, List.of(TAX_RATE_FLAT, TAX_RATE_HOUSE, TAX_RATE_OFFICE));
 
     @Mock
     private OwnerRepository ownerRepository;
@@ -101,6 +110,32 @@ public class OwnerServiceTest {
         assertEquals(List.of(), result);
     }
 
+    @Test
+    public void should_return_page_of_owners_after_cursor() {
+        when(ownerRepository.streamAll(1, 2)).thenReturn(Stream.of(DEBTOR, OWNER_2));
+
+        List<Owner> result = ownerService.getOwnersPage(1, 2);
+
+        assertEquals(List.of(DEBTOR, OWNER_2), result);
+    }
+
+    @Test
+    public void should_return_page_of_debtors_after_cursor() {
+        when(ownerRepository.streamDebtors(0, 100)).thenReturn(Stream.of(DEBTOR));
+
+        List<Owner> result = ownerService.findDebtorsPage(0, 100);
+
+        assertEquals(List.of(DEBTOR), result);
+    }
+
+    @Test
+    public void should_not_return_page_if_page_request_is_invalid() {
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.getOwnersPage(-1, 10));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.getOwnersPage(0, 0));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.findDebtorsPage(0, 1001));
+        verifyNoInteractions(ownerRepository);
+    }
+
     @Test
     public void should_return_owner_by_id() {
         when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
@@ -137,33 +172,54 @@ public class OwnerServiceTest {
     }
 
     @Test
-    void should_recalculate_debt_for_debtors() {
-        List<Owner> allDebtors = List.of(DEBTOR);
-        Owner expectedDebtor = new Owner(2, "Linda", "Johnson",
-                31, FamilyStatus.MARRIED,
-                true, "lindajohnson@gmail.com",
-                "+789456147",
-                LocalDate.of(1993, 7, 17),
-                new BigDecimal("10500.0"), List.of(PROPERTY_FLAT));
+    public void should_return_debtors_with_debt_between_bounds() {
+        BigDecimal from = new BigDecimal("5000");
+        BigDecimal to = new BigDecimal("20000");
+        when(ownerRepository.findByTaxesDebtBetween(from, to)).thenReturn(List.of(DEBTOR));
+
+        List<Owner> result = ownerService.findDebtorsWithDebtBetween(from, to);
+
+        assertEquals(List.of(DEBTOR), result);
+    }
+
+    @Test
+    public void should_return_top_debtors() {
+        when(ownerRepository.findTopDebtors(5)).thenReturn(List.of(DEBTOR));
 
-        when(ownerRepository.findDebtors()).thenReturn(allDebtors);
+        List<Owner> result = ownerService.findTopDebtors(5);
 
-        ownerService.recountDebtForDebtors();
+        assertEquals(List.of(DEBTOR), result);
+    }
+
+    @Test
+    public void should_reject_top_debtors_limit_out_of_range() {
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.findTopDebtors(0));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.findTopDebtors(-1));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.findTopDebtors(MAX_PAGE_SIZE + 1));
 
-        verify(ownerRepository, times(1)).findDebtors();
-        verify(ownerRepository, times(1)).update(DEBTOR.getId(), expectedDebtor);
+        verify(ownerRepository, never()).findTopDebtors(anyInt());
     }
 
     @Test
-    void should_not_recalculate_debt_is_the_owner_does_not_have_debts() {
-        when(ownerRepository.findDebtors()).thenReturn(List.of());
+    void should_recalculate_debt_for_debtors() {
+        when(ownerRepository.recountDebts(new BigDecimal("1.05"), 1)).thenReturn(1);
 
-        ownerService.recountDebtForDebtors();
+        int recounted = ownerService.recountDebtForDebtors();
 
-        verify(ownerRepository, times(1)).findDebtors();
+        assertEquals(1, recounted);
+        verify(ownerRepository, never()).findDebtors();
         verify(ownerRepository, never()).update(anyInt(), any());
     }
 
+    @Test
+    void should_not_recalculate_debt_is_the_owner_does_not_have_debts() {
+        when(ownerRepository.recountDebts(new BigDecimal("1.05"), 1)).thenReturn(0);
+
+        int recounted = ownerService.recountDebtForDebtors();
+
+        assertEquals(0, recounted);
+    }
+
     @Test
     public void should_add_new_owner() {
         Owner owner = new Owner(1, "John", "Smith",
@@ -181,11 +237,33 @@ public class OwnerServiceTest {
     public void should_update_owner_info() {
         when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
 
+        when(ownerRepository.update(OWNER.getId(), OWNER)).thenReturn(true);
+
         ownerService.updateInfo(OWNER.getId(), OWNER);
 
         verify(ownerRepository, times(1)).update(OWNER.getId(), OWNER);
     }
 
+    @Test
+    public void should_update_owner_info_when_client_version_matches() {
+        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
+        when(ownerRepository.update(OWNER.getId(), OWNER, OWNER.getVersion())).thenReturn(true);
+
+        assertTrue(ownerService.updateInfo(OWNER.getId(), OWNER, OWNER.getVersion()));
+
+        verify(ownerRepository, never()).update(OWNER.getId(), OWNER);
+    }
+
+    @Test
+    public void should_reject_update_when_client_version_is_stale() {
+        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
+        when(ownerRepository.update(OWNER.getId(), OWNER, OWNER.getVersion())).thenReturn(false);
+
+        assertThrows(OwnerVersionConflictException.class, () -> ownerService.updateInfo(OWNER.getId(), OWNER, OWNER.getVersion()));
+
+        verify(ownerRepository, times(1)).update(OWNER.getId(), OWNER, OWNER.getVersion());
+    }
+
     @Test
     public void should_not_update_non_existing_owner() {
         int wrongId = -1;
@@ -222,10 +300,7 @@ public class OwnerServiceTest {
         BigDecimal expectedBaseTax = new BigDecimal("3320");
 
         // when
-        when(taxRateService.getAll()).thenReturn(List.of(
-                TAX_RATE_FLAT,
-                TAX_RATE_HOUSE,
-                TAX_RATE_OFFICE));
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
 
         when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
 
@@ -241,10 +316,7 @@ public class OwnerServiceTest {
         BigDecimal expectedBaseTax = new BigDecimal("336.0");
 
         // when
-        when(taxRateService.getAll()).thenReturn(List.of(
-                TAX_RATE_FLAT,
-                TAX_RATE_HOUSE,
-                TAX_RATE_OFFICE));
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
 
         when(ownerRepository.findById(DEBTOR.getId())).thenReturn(DEBTOR);
 
@@ -258,11 +330,7 @@ public class OwnerServiceTest {
     public void should_count_base_tax_for_single_owner_and_with_children() {
         BigDecimal expectedTaxObligation = new BigDecimal("1120.0");
 
-        when(taxRateService.getAll()).thenReturn(List.of(
-                TAX_RATE_FLAT,
-                TAX_RATE_HOUSE,
-                TAX_RATE_OFFICE
-        ));
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
 
         when(ownerRepository.findById(OWNER_2.getId())).thenReturn(OWNER_2);
 
@@ -282,11 +350,7 @@ public class OwnerServiceTest {
                 LocalDate.of(1993, 7, 17),
                 new BigDecimal("10000"), List.of(PROPERTY_FLAT));
 
-        when(taxRateService.getAll()).thenReturn(List.of(
-                TAX_RATE_FLAT,
-                TAX_RATE_HOUSE,
-                TAX_RATE_OFFICE
-        ));
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
 
         when(ownerRepository.findById(owner.getId())).thenReturn(owner);
 
@@ -294,4 +358,39 @@ public class OwnerServiceTest {
 
         assertEquals(expectedTaxObligations, taxObligationResult);
     }
+
+    @Test
+    public void should_count_tax_obligations_for_batch_of_owners_against_one_snapshot() {
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
+        when(ownerRepository.findAllById(List.of(2, 3, 9))).thenReturn(List.of(DEBTOR, OWNER_2));
+
+        TaxObligationBatchDto result = ownerService.countTaxObligations(List.of(3, 2, 9, 3));
+
+        assertEquals(new TaxObligationBatchDto(List.of(
+                new OwnerTaxObligationDto(DEBTOR.getId(), new BigDecimal("336.0")),
+                new OwnerTaxObligationDto(OWNER_2.getId(), new BigDecimal("1120.0"))), List.of(9)), result);
+        verify(taxRateService, times(1)).getSnapshot();
+        verify(ownerRepository, never()).findById(anyInt());
+    }
+
+    @Test
+    public void should_count_tax_obligations_for_page_of_debtors() {
+        when(taxRateService.getSnapshot()).thenReturn(TAX_RATES);
+        when(ownerRepository.streamDebtors(1, 10)).thenReturn(Stream.of(DEBTOR));
+
+        List<OwnerTaxObligationDto> result = ownerService.countTaxObligationsPage(1, 10, true);
+
+        assertEquals(List.of(new OwnerTaxObligationDto(DEBTOR.getId(), new BigDecimal("336.0"))), result);
+        verify(ownerRepository, never()).streamAll(anyInt(), anyInt());
+    }
+
+    @Test
+    public void should_not_count_tax_obligations_if_batch_is_invalid() {
+        List<Integer> oversized = Stream.iterate(1, id -> id + 1).limit(1001).toList();
+
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.countTaxObligations(List.of()));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.countTaxObligations(oversized));
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.countTaxObligations(Arrays.asList(1, null)));
+        verifyNoInteractions(ownerRepository, taxRateService);
+    }
 }
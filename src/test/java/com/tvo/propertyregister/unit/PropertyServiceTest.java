@@ -1,5 +1,6 @@
 package com.tvo.propertyregister.unit;
 
+import com.tvo.propertyregister.exception.MissingPropertyFilterException;
 import com.tvo.propertyregister.exception.NoSuchOwnerException;
 import com.tvo.propertyregister.exception.PropertyNotFoundException;
 import com.tvo.propertyregister.model.owner.FamilyStatus;
@@ -18,11 +19,11 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -140,74 +141,81 @@ public class PropertyServiceTest {
         assertThrows(NoSuchOwnerException.class, () -> propertyService.getAll(OWNER.getId()));
     }
 
+    @Test
+    public void should_find_properties_by_city_and_type() {
+        when(propertyRepository.findByCityAndPropertyType("Prague", PropertyType.FLAT)).thenReturn(List.of(FIRST_PROPERTY));
+
+        assertEquals(List.of(FIRST_PROPERTY), propertyService.find("Prague", PropertyType.FLAT));
+    }
+
+    @Test
+    public void should_find_properties_by_city_or_type() {
+        when(propertyRepository.findByCity("Prague")).thenReturn(List.of(FIRST_PROPERTY, SECOND_PROPERTY));
+        when(propertyRepository.findByPropertyType(PropertyType.HOUSE)).thenReturn(List.of(SECOND_PROPERTY));
+
+        assertEquals(List.of(FIRST_PROPERTY, SECOND_PROPERTY), propertyService.find("Prague", null));
+        assertEquals(List.of(SECOND_PROPERTY), propertyService.find(null, PropertyType.HOUSE));
+    }
+
+    @Test
+    public void should_not_find_properties_without_filter() {
+        assertThrows(MissingPropertyFilterException.class, () -> propertyService.find(null, null));
+    }
+
     @Test
     public void should_add_new_property_to_certain_owner() {
-        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
-        propertyService.add(OWNER.getId(), SECOND_PROPERTY);
+        when(propertyRepository.save(OWNER.getId(), SECOND_PROPERTY)).thenReturn(true);
+
+        assertTrue(propertyService.add(OWNER.getId(), SECOND_PROPERTY));
 
-        verify(propertyRepository, times(1)).save(OWNER, SECOND_PROPERTY);
+        verify(propertyRepository, times(1)).save(OWNER.getId(), SECOND_PROPERTY);
+        verifyNoInteractions(ownerRepository);
     }
 
     @Test
     public void should_not_add_new_property_if_owner_does_not_exists() {
-        when(ownerRepository.findById(INVALID_OWNER.getId())).thenReturn(null);
+        when(propertyRepository.save(INVALID_OWNER.getId(), SECOND_PROPERTY)).thenThrow(NoSuchOwnerException.class);
 
         assertThrows(NoSuchOwnerException.class, () -> propertyService.add(INVALID_OWNER.getId(), SECOND_PROPERTY));
     }
 
     @Test
     public void should_update_property_info() {
-        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
-        propertyService.update(OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY);
-
-        Property propertyToUpdate = OWNER.getProperties().stream()
-                .filter(property -> property.getId() == FIRST_PROPERTY.getId())
-                .findFirst()
-                .orElseThrow(() -> new PropertyNotFoundException("Property not found with ID: " + FIRST_PROPERTY.getId()));
+        when(propertyRepository.update(OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY)).thenReturn(true);
 
-        propertyToUpdate.setCity(THIRD_PROPERTY.getCity());
-        propertyToUpdate.setAddress(THIRD_PROPERTY.getAddress());
-        propertyToUpdate.setNumberOfRooms(THIRD_PROPERTY.getNumberOfRooms());
-        propertyToUpdate.setPropertyCondition(THIRD_PROPERTY.getPropertyCondition());
+        assertTrue(propertyService.update(OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY));
 
-        List<Property> properties = new ArrayList<>(OWNER.getProperties().stream()
-                .filter(property -> property.getId() != FIRST_PROPERTY.getId())
-                .toList());
-
-        properties.add(propertyToUpdate);
-
-        verify(propertyRepository, times(1)).update(OWNER.getId(), properties);
+        verify(propertyRepository, times(1)).update(OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY);
+        verifyNoInteractions(ownerRepository);
     }
 
     @Test
     public void should_not_update_property_info_if_owner_does_not_exists() {
-        when(ownerRepository.findById(INVALID_OWNER.getId())).thenThrow(NoSuchOwnerException.class);
+        when(propertyRepository.update(INVALID_OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY)).thenThrow(NoSuchOwnerException.class);
 
         assertThrows(NoSuchOwnerException.class, () -> propertyService.update(INVALID_OWNER.getId(), FIRST_PROPERTY.getId(), THIRD_PROPERTY));
     }
 
     @Test
     public void should_not_update_property_info_if_property_does_not_exists() {
-        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
+        when(propertyRepository.update(OWNER.getId(), INVALID_PROPERTY.getId(), THIRD_PROPERTY)).thenThrow(PropertyNotFoundException.class);
 
-        assertThrows(PropertyNotFoundException.class, () -> propertyService.update(OWNER.getId(), INVALID_OWNER.getId(), THIRD_PROPERTY));
+        assertThrows(PropertyNotFoundException.class, () -> propertyService.update(OWNER.getId(), INVALID_PROPERTY.getId(), THIRD_PROPERTY));
     }
 
     @Test
     public void should_delete_property() {
-        when(ownerRepository.findById(OWNER.getId())).thenReturn(OWNER);
-        propertyService.remove(OWNER.getId(), FIRST_PROPERTY.getId());
+        when(propertyRepository.remove(OWNER.getId(), FIRST_PROPERTY.getId())).thenReturn(true);
 
-        List<Property> properties = new ArrayList<>(OWNER.getProperties().stream()
-                .filter(property -> property.getId() != FIRST_PROPERTY.getId())
-                .toList());
+        assertTrue(propertyService.remove(OWNER.getId(), FIRST_PROPERTY.getId()));
 
-        verify(propertyRepository, times(1)).update(OWNER.getId(), properties);
+        verify(propertyRepository, times(1)).remove(OWNER.getId(), FIRST_PROPERTY.getId());
+        verifyNoInteractions(ownerRepository);
     }
 
     @Test
     public void should_not_delete_property_if_owner_does_not_exists() {
-        when(ownerRepository.findById(INVALID_OWNER.getId())).thenThrow(NoSuchOwnerException.class);
+        when(propertyRepository.remove(INVALID_OWNER.getId(), FIRST_PROPERTY.getId())).thenThrow(NoSuchOwnerException.class);
 
         assertThrows(NoSuchOwnerException.class, () -> propertyService.remove(INVALID_OWNER.getId(), FIRST_PROPERTY.getId()));
     }
@@ -0,0 +1,125 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.InvalidPageRequestException;
+import com.tvo.propertyregister.exception.NoSuchOwnerException;
+import com.tvo.propertyregister.exception.OwnerVersionConflictException;
+import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
+import com.tvo.propertyregister.model.owner.FamilyStatus;
+import com.tvo.propertyregister.model.owner.Owner;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactiveOwnerRepository;
+import com.tvo.propertyregister.service.ReactiveOwnerService;
+import com.tvo.propertyregister.service.ReactiveTaxRateService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveOwnerServiceTest {
+
+    private static final Property PROPERTY_FLAT = new Property(
+            1, PropertyType.FLAT, "Prague", "Heroev Street 24",
+            70, 3, new BigDecimal("500000"),
+            LocalDate.of(2020, 4, 10),
+            LocalDate.of(2012, 1, 9),
+            PropertyCondition.GOOD);
+
+    private static final Owner DEBTOR = new Owner(2, "Linda", "Johnson",
+            31, FamilyStatus.MARRIED,
+            true, "lindajohnson@gmail.com",
+            "+789456147",
+            LocalDate.of(1993, 7, 17),
+            new BigDecimal("10000.0"), List.of(PROPERTY_FLAT));
+
+    @Mock
+    private ReactiveOwnerRepository ownerRepository;
+
+    @Mock
+    private ReactiveTaxRateService taxRateService;
+
+    @InjectMocks
+    private ReactiveOwnerService ownerService;
+
+    @Test
+    public void should_return_page_of_owners_after_cursor() {
+        when(ownerRepository.findAll(1, 2)).thenReturn(Flux.just(DEBTOR));
+
+        StepVerifier.create(ownerService.getOwnersPage(1, 2))
+                .expectNext(DEBTOR)
+                .verifyComplete();
+    }
+
+    @Test
+    public void should_reject_too_large_page() {
+        assertThrows(InvalidPageRequestException.class, () -> ownerService.getOwnersPage(0, 1001));
+
+        verifyNoInteractions(ownerRepository);
+    }
+
+    @Test
+    public void should_signal_error_when_owner_does_not_exist() {
+        when(ownerRepository.findById(7)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ownerService.getOwnerById(7))
+                .verifyError(NoSuchOwnerException.class);
+    }
+
+    @Test
+    public void should_not_update_non_existing_owner() {
+        when(ownerRepository.findById(7)).thenReturn(Mono.empty());
+
+        StepVerifier.create(ownerService.updateInfo(7, DEBTOR))
+                .verifyError(NoSuchOwnerException.class);
+
+        verify(ownerRepository, never()).update(anyInt(), any());
+    }
+
+    @Test
+    public void should_update_owner_at_expected_version() {
+        when(ownerRepository.findById(7)).thenReturn(Mono.just(DEBTOR));
+        when(ownerRepository.update(7, DEBTOR, 3L)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(ownerService.updateInfo(7, DEBTOR, 3L))
+                .expectNext(true)
+                .verifyComplete();
+
+        verify(ownerRepository, never()).update(7, DEBTOR);
+    }
+
+    @Test
+    public void should_not_update_owner_modified_since_expected_version() {
+        when(ownerRepository.findById(7)).thenReturn(Mono.just(DEBTOR));
+        when(ownerRepository.update(7, DEBTOR, 3L)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(ownerService.updateInfo(7, DEBTOR, 3L))
+                .verifyError(OwnerVersionConflictException.class);
+    }
+
+    @Test
+    public void should_count_tax_obligation_from_owner_and_rates() {
+        when(ownerRepository.findById(DEBTOR.getId())).thenReturn(Mono.just(DEBTOR));
+        when(taxRateService.getSnapshot()).thenReturn(Mono.just(TaxRateSnapshot.of(1, List.of(
+                new TaxRate(1, PropertyType.FLAT, new BigDecimal("6")),
+                new TaxRate(2, PropertyType.HOUSE, new BigDecimal("8")),
+                new TaxRate(3, PropertyType.OFFICE, new BigDecimal("13"))))));
+
+        StepVerifier.create(ownerService.countTaxObligation(DEBTOR.getId()))
+                .expectNext(new BigDecimal("336.0"))
+                .verifyComplete();
+    }
+}
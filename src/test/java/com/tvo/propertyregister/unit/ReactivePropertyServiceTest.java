@@ -0,0 +1,65 @@
+package com.tvo.propertyregister.unit;
+
+import com.tvo.propertyregister.exception.MissingPropertyFilterException;
+import com.tvo.propertyregister.model.property.Property;
+import com.tvo.propertyregister.model.property.PropertyCondition;
+import com.tvo.propertyregister.model.property.PropertyType;
+import com.tvo.propertyregister.repository.ReactivePropertyRepository;
+import com.tvo.propertyregister.service.ReactivePropertyService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactivePropertyServiceTest {
+
+    private static final Property PROPERTY_FLAT = new Property(
+            1, PropertyType.FLAT, "Prague", "Heroev Street 24",
+            70, 3, new BigDecimal("500000"),
+            LocalDate.of(2020, 4, 10),
+            LocalDate.of(2012, 1, 9),
+            PropertyCondition.GOOD);
+
+    @Mock
+    private ReactivePropertyRepository propertyRepository;
+
+    @InjectMocks
+    private ReactivePropertyService propertyService;
+
+    @Test
+    public void should_find_properties_by_city() {
+        when(propertyRepository.findByCity("Prague")).thenReturn(Flux.just(PROPERTY_FLAT));
+
+        StepVerifier.create(propertyService.find("Prague", null))
+                .expectNext(PROPERTY_FLAT)
+                .verifyComplete();
+    }
+
+    @Test
+    public void should_find_properties_by_city_and_type() {
+        when(propertyRepository.findByCityAndPropertyType("Prague", PropertyType.FLAT)).thenReturn(Flux.just(PROPERTY_FLAT));
+
+        StepVerifier.create(propertyService.find("Prague", PropertyType.FLAT))
+                .expectNext(PROPERTY_FLAT)
+                .verifyComplete();
+
+        verify(propertyRepository, never()).findByCity("Prague");
+    }
+
+    @Test
+    public void should_not_find_properties_without_filter() {
+        StepVerifier.create(propertyService.find(null, null))
+                .verifyError(MissingPropertyFilterException.class);
+
+        verifyNoInteractions(propertyRepository);
+    }
+}
@@ -1,11 +1,14 @@
 package com.tvo.propertyregister.unit;
 
+import com.tvo.propertyregister.exception.InvalidTaxRateNumberException;
 import com.tvo.propertyregister.model.TaxRate;
+import com.tvo.propertyregister.model.TaxRateSnapshot;
 import com.tvo.propertyregister.model.property.PropertyType;
 import com.tvo.propertyregister.repository.TaxRateRepository;
 import com.tvo.propertyregister.service.TaxRateService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -14,7 +17,11 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -85,4 +92,64 @@ public class TaxRateServiceTest {
 
         assertTrue(result);
     }
+
+    @Test
+    public void should_serve_tax_rate_snapshot_without_repeated_queries() {
+        when(taxRateRepository.findAll()).thenReturn(List.of(OFFICE_RATE, FLAT_RATE, HOUSE_RATE));
+
+        TaxRateSnapshot snapshot = taxRateService.getSnapshot();
+
+        assertSame(snapshot, taxRateService.getSnapshot());
+        assertEquals(new BigDecimal("6"), snapshot.rateOf(PropertyType.FLAT));
+        assertEquals(new BigDecimal("13"), snapshot.rateOf(PropertyType.OFFICE));
+        verify(taxRateRepository, times(1)).findAll();
+    }
+
+    @Test
+    public void should_publish_new_snapshot_version_after_tax_change() {
+        BigDecimal newFlatRate = new BigDecimal("7");
+        when(taxRateRepository.findAll()).thenReturn(
+                List.of(FLAT_RATE, HOUSE_RATE, OFFICE_RATE),
+                List.of(new TaxRate(1, PropertyType.FLAT, newFlatRate), HOUSE_RATE, OFFICE_RATE));
+        long version = taxRateService.getSnapshot().version();
+
+        taxRateService.changeTax(PropertyType.FLAT, newFlatRate);
+
+        assertEquals(version + 1, taxRateService.getSnapshot().version());
+        assertEquals(newFlatRate, taxRateService.getSnapshot().rateOf(PropertyType.FLAT));
+    }
+
+    @Test
+    public void should_keep_snapshot_version_when_refreshed_rates_are_unchanged() {
+        when(taxRateRepository.findAll()).thenReturn(List.of(FLAT_RATE, HOUSE_RATE, OFFICE_RATE));
+        TaxRateSnapshot snapshot = taxRateService.getSnapshot();
+
+        taxRateService.refreshSnapshot();
+
+        assertSame(snapshot, taxRateService.getSnapshot());
+    }
+
+    @Test
+    public void should_reload_snapshot_after_external_tax_rate_change() {
+        ArgumentCaptor<Runnable> listener = ArgumentCaptor.forClass(Runnable.class);
+        verify(taxRateRepository).onExternalChange(listener.capture());
+        BigDecimal newFlatRate = new BigDecimal("7");
+        when(taxRateRepository.findAll()).thenReturn(
+                List.of(FLAT_RATE, HOUSE_RATE, OFFICE_RATE),
+                List.of(new TaxRate(1, PropertyType.FLAT, newFlatRate), HOUSE_RATE, OFFICE_RATE));
+        long version = taxRateService.getSnapshot().version();
+
+        listener.getValue().run();
+
+        assertEquals(version + 1, taxRateService.getSnapshot().version());
+        assertEquals(newFlatRate, taxRateService.getSnapshot().rateOf(PropertyType.FLAT));
+        verify(taxRateRepository, times(2)).findAll();
+    }
+
+    @Test
+    public void should_reject_snapshot_with_missing_tax_rate() {
+        when(taxRateRepository.findAll()).thenReturn(List.of(FLAT_RATE, HOUSE_RATE));
+
+        assertThrows(InvalidTaxRateNumberException.class, () -> taxRateService.getSnapshot());
+    }
 }